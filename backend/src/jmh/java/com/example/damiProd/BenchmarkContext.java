@@ -0,0 +1,40 @@
+package com.example.damiProd;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Starts the application (without the web server) against a private in-memory H2
+ * database, for benchmarks that need real repositories and the configured ObjectMapper.
+ *
+ * Each call gets its own database so benchmarks in the same fork don't share rows.
+ * Photo storage is switched to a temp directory and the scheduled sanitization run is disabled.
+ */
+public final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    public static ConfigurableApplicationContext start(String databaseName) throws IOException {
+        Path photoRoot = Files.createTempDirectory("bench-photos");
+        return new SpringApplicationBuilder(DamiProdApplication.class)
+                .web(org.springframework.boot.WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .properties(
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "spring.datasource.url=jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "spring.h2.console.enabled=false",
+                        "photos.storage=local",
+                        "photos.local.root-dir=" + photoRoot,
+                        "photos.spool-dir=" + photoRoot.resolve("spool"),
+                        "sanitization.cron=-")
+                .run();
+    }
+}
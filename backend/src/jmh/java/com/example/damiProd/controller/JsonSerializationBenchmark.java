@@ -0,0 +1,115 @@
+package com.example.damiProd.controller;
+
+import com.example.damiProd.BenchmarkContext;
+import com.example.damiProd.domain.Client;
+import com.example.damiProd.domain.Employee;
+import com.example.damiProd.domain.Individual;
+import com.example.damiProd.domain.Order;
+import com.example.damiProd.domain.Product;
+import com.example.damiProd.domain.Route;
+import com.example.damiProd.domain.Task;
+import com.example.damiProd.domain.TaskType;
+import com.example.damiProd.repository.ClientRepository;
+import com.example.damiProd.repository.EmployeeRepository;
+import com.example.damiProd.repository.OrderRepository;
+import com.example.damiProd.repository.ProductRepository;
+import com.example.damiProd.repository.RouteRepository;
+import com.example.damiProd.repository.TaskRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the bigger response bodies: a route with its tasks
+ * (GET /api/routes/{id}) and an order with client and product (GET /api/orders/{id}).
+ *
+ * Entities are loaded once from in-memory H2 the same way the controllers load them,
+ * and serialized with the application's ObjectMapper; only the writeValueAsBytes call is timed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonSerializationBenchmark {
+
+    @Param({ "50", "200", "500" })
+    private int tasksPerRoute;
+
+    private ConfigurableApplicationContext context;
+    private ObjectMapper objectMapper;
+    private Route route;
+    private Order order;
+
+    @Setup
+    public void setUp() throws IOException {
+        context = BenchmarkContext.start("json-bench-" + tasksPerRoute);
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        Client client = context.getBean(ClientRepository.class).save(
+                new Individual("bench@example.com", "0700000000", "Str. Exemplu 1, Cluj", "Client Bench", "1900101000000"));
+        Product product = context.getBean(ProductRepository.class).save(new Product("Toaleta", "Toaleta ecologica", 100));
+        Order saved = new Order(1L, new Date());
+        saved.setClient(client);
+        saved.setProduct(product);
+        saved.setOrderType("amplasare");
+        saved.setQuantity(2);
+        saved.setLocationCoordinates("46.77,23.59");
+        saved.setDetails("Acces prin spate");
+        OrderRepository orderRepository = context.getBean(OrderRepository.class);
+        Long orderId = orderRepository.save(saved).getId();
+
+        Employee employee = context.getBean(EmployeeRepository.class)
+                .save(new Employee("bench", "bench", "Sofer Bench", "0711111111"));
+        Route savedRoute = new Route(LocalDate.now(), employee);
+        savedRoute.setCounty("Cluj");
+        RouteRepository routeRepository = context.getBean(RouteRepository.class);
+        savedRoute = routeRepository.save(savedRoute);
+
+        List<Task> tasks = new ArrayList<>(tasksPerRoute);
+        LocalDateTime start = LocalDate.now().atTime(8, 0);
+        for (int i = 0; i < tasksPerRoute; i++) {
+            Task task = new Task(TaskType.values()[i % TaskType.values().length], start.plusMinutes(10L * i),
+                    "Str. Exemplu " + i + ", Cluj", "Client " + i);
+            task.setClientPhone("07" + String.format("%08d", i));
+            task.setInternalNotes("Nota " + i);
+            task.setVisitOrder(i);
+            task.setRoute(savedRoute);
+            tasks.add(task);
+        }
+        context.getBean(TaskRepository.class).saveAll(tasks);
+
+        route = routeRepository.findWithTasksById(savedRoute.getId()).orElseThrow();
+        order = orderRepository.findByIdWithClientAndProduct(orderId).orElseThrow();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] route() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(route);
+    }
+
+    @Benchmark
+    public byte[] order() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(order);
+    }
+}
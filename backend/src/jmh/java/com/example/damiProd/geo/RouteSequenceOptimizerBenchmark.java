@@ -0,0 +1,42 @@
+package com.example.damiProd.geo;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RouteSequenceOptimizerBenchmark {
+
+    @Param({ "50", "200", "1000" })
+    private int stops;
+
+    private double[] lat;
+    private double[] lng;
+
+    @Setup
+    public void setUp() {
+        // Stops scattered over a county-sized box around Arad, fixed seed for repeatable runs
+        Random random = new Random(42);
+        lat = new double[stops];
+        lng = new double[stops];
+        for (int i = 0; i < stops; i++) {
+            lat[i] = 46.0 + random.nextDouble() * 0.5;
+            lng[i] = 21.0 + random.nextDouble() * 1.5;
+        }
+    }
+
+    @Benchmark
+    public int[] optimize() {
+        return RouteSequenceOptimizer.optimize(lat, lng);
+    }
+}
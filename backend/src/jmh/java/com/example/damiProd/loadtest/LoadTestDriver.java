@@ -0,0 +1,304 @@
+package com.example.damiProd.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays a dispatcher + driver request mix against a running server and prints latency
+ * percentiles per endpoint. Meant for a local instance started with the "synthetic" profile.
+ *
+ * Run with ./gradlew loadTest, settings as -P properties (all optional):
+ *   loadtest.base-url          http://localhost:8080
+ *   loadtest.concurrency       32 concurrent clients
+ *   loadtest.warmup-seconds    10, not recorded
+ *   loadtest.duration-seconds  60
+ *   loadtest.writes            false; true adds driver status updates, which change the data
+ *   loadtest.seed              42
+ *
+ * Ids used in the requests are sampled from the server before the run starts.
+ */
+public class LoadTestDriver {
+
+    private static final String[] ORDER_TYPES = { "Amplasari", "Igienizari", "Ridicari" };
+    private static final String[] CLIENT_QUERIES = { "pop", "ion", "mar", "rad", "con", "sc ", "agro", "trans",
+            "eveniment", "0721", "0745", "munteanu", "stoica" };
+    private static final String[] TASK_STATUSES = { "IN_PROGRESS", "COMPLETED" };
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, LatencyRecorder> recorders = new ConcurrentHashMap<>();
+
+    private final String baseUrl;
+    private final boolean writes;
+
+    private long[] orderIds;
+    private long[] taskIds;
+    private long[] routeIds;
+    private long[] employeeIds;
+    private String[] counties;
+
+    private volatile boolean recording;
+    private volatile boolean stopped;
+
+    LoadTestDriver(String baseUrl, boolean writes) {
+        this.baseUrl = baseUrl;
+        this.writes = writes;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = System.getProperty("loadtest.base-url", "http://localhost:8080");
+        int concurrency = Integer.getInteger("loadtest.concurrency", 32);
+        int warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 10);
+        int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 60);
+        boolean writes = Boolean.parseBoolean(System.getProperty("loadtest.writes", "false"));
+        long seed = Long.getLong("loadtest.seed", 42L);
+
+        LoadTestDriver driver = new LoadTestDriver(baseUrl, writes);
+        driver.sampleIds();
+        driver.run(concurrency, warmupSeconds, durationSeconds, seed);
+    }
+
+    /**
+     * Collects order, task, route and driver ids to build requests from.
+     */
+    void sampleIds() throws IOException, InterruptedException {
+        Set<Long> orders = new LinkedHashSet<>();
+        for (int page = 0; page < 4; page++) {
+            for (JsonNode order : getJson("/api/orders/search?size=500&page=" + page).path("items")) {
+                orders.add(order.path("id").asLong());
+            }
+        }
+
+        Set<Long> tasks = new LinkedHashSet<>();
+        Set<Long> routes = new LinkedHashSet<>();
+        LocalDate today = LocalDate.now();
+        JsonNode taskPage = getJson("/api/tasks/page?limit=500&from=" + today.minusDays(7) + "&to=" + today.plusDays(7));
+        for (JsonNode task : taskPage.path("items")) {
+            tasks.add(task.path("id").asLong());
+            if (task.hasNonNull("routeId")) {
+                routes.add(task.path("routeId").asLong());
+            }
+        }
+
+        Set<Long> employees = new LinkedHashSet<>();
+        Set<String> countyNames = new LinkedHashSet<>();
+        for (long routeId : routes.stream().limit(30).toList()) {
+            JsonNode route = getJson("/api/routes/" + routeId);
+            if (route.hasNonNull("employeeId")) {
+                employees.add(route.path("employeeId").asLong());
+            }
+            if (route.hasNonNull("county")) {
+                countyNames.add(route.path("county").asText());
+            }
+        }
+
+        if (orders.isEmpty() || tasks.isEmpty() || employees.isEmpty()) {
+            throw new IllegalStateException("Not enough data on " + baseUrl
+                    + " to build requests; start the server with the synthetic profile first");
+        }
+        orderIds = orders.stream().mapToLong(Long::longValue).toArray();
+        taskIds = tasks.stream().mapToLong(Long::longValue).toArray();
+        routeIds = routes.stream().mapToLong(Long::longValue).toArray();
+        employeeIds = employees.stream().mapToLong(Long::longValue).toArray();
+        counties = countyNames.toArray(new String[0]);
+        System.out.printf("Sampled %d orders, %d tasks, %d routes, %d drivers, %d counties%n",
+                orderIds.length, taskIds.length, routeIds.length, employeeIds.length, counties.length);
+    }
+
+    void run(int concurrency, int warmupSeconds, int durationSeconds, long seed) throws InterruptedException {
+        SplittableRandom seeds = new SplittableRandom(seed);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                SplittableRandom random = seeds.split();
+                executor.submit(() -> clientLoop(random));
+            }
+            System.out.printf("Warming up for %d s with %d clients...%n", warmupSeconds, concurrency);
+            TimeUnit.SECONDS.sleep(warmupSeconds);
+            recording = true;
+            System.out.printf("Measuring for %d s...%n", durationSeconds);
+            TimeUnit.SECONDS.sleep(durationSeconds);
+            recording = false;
+            stopped = true;
+        }
+        report(durationSeconds);
+    }
+
+    private void clientLoop(SplittableRandom random) {
+        while (!stopped) {
+            int roll = random.nextInt(writes ? 100 : 95);
+            LocalDate today = LocalDate.now();
+            // Dispatcher calls
+            if (roll < 15) {
+                String query = "/api/orders/search?orderType=" + pick(random, ORDER_TYPES) + "&page=" + random.nextInt(5);
+                if (random.nextInt(4) == 0) {
+                    query += "&hasTask=false";
+                }
+                call("GET /api/orders/search", get(query));
+            } else if (roll < 25) {
+                call("GET /api/orders/{id}", get("/api/orders/" + pick(random, orderIds)));
+            } else if (roll < 40) {
+                call("GET /api/clients/search", get("/api/clients/search?limit=20&q=" + pick(random, CLIENT_QUERIES)
+                        .replace(" ", "%20")));
+            } else if (roll < 50) {
+                String query = "/api/tasks/page?from=" + today + "&to=" + today.plusDays(7);
+                if (counties.length > 0) {
+                    query += "&county=" + pick(random, counties).replace(" ", "%20");
+                }
+                call("GET /api/tasks/page", get(query));
+            } else if (roll < 58) {
+                call("GET /api/routes/{id}", get("/api/routes/" + pick(random, routeIds)));
+            // Driver app calls
+            } else if (roll < 83) {
+                call("GET /api/drivers/{id}/day/{date}",
+                        get("/api/drivers/" + pick(random, employeeIds) + "/day/" + today));
+            } else if (roll < 95) {
+                call("GET /api/tasks/route/{id}", get("/api/tasks/route/" + pick(random, routeIds)));
+            } else {
+                call("PATCH /api/tasks/{id}/status", HttpRequest.newBuilder(uri("/api/tasks/" + pick(random, taskIds) + "/status"))
+                        .header("Content-Type", "application/json")
+                        .method("PATCH", HttpRequest.BodyPublishers.ofString(
+                                "{\"status\":\"" + pick(random, TASK_STATUSES) + "\"}"))
+                        .build());
+            }
+        }
+    }
+
+    private void call(String label, HttpRequest request) {
+        long start = System.nanoTime();
+        boolean ok;
+        try {
+            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+            ok = response.statusCode() < 400;
+        } catch (IOException e) {
+            ok = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (recording) {
+            recorders.computeIfAbsent(label, l -> new LatencyRecorder()).record(System.nanoTime() - start, ok);
+        }
+    }
+
+    private void report(int durationSeconds) {
+        System.out.println();
+        System.out.printf("%-34s %8s %7s %8s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        List<String> labels = new ArrayList<>(recorders.keySet());
+        labels.sort(null);
+        LatencyRecorder total = new LatencyRecorder();
+        for (String label : labels) {
+            LatencyRecorder recorder = recorders.get(label);
+            printRow(label, recorder, durationSeconds);
+            total.addAll(recorder);
+        }
+        printRow("all", total, durationSeconds);
+    }
+
+    private static void printRow(String label, LatencyRecorder recorder, int durationSeconds) {
+        long[] sorted = recorder.sortedLatencies();
+        System.out.printf(Locale.ROOT, "%-34s %8d %7d %8.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                label, sorted.length, recorder.errors(), (double) sorted.length / durationSeconds,
+                millis(percentile(sorted, 50)), millis(percentile(sorted, 90)), millis(percentile(sorted, 99)),
+                millis(percentile(sorted, 99.9)), millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]));
+    }
+
+    // Nearest-rank percentile
+    static long percentile(long[] sorted, double percent) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private JsonNode getJson(String path) throws IOException, InterruptedException {
+        HttpResponse<String> response = http.send(get(path), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IOException("GET " + path + " returned " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET().build();
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private static long pick(SplittableRandom random, long[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /**
+     * Latencies of one endpoint, in nanoseconds. Every sample is kept, which is fine for a
+     * run of a few minutes and keeps the percentiles exact.
+     */
+    static final class LatencyRecorder {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+
+        synchronized void record(long nanos, boolean ok) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        synchronized void addAll(LatencyRecorder other) {
+            long[] samples = other.sortedLatencies();
+            for (long sample : samples) {
+                record(sample, true);
+            }
+            errors += other.errors();
+        }
+
+        synchronized long[] sortedLatencies() {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+
+        synchronized int errors() {
+            return errors;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.damiProd.repository;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Joined-inheritance client queries (the shape Hibernate generates for ClientRepository)
+ * against the flattened client_summaries table, on in-memory H2 over plain JDBC.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ClientReadModelBenchmark {
+
+    private static final String JOINED_SELECT = "SELECT c.id, c.email, c.phone, c.address, i.full_name, i.cnp, "
+            + "co.name, co.cui, co.admin_name, "
+            + "CASE WHEN i.id IS NOT NULL THEN 1 WHEN co.id IS NOT NULL THEN 2 ELSE 0 END AS clazz "
+            + "FROM client c LEFT JOIN individual i ON i.id = c.id LEFT JOIN companies co ON co.id = c.id";
+    private static final String FLAT_SELECT = "SELECT id, type, display_name, tax_id, phone, email, address "
+            + "FROM client_summaries";
+
+    @Param({ "10000", "100000" })
+    private int clients;
+
+    private Connection connection;
+    private PreparedStatement joinedAll;
+    private PreparedStatement flatAll;
+    private PreparedStatement joinedById;
+    private PreparedStatement flatById;
+    private PreparedStatement joinedPageByName;
+    private PreparedStatement flatPageByName;
+    private final Random random = new Random(42);
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:client_read_model_" + clients);
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("CREATE TABLE client (id BIGINT PRIMARY KEY, email VARCHAR(255), phone VARCHAR(255), "
+                    + "address VARCHAR(255))");
+            ddl.execute("CREATE TABLE individual (id BIGINT PRIMARY KEY REFERENCES client(id), "
+                    + "full_name VARCHAR(255), cnp VARCHAR(255), id_photo_url VARCHAR(255))");
+            ddl.execute("CREATE TABLE companies (id BIGINT PRIMARY KEY REFERENCES client(id), name VARCHAR(255), "
+                    + "cui VARCHAR(255), admin_name VARCHAR(255))");
+            ddl.execute("CREATE TABLE client_summaries (id BIGINT PRIMARY KEY, type VARCHAR(20) NOT NULL, "
+                    + "display_name VARCHAR(255), tax_id VARCHAR(255), phone VARCHAR(255), email VARCHAR(255), "
+                    + "address VARCHAR(255))");
+            ddl.execute("CREATE INDEX idx_client_summaries_name_id ON client_summaries (display_name, id)");
+        }
+
+        connection.setAutoCommit(false);
+        try (PreparedStatement client = connection.prepareStatement("INSERT INTO client VALUES (?, ?, ?, ?)");
+                PreparedStatement individual = connection.prepareStatement(
+                        "INSERT INTO individual VALUES (?, ?, ?, NULL)");
+                PreparedStatement company = connection.prepareStatement("INSERT INTO companies VALUES (?, ?, ?, ?)")) {
+            for (long id = 1; id <= clients; id++) {
+                client.setLong(1, id);
+                client.setString(2, "client" + id + "@example.ro");
+                client.setString(3, "07" + (10_000_000 + random.nextInt(89_999_999)));
+                client.setString(4, "Str. Exemplu nr. " + id);
+                client.addBatch();
+                if (id % 2 == 0) {
+                    individual.setLong(1, id);
+                    individual.setString(2, "Persoana " + random.nextInt(1_000_000));
+                    individual.setString(3, String.valueOf(1_000_000_000_000L + id));
+                    individual.addBatch();
+                } else {
+                    company.setLong(1, id);
+                    company.setString(2, "Firma " + random.nextInt(1_000_000) + " SRL");
+                    company.setString(3, "RO" + id);
+                    company.setString(4, "Admin " + id);
+                    company.addBatch();
+                }
+            }
+            client.executeBatch();
+            individual.executeBatch();
+            company.executeBatch();
+        }
+        try (Statement copy = connection.createStatement()) {
+            // Same statement as ClientSummaryRepository.insertMissing, without the NOT EXISTS
+            copy.execute("INSERT INTO client_summaries (id, type, display_name, tax_id, phone, email, address) "
+                    + "SELECT c.id, CASE WHEN i.id IS NOT NULL THEN 'individual' ELSE 'company' END, "
+                    + "COALESCE(i.full_name, co.name), COALESCE(i.cnp, co.cui), c.phone, c.email, c.address "
+                    + "FROM client c LEFT JOIN individual i ON i.id = c.id LEFT JOIN companies co ON co.id = c.id");
+        }
+        connection.commit();
+
+        joinedAll = connection.prepareStatement(JOINED_SELECT);
+        flatAll = connection.prepareStatement(FLAT_SELECT);
+        joinedById = connection.prepareStatement(JOINED_SELECT + " WHERE c.id = ?");
+        flatById = connection.prepareStatement(FLAT_SELECT + " WHERE id = ?");
+        joinedPageByName = connection.prepareStatement(
+                JOINED_SELECT + " ORDER BY COALESCE(i.full_name, co.name), c.id LIMIT 50 OFFSET ?");
+        flatPageByName = connection.prepareStatement(FLAT_SELECT + " ORDER BY display_name, id LIMIT 50 OFFSET ?");
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public void listAllJoined(Blackhole blackhole) throws SQLException {
+        consume(joinedAll, blackhole);
+    }
+
+    @Benchmark
+    public void listAllFlat(Blackhole blackhole) throws SQLException {
+        consume(flatAll, blackhole);
+    }
+
+    @Benchmark
+    public void lookupJoined(Blackhole blackhole) throws SQLException {
+        joinedById.setLong(1, 1 + random.nextInt(clients));
+        consume(joinedById, blackhole);
+    }
+
+    @Benchmark
+    public void lookupFlat(Blackhole blackhole) throws SQLException {
+        flatById.setLong(1, 1 + random.nextInt(clients));
+        consume(flatById, blackhole);
+    }
+
+    @Benchmark
+    public void pageByNameJoined(Blackhole blackhole) throws SQLException {
+        joinedPageByName.setInt(1, random.nextInt(clients / 50) * 50);
+        consume(joinedPageByName, blackhole);
+    }
+
+    @Benchmark
+    public void pageByNameFlat(Blackhole blackhole) throws SQLException {
+        flatPageByName.setInt(1, random.nextInt(clients / 50) * 50);
+        consume(flatPageByName, blackhole);
+    }
+
+    private void consume(PreparedStatement statement, Blackhole blackhole) throws SQLException {
+        try (ResultSet rs = statement.executeQuery()) {
+            int columns = rs.getMetaData().getColumnCount();
+            while (rs.next()) {
+                for (int i = 1; i <= columns; i++) {
+                    blackhole.consume(rs.getObject(i));
+                }
+            }
+        }
+    }
+}
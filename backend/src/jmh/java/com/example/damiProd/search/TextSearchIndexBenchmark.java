@@ -0,0 +1,54 @@
+package com.example.damiProd.search;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Typeahead latency at 100k clients; target is well under 5 ms per query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TextSearchIndexBenchmark {
+
+    private static final String[] FIRST_NAMES = { "Ion", "Maria", "Andrei", "Stefan", "Ioana", "Mihai", "Elena",
+            "Vasile", "Gheorghe", "Ana", "Cristian", "Alexandra" };
+    private static final String[] LAST_NAMES = { "Popescu", "Ionescu", "Popa", "Dumitrescu", "Stan", "Stoica",
+            "Gheorghiu", "Rusu", "Munteanu", "Matei", "Constantin", "Taranu" };
+
+    // Single letters and common names are the worst case: many candidates to rank
+    @Param({ "i", "ion", "ion pop", "0722", "alexandra", "maria ionescu b5" })
+    private String query;
+
+    private TextSearchIndex<Long> index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        index = new TextSearchIndex<>();
+        for (long id = 0; id < 100_000; id++) {
+            String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                    + LAST_NAMES[random.nextInt(LAST_NAMES.length)] + " " + (char) ('a' + random.nextInt(26))
+                    + random.nextInt(1000);
+            String phone = "07" + (10_000_000 + random.nextInt(89_999_999));
+            String cnp = String.valueOf(1_000_000_000_000L + (long) (random.nextDouble() * 8e12));
+            String email = name.toLowerCase().replace(' ', '.') + "@gmail.com";
+            index.put(id, id, name, cnp, phone, email);
+        }
+    }
+
+    @Benchmark
+    public List<Long> search() {
+        return index.search(query, 20);
+    }
+}
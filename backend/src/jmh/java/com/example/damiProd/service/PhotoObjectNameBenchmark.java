@@ -0,0 +1,39 @@
+package com.example.damiProd.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Object name building for uploads (folder prefix, custom name, extension).
+ * Runs on every upload request thread, before the file is handed to the upload queue.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PhotoObjectNameBenchmark {
+
+    private PhotoService photoService;
+
+    @Setup
+    public void setUp() {
+        // buildObjectName doesn't touch storage, resizing, the catalog or metrics
+        photoService = new PhotoService(null, null, null, null);
+    }
+
+    @Benchmark
+    public String generatedName() {
+        return photoService.buildObjectName("IMG_20250101_120000.jpg", "tasks/42", null);
+    }
+
+    @Benchmark
+    public String customName() {
+        return photoService.buildObjectName("IMG_20250101_120000.jpg", "clients/17", "buletin_fata");
+    }
+}
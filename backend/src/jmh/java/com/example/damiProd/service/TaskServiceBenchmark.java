@@ -0,0 +1,103 @@
+package com.example.damiProd.service;
+
+import com.example.damiProd.BenchmarkContext;
+import com.example.damiProd.domain.Client;
+import com.example.damiProd.domain.Employee;
+import com.example.damiProd.domain.Individual;
+import com.example.damiProd.domain.Order;
+import com.example.damiProd.domain.Product;
+import com.example.damiProd.domain.Route;
+import com.example.damiProd.domain.Task;
+import com.example.damiProd.domain.TaskType;
+import com.example.damiProd.repository.EmployeeRepository;
+import com.example.damiProd.repository.OrderRepository;
+import com.example.damiProd.repository.ProductRepository;
+import com.example.damiProd.repository.RouteRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Task creation from an order against in-memory H2, through the real service and repositories.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskServiceBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class CreateTaskState {
+
+        private ConfigurableApplicationContext context;
+        private TaskService taskService;
+        private JdbcTemplate jdbcTemplate;
+        private Long orderId;
+        private Long routeId;
+
+        @Setup
+        public void setUp() throws IOException {
+            context = BenchmarkContext.start("task-service-bench");
+            taskService = context.getBean(TaskService.class);
+            jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+            // Saved through ClientService so the client_summaries row exists, as in production
+            Client client = context.getBean(ClientService.class).saveClient(
+                    new Individual("bench@example.com", "0700000000", "Str. Exemplu 1, Cluj", "Client Bench", "1900101000000"));
+            Product product = context.getBean(ProductRepository.class).save(new Product("Toaleta", "Toaleta ecologica", 100));
+
+            Order order = new Order(1L, new Date());
+            order.setClient(client);
+            order.setProduct(product);
+            order.setOrderType("amplasare");
+            order.setLocationCoordinates("46.77,23.59");
+            order.setDetails("Acces prin spate");
+            orderId = context.getBean(OrderRepository.class).save(order).getId();
+
+            Employee employee = context.getBean(EmployeeRepository.class)
+                    .save(new Employee("bench", "bench", "Sofer Bench", "0711111111"));
+            routeId = context.getBean(RouteRepository.class).save(new Route(LocalDate.now(), employee)).getId();
+        }
+
+        // The order may only have one task, so the previous invocation's task is removed first.
+        // The delete is not timed, and the measured call does several queries of its own.
+        @Setup(Level.Invocation)
+        public void deletePreviousTask() {
+            jdbcTemplate.update("DELETE FROM tasks WHERE order_id = ?", orderId);
+        }
+
+        @TearDown
+        public void tearDown() {
+            context.close();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class OrderTypeState {
+
+        @Param({ "amplasare", "Ridicari", "IGIENIZARE", "necunoscut" })
+        private String orderType;
+    }
+
+    @Benchmark
+    public Task createTaskFromOrder(CreateTaskState state) {
+        return state.taskService.createTaskFromOrder(state.orderId, state.routeId);
+    }
+
+    @Benchmark
+    public TaskType mapOrderTypeToTaskType(OrderTypeState state) {
+        return TaskService.mapOrderTypeToTaskType(state.orderType);
+    }
+}
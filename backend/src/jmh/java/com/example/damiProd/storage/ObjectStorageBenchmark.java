@@ -0,0 +1,113 @@
+package com.example.damiProd.storage;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Upload and delete throughput per storage backend.
+ *
+ * Only the local backend runs by default. To include GCS, set
+ * benchmarkParameters = ['backend': ['local', 'gcs']] in the jmh block and pass
+ * -Dbench.gcp.project-id / -Dbench.gcp.bucket-name through jvmArgs. It needs credentials
+ * and a scratch bucket; objects are written under "jmh/" and deleted after each iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ObjectStorageBenchmark {
+
+    @Param({ "local" })
+    private String backend;
+
+    // Typical phone ID photo is ~1-3 MB; 64 KB is roughly a display rendition
+    @Param({ "64", "2048" })
+    private int sizeKb;
+
+    private ObjectStorage storage;
+    private Path localRoot;
+    private Path source;
+    private byte[] content;
+    private final List<String> uploaded = new ArrayList<>();
+    private long counter;
+
+    @Setup
+    public void setUp() throws IOException {
+        content = new byte[sizeKb * 1024];
+        new Random(42).nextBytes(content);
+        source = Files.createTempFile("storage-bench", ".jpg");
+        Files.write(source, content);
+
+        if ("gcs".equals(backend)) {
+            storage = new GcsObjectStorage(System.getProperty("bench.gcp.project-id"),
+                    System.getProperty("bench.gcp.bucket-name"));
+        } else {
+            localRoot = Files.createTempDirectory("storage-bench-root");
+            storage = new LocalObjectStorage(localRoot, "http://localhost/files");
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteUploaded() {
+        for (String name : uploaded) {
+            storage.delete(name);
+        }
+        uploaded.clear();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(source);
+        if (localRoot != null) {
+            try (Stream<Path> walk = Files.walk(localRoot)) {
+                for (Path path : walk.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        }
+    }
+
+    // Spooled async uploads take this path
+    @Benchmark
+    public void uploadFromFile() throws IOException {
+        String name = nextName();
+        storage.put(name, source, "image/jpeg");
+        uploaded.add(name);
+    }
+
+    // Renditions take this path
+    @Benchmark
+    public void uploadBytes() throws IOException {
+        String name = nextName();
+        storage.put(name, content, "image/jpeg");
+        uploaded.add(name);
+    }
+
+    @Benchmark
+    public boolean uploadThenDelete() throws IOException {
+        String name = nextName();
+        storage.put(name, content, "image/jpeg");
+        return storage.delete(name);
+    }
+
+    private String nextName() {
+        return "jmh/" + sizeKb + "kb/" + (counter++) + ".jpg";
+    }
+}
@@ -9,12 +9,15 @@ import com.example.damiProd.repository.EmployeeRoleRepository;
 import com.example.damiProd.repository.ProductRepository;
 import com.example.damiProd.repository.RouteRepository;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 
 @Component
+// Runs before SyntheticDataGenerator, which needs the products
+@Order(0)
 public class DataLoader implements CommandLineRunner {
 
     private final ProductRepository productRepository;
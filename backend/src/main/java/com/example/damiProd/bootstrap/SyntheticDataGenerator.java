@@ -0,0 +1,503 @@
+package com.example.damiProd.bootstrap;
+
+import com.example.damiProd.domain.EmployeeRole;
+import com.example.damiProd.domain.TaskStatus;
+import com.example.damiProd.domain.TaskType;
+import com.example.damiProd.repository.EmployeeRoleRepository;
+import com.example.damiProd.service.EmployeeRoleIndex;
+import com.example.damiProd.service.ReferenceDataCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Fills the database with a large synthetic dataset (a year of orders, routes and tasks
+ * across every county) so slow queries can be reproduced locally.
+ *
+ * Only active with the "synthetic" profile; sizes come from application-synthetic.properties.
+ * Rows are written with plain JDBC batches of synthetic.batch-size, outside of Hibernate, so
+ * the run takes minutes rather than hours for the default sizes. The data is generated from
+ * synthetic.seed, so two runs with the same settings produce the same dataset.
+ *
+ * Client summaries are not written here: ClientService backfills them (and builds the search
+ * index) when the application is ready, which happens after this runner.
+ */
+@Component
+@Profile("synthetic")
+@Order(1)
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    private static final String DRIVER_USERNAME_PREFIX = "synthetic_driver_";
+
+    // County, county seat, approximate center of the seat
+    private static final String[][] COUNTIES = {
+            { "Alba", "Alba Iulia", "46.07", "23.58" }, { "Arad", "Arad", "46.18", "21.31" },
+            { "Arges", "Pitesti", "44.86", "24.87" }, { "Bacau", "Bacau", "46.57", "26.91" },
+            { "Bihor", "Oradea", "47.07", "21.93" }, { "Bistrita-Nasaud", "Bistrita", "47.13", "24.49" },
+            { "Botosani", "Botosani", "47.75", "26.67" }, { "Brasov", "Brasov", "45.66", "25.61" },
+            { "Braila", "Braila", "45.27", "27.96" }, { "Bucuresti", "Bucuresti", "44.43", "26.10" },
+            { "Buzau", "Buzau", "45.15", "26.82" }, { "Caras-Severin", "Resita", "45.30", "21.89" },
+            { "Calarasi", "Calarasi", "44.20", "27.33" }, { "Cluj", "Cluj-Napoca", "46.77", "23.59" },
+            { "Constanta", "Constanta", "44.18", "28.63" }, { "Covasna", "Sfantu Gheorghe", "45.86", "25.79" },
+            { "Dambovita", "Targoviste", "44.93", "25.46" }, { "Dolj", "Craiova", "44.32", "23.80" },
+            { "Galati", "Galati", "45.44", "28.05" }, { "Giurgiu", "Giurgiu", "43.90", "25.97" },
+            { "Gorj", "Targu Jiu", "45.04", "23.27" }, { "Harghita", "Miercurea Ciuc", "46.36", "25.80" },
+            { "Hunedoara", "Deva", "45.88", "22.90" }, { "Ialomita", "Slobozia", "44.56", "27.37" },
+            { "Iasi", "Iasi", "47.16", "27.59" }, { "Ilfov", "Buftea", "44.56", "25.95" },
+            { "Maramures", "Baia Mare", "47.66", "23.58" }, { "Mehedinti", "Drobeta-Turnu Severin", "44.63", "22.66" },
+            { "Mures", "Targu Mures", "46.54", "24.56" }, { "Neamt", "Piatra Neamt", "46.93", "26.37" },
+            { "Olt", "Slatina", "44.43", "24.37" }, { "Prahova", "Ploiesti", "44.94", "26.02" },
+            { "Satu Mare", "Satu Mare", "47.79", "22.89" }, { "Salaj", "Zalau", "47.19", "23.06" },
+            { "Sibiu", "Sibiu", "45.79", "24.15" }, { "Suceava", "Suceava", "47.65", "26.26" },
+            { "Teleorman", "Alexandria", "43.97", "25.33" }, { "Timis", "Timisoara", "45.75", "21.23" },
+            { "Tulcea", "Tulcea", "45.18", "28.80" }, { "Vaslui", "Vaslui", "46.64", "27.73" },
+            { "Valcea", "Ramnicu Valcea", "45.10", "24.37" }, { "Vrancea", "Focsani", "45.70", "27.18" }
+    };
+
+    private static final String[] FIRST_NAMES = { "Ion", "Maria", "Andrei", "Elena", "Mihai", "Ana", "Gheorghe",
+            "Ioana", "Vasile", "Cristina", "Alexandru", "Daniela", "Florin", "Gabriela", "Adrian", "Mihaela" };
+    private static final String[] LAST_NAMES = { "Popescu", "Ionescu", "Popa", "Pop", "Radu", "Dumitru", "Stan",
+            "Stoica", "Gheorghe", "Matei", "Ciobanu", "Rusu", "Munteanu", "Constantin", "Marin", "Lazar" };
+    private static final String[] COMPANY_WORDS = { "Construct", "Agro", "Eveniment", "Instal", "Trans", "Build",
+            "Festival", "Drum", "Energo", "Hidro", "Terra", "Nord", "Sud", "Vest", "Est", "Carpati" };
+    private static final String[] STREETS = { "Str. Mihai Eminescu", "Bd. Independentei", "Str. Unirii",
+            "Calea Victoriei", "Str. Florilor", "Str. Libertatii", "Bd. Revolutiei", "Str. Garii" };
+
+    private static final String[] ORDER_TYPES = { "Amplasari", "Igienizari", "Ridicari" };
+    // Share of each order type above, in percent
+    private static final int[] ORDER_TYPE_WEIGHTS = { 60, 25, 15 };
+
+    private static final String INSERT_CLIENT_SQL = "INSERT INTO client (email, phone, address) VALUES (?, ?, ?)";
+    private static final String INSERT_INDIVIDUAL_SQL = "INSERT INTO individual (id, full_name, cnp) VALUES (?, ?, ?)";
+    private static final String INSERT_COMPANY_SQL = "INSERT INTO companies (id, name, cui, admin_name) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_ROUTE_DEFINITION_SQL = "INSERT INTO route_definitions (name, city) VALUES (?, ?)";
+    private static final String INSERT_EMPLOYEE_SQL = "INSERT INTO employees (username, password, full_name, phone, county) " +
+            "VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_EMPLOYEE_ROLE_SQL = "INSERT INTO employees_roles_join (employee_id, role_id) VALUES (?, ?)";
+    private static final String INSERT_ORDER_SQL = "INSERT INTO orders (number, date, client_id, product_id, order_type, " +
+            "quantity, is_indefinite, duration_days, start_date, end_date, location_coordinates, contact, " +
+            "igienizari_per_month, details, route_definition_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_ROUTE_SQL = "INSERT INTO routes (date, county, employee_id) VALUES (?, ?, ?)";
+    private static final String INSERT_TASK_SQL = "INSERT INTO tasks (type, status, scheduled_time, status_changed_at, " +
+            "address, client_name, client_phone, internal_notes, visit_order, route_id, order_id, occurrence_date) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EmployeeRoleRepository employeeRoleRepository;
+    private final EmployeeRoleIndex employeeRoleIndex;
+    private final ReferenceDataCache referenceDataCache;
+
+    private final int clientCount;
+    private final int orderCount;
+    private final int routeCount;
+    private final int taskCount;
+    private final int driversPerCounty;
+    private final int historyDays;
+    private final int batchSize;
+    private final long seed;
+
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate,
+                                  EmployeeRoleRepository employeeRoleRepository,
+                                  EmployeeRoleIndex employeeRoleIndex,
+                                  ReferenceDataCache referenceDataCache,
+                                  @Value("${synthetic.clients:100000}") int clientCount,
+                                  @Value("${synthetic.orders:1000000}") int orderCount,
+                                  @Value("${synthetic.routes:20000}") int routeCount,
+                                  @Value("${synthetic.tasks:2000000}") int taskCount,
+                                  @Value("${synthetic.drivers-per-county:3}") int driversPerCounty,
+                                  @Value("${synthetic.history-days:365}") int historyDays,
+                                  @Value("${synthetic.batch-size:5000}") int batchSize,
+                                  @Value("${synthetic.seed:42}") long seed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.employeeRoleRepository = employeeRoleRepository;
+        this.employeeRoleIndex = employeeRoleIndex;
+        this.referenceDataCache = referenceDataCache;
+        this.clientCount = clientCount;
+        this.orderCount = orderCount;
+        this.routeCount = routeCount;
+        this.taskCount = taskCount;
+        this.driversPerCounty = driversPerCounty;
+        this.historyDays = historyDays;
+        this.batchSize = batchSize;
+        this.seed = seed;
+    }
+
+    @Override
+    public void run(String... args) {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM employees WHERE username LIKE ?", Integer.class, DRIVER_USERNAME_PREFIX + "%");
+        if (existing != null && existing > 0) {
+            log.info("Synthetic dataset already present, skipping generation");
+            return;
+        }
+        List<Long> productIds = jdbcTemplate.queryForList("SELECT id FROM products ORDER BY id", Long.class);
+        if (productIds.isEmpty()) {
+            throw new RuntimeException("Nu există produse pentru generarea comenzilor");
+        }
+
+        long started = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(seed);
+        LocalDate today = LocalDate.now();
+
+        ClientRows clients = insertClients(random);
+        log.info("Synthetic data: {} clients", clientCount);
+
+        long[] routeDefinitionIds = insertRouteDefinitions();
+        long[][] driverIds = insertDrivers();
+        log.info("Synthetic data: {} route definitions, {} drivers", COUNTIES.length,
+                COUNTIES.length * driversPerCounty);
+
+        OrderRows orders = insertOrders(random, today, clients, productIds, routeDefinitionIds);
+        log.info("Synthetic data: {} orders", orderCount);
+
+        RouteRows routes = insertRoutes(random, today, driverIds);
+        log.info("Synthetic data: {} routes", routeCount);
+
+        int tasks = insertTasks(random, today, clients, orders, routes);
+        log.info("Synthetic data: {} tasks", tasks);
+
+        // Rows were written behind Hibernate's back
+        referenceDataCache.evictRouteDefinitions();
+        referenceDataCache.evictEmployeeRoles();
+        employeeRoleIndex.invalidate();
+
+        log.info("Synthetic dataset generated in {} s", (System.nanoTime() - started) / 1_000_000_000);
+    }
+
+    private ClientRows insertClients(SplittableRandom random) {
+        ClientRows rows = new ClientRows(clientCount);
+        for (int i = 0; i < clientCount; i++) {
+            int county = random.nextInt(COUNTIES.length);
+            rows.county[i] = county;
+            rows.company[i] = random.nextInt(100) < 30;
+            rows.name[i] = rows.company[i]
+                    ? "SC " + pick(random, COMPANY_WORDS) + pick(random, COMPANY_WORDS) + " " + i + " SRL"
+                    : pick(random, FIRST_NAMES) + " " + pick(random, LAST_NAMES);
+            rows.phone[i] = "07" + String.format("%08d", random.nextInt(100_000_000));
+            rows.address[i] = pick(random, STREETS) + " " + (1 + random.nextInt(200)) + ", " + COUNTIES[county][1];
+        }
+
+        long[] ids = insertReturningIds(INSERT_CLIENT_SQL, clientCount, (ps, i) -> {
+            ps.setString(1, "client" + i + "@example.com");
+            ps.setString(2, rows.phone[i]);
+            ps.setString(3, rows.address[i]);
+        });
+        System.arraycopy(ids, 0, rows.id, 0, clientCount);
+
+        List<Object[]> individuals = new ArrayList<>();
+        List<Object[]> companies = new ArrayList<>();
+        for (int i = 0; i < clientCount; i++) {
+            if (rows.company[i]) {
+                companies.add(new Object[] { rows.id[i], rows.name[i], "RO" + (10_000_000 + random.nextInt(89_999_999)),
+                        pick(random, FIRST_NAMES) + " " + pick(random, LAST_NAMES) });
+            } else {
+                individuals.add(new Object[] { rows.id[i], rows.name[i],
+                        (1 + random.nextInt(6)) + String.format("%012d", random.nextLong(1_000_000_000_000L)) });
+            }
+        }
+        batchInsert(INSERT_INDIVIDUAL_SQL, individuals);
+        batchInsert(INSERT_COMPANY_SQL, companies);
+        return rows;
+    }
+
+    private long[] insertRouteDefinitions() {
+        return insertReturningIds(INSERT_ROUTE_DEFINITION_SQL, COUNTIES.length, (ps, i) -> {
+            ps.setString(1, "Traseu " + COUNTIES[i][0]);
+            ps.setString(2, COUNTIES[i][1]);
+        });
+    }
+
+    private long[][] insertDrivers() {
+        EmployeeRole driverRole = employeeRoleRepository.findByRoleName("DRIVER")
+                .orElseGet(() -> {
+                    EmployeeRole role = new EmployeeRole();
+                    role.setRoleName("DRIVER");
+                    return employeeRoleRepository.save(role);
+                });
+
+        int total = COUNTIES.length * driversPerCounty;
+        long[] ids = insertReturningIds(INSERT_EMPLOYEE_SQL, total, (ps, i) -> {
+            String county = COUNTIES[i / driversPerCounty][0];
+            ps.setString(1, DRIVER_USERNAME_PREFIX + county.toLowerCase().replace(' ', '_') + "_" + (i % driversPerCounty + 1));
+            ps.setString(2, "password123");
+            ps.setString(3, "Sofer " + (i % driversPerCounty + 1) + " (" + county + ")");
+            ps.setString(4, "0722" + String.format("%06d", i));
+            ps.setString(5, county);
+        });
+
+        List<Object[]> roles = new ArrayList<>(total);
+        long[][] byCounty = new long[COUNTIES.length][driversPerCounty];
+        for (int i = 0; i < total; i++) {
+            byCounty[i / driversPerCounty][i % driversPerCounty] = ids[i];
+            roles.add(new Object[] { ids[i], driverRole.getId() });
+        }
+        batchInsert(INSERT_EMPLOYEE_ROLE_SQL, roles);
+        return byCounty;
+    }
+
+    private OrderRows insertOrders(SplittableRandom random, LocalDate today, ClientRows clients,
+                                   List<Long> productIds, long[] routeDefinitionIds) {
+        OrderRows rows = new OrderRows(orderCount);
+        long[] ids = insertReturningIds(INSERT_ORDER_SQL, orderCount, (ps, i) -> {
+            int client = random.nextInt(clientCount);
+            int county = clients.county[client];
+            String type = pickWeighted(random, ORDER_TYPES, ORDER_TYPE_WEIGHTS);
+            LocalDate date = today.minusDays(random.nextInt(historyDays));
+            LocalDate start = date.plusDays(random.nextInt(1, 15));
+            boolean indefinite = random.nextInt(100) < 30;
+            int duration = random.nextInt(7, 181);
+            double lat = Double.parseDouble(COUNTIES[county][2]) + random.nextDouble(-0.15, 0.15);
+            double lng = Double.parseDouble(COUNTIES[county][3]) + random.nextDouble(-0.15, 0.15);
+            rows.client[i] = client;
+            rows.type[i] = type;
+
+            ps.setLong(1, i + 1L);
+            ps.setTimestamp(2, Timestamp.valueOf(date.atTime(random.nextInt(8, 18), random.nextInt(60))));
+            ps.setLong(3, clients.id[client]);
+            ps.setLong(4, productIds.get(random.nextInt(productIds.size())));
+            ps.setString(5, type);
+            ps.setInt(6, 1 + random.nextInt(10));
+            ps.setBoolean(7, indefinite);
+            ps.setObject(8, indefinite ? null : duration, Types.INTEGER);
+            ps.setString(9, start.toString());
+            ps.setString(10, indefinite ? null : start.plusDays(duration).toString());
+            ps.setString(11, String.format(Locale.ROOT, "%.6f,%.6f", lat, lng));
+            ps.setString(12, clients.phone[client]);
+            ps.setObject(13, "Ridicari".equals(type) ? null : random.nextInt(0, 9), Types.INTEGER);
+            ps.setString(14, random.nextInt(100) < 20 ? "Acces prin poarta din spate" : null);
+            ps.setLong(15, routeDefinitionIds[county]);
+        });
+        System.arraycopy(ids, 0, rows.id, 0, orderCount);
+        return rows;
+    }
+
+    private RouteRows insertRoutes(SplittableRandom random, LocalDate today, long[][] driverIds) {
+        // Dates run from historyDays ago to two weeks ahead, in order, so tasks can be spread by date below
+        int span = historyDays + 14;
+        RouteRows rows = new RouteRows(routeCount);
+        for (int i = 0; i < routeCount; i++) {
+            rows.county[i] = random.nextInt(COUNTIES.length);
+            rows.date[i] = today.minusDays(historyDays).plusDays((long) i * span / routeCount);
+        }
+        long[] ids = insertReturningIds(INSERT_ROUTE_SQL, routeCount, (ps, i) -> {
+            int county = rows.county[i];
+            ps.setObject(1, rows.date[i], Types.DATE);
+            ps.setString(2, COUNTIES[county][0]);
+            ps.setLong(3, driverIds[county][random.nextInt(driversPerCounty)]);
+        });
+        System.arraycopy(ids, 0, rows.id, 0, routeCount);
+        return rows;
+    }
+
+    /**
+     * Spreads tasks evenly over the routes. Each route visits orders of its own county, taken
+     * round-robin, so an order comes back only after the rest of its county has been visited.
+     * The first visit of an order is its dispatched task (no occurrence date); later visits are
+     * sanitization occurrences keyed by the route date, like the ones SanitizationTaskGenerator makes.
+     */
+    private int insertTasks(SplittableRandom random, LocalDate today, ClientRows clients, OrderRows orders,
+                            RouteRows routes) {
+        int[][] ordersByCounty = groupOrdersByCounty(clients, orders);
+        int[] countyCursor = new int[COUNTIES.length];
+        // Epoch day + 1 of the last visit per order, 0 = never visited
+        long[] lastVisit = new long[orderCount];
+
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        int inserted = 0;
+        for (int r = 0; r < routeCount; r++) {
+            int perRoute = taskCount / routeCount + (r < taskCount % routeCount ? 1 : 0);
+            int[] countyOrders = ordersByCounty[routes.county[r]];
+            if (countyOrders.length == 0) {
+                continue;
+            }
+            LocalDate date = routes.date[r];
+            LocalDateTime start = date.atTime(7, 0);
+            for (int v = 0; v < perRoute; v++) {
+                int order = countyOrders[countyCursor[routes.county[r]]++ % countyOrders.length];
+                if (lastVisit[order] == date.toEpochDay() + 1) {
+                    continue; // already on a route that day
+                }
+                boolean firstVisit = lastVisit[order] == 0;
+                lastVisit[order] = date.toEpochDay() + 1;
+
+                int client = orders.client[order];
+                TaskType type = firstVisit ? taskType(orders.type[order]) : TaskType.SANITIZATION;
+                LocalDateTime scheduled = start.plusMinutes(20L * v);
+                TaskStatus status = status(random, date, today);
+                batch.add(new Object[] {
+                        type.name(), status.name(), Timestamp.valueOf(scheduled),
+                        status == TaskStatus.NEW ? null : Timestamp.valueOf(scheduled.plusMinutes(random.nextInt(5, 90))),
+                        clients.address[client], clients.name[client], clients.phone[client], null, v,
+                        routes.id[r], orders.id[order], firstVisit ? null : java.sql.Date.valueOf(date) });
+                inserted++;
+                if (batch.size() == batchSize) {
+                    jdbcTemplate.batchUpdate(INSERT_TASK_SQL, batch);
+                    batch.clear();
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_TASK_SQL, batch);
+        return inserted;
+    }
+
+    private int[][] groupOrdersByCounty(ClientRows clients, OrderRows orders) {
+        int[] sizes = new int[COUNTIES.length];
+        for (int i = 0; i < orderCount; i++) {
+            sizes[clients.county[orders.client[i]]]++;
+        }
+        int[][] byCounty = new int[COUNTIES.length][];
+        for (int c = 0; c < COUNTIES.length; c++) {
+            byCounty[c] = new int[sizes[c]];
+            sizes[c] = 0;
+        }
+        for (int i = 0; i < orderCount; i++) {
+            int county = clients.county[orders.client[i]];
+            byCounty[county][sizes[county]++] = i;
+        }
+        return byCounty;
+    }
+
+    private static TaskType taskType(String orderType) {
+        return switch (orderType) {
+            case "Ridicari" -> TaskType.PICKUP;
+            case "Igienizari" -> TaskType.SANITIZATION;
+            default -> TaskType.PLACEMENT;
+        };
+    }
+
+    // Past routes are mostly done, today's are under way, future ones not started
+    private static TaskStatus status(SplittableRandom random, LocalDate date, LocalDate today) {
+        if (date.isAfter(today)) {
+            return TaskStatus.NEW;
+        }
+        int roll = random.nextInt(100);
+        if (date.isEqual(today)) {
+            return roll < 40 ? TaskStatus.COMPLETED : roll < 60 ? TaskStatus.IN_PROGRESS : TaskStatus.NEW;
+        }
+        return roll < 92 ? TaskStatus.COMPLETED : TaskStatus.CANCELLED;
+    }
+
+    /**
+     * Inserts count rows in batches of batchSize and returns the generated ids in row order.
+     * Each batch commits on its own; the dataset is not meant to be rolled back.
+     */
+    private long[] insertReturningIds(String sql, int count, RowSetter setter) {
+        long[] ids = new long[count];
+        for (int from = 0; from < count; from += batchSize) {
+            int offset = from;
+            int size = Math.min(batchSize, count - from);
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(
+                    con -> con.prepareStatement(sql, new String[] { "id" }),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            setter.set(ps, offset + i);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return size;
+                        }
+                    },
+                    keyHolder);
+            List<Map<String, Object>> keys = keyHolder.getKeyList();
+            for (int i = 0; i < size; i++) {
+                ids[offset + i] = ((Number) keys.get(i).get("id")).longValue();
+            }
+        }
+        return ids;
+    }
+
+    private void batchInsert(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(rows.size(), from + batchSize)));
+        }
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String pickWeighted(SplittableRandom random, String[] values, int[] weights) {
+        int roll = random.nextInt(100);
+        for (int i = 0; i < values.length; i++) {
+            roll -= weights[i];
+            if (roll < 0) {
+                return values[i];
+            }
+        }
+        return values[values.length - 1];
+    }
+
+    @FunctionalInterface
+    private interface RowSetter {
+        void set(PreparedStatement ps, int row) throws SQLException;
+    }
+
+    // Column-wise copies of what was inserted, indexed by generation order, for linking later tables
+
+    private static final class ClientRows {
+        final long[] id;
+        final int[] county;
+        final boolean[] company;
+        final String[] name;
+        final String[] phone;
+        final String[] address;
+
+        ClientRows(int size) {
+            id = new long[size];
+            county = new int[size];
+            company = new boolean[size];
+            name = new String[size];
+            phone = new String[size];
+            address = new String[size];
+        }
+    }
+
+    private static final class OrderRows {
+        final long[] id;
+        final int[] client;
+        final String[] type;
+
+        OrderRows(int size) {
+            id = new long[size];
+            client = new int[size];
+            type = new String[size];
+        }
+    }
+
+    private static final class RouteRows {
+        final long[] id;
+        final int[] county;
+        final LocalDate[] date;
+
+        RouteRows(int size) {
+            id = new long[size];
+            county = new int[size];
+            date = new LocalDate[size];
+        }
+    }
+}
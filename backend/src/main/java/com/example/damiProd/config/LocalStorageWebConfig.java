@@ -0,0 +1,25 @@
+package com.example.damiProd.config;
+
+import com.example.damiProd.storage.LocalObjectStorage;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// Serves files written by LocalObjectStorage, so its public URLs work like the GCS ones
+@Configuration
+@ConditionalOnProperty(name = "photos.storage", havingValue = "local")
+public class LocalStorageWebConfig implements WebMvcConfigurer {
+
+    private final LocalObjectStorage localObjectStorage;
+
+    public LocalStorageWebConfig(LocalObjectStorage localObjectStorage) {
+        this.localObjectStorage = localObjectStorage;
+    }
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler("/files/**")
+                .addResourceLocations(localObjectStorage.getRoot().toUri().toString());
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.damiProd.config;
+
+import com.example.damiProd.metrics.RequestMetricsInterceptor;
+import com.example.damiProd.metrics.SqlBudgetEnforcer;
+import com.example.damiProd.metrics.SqlStatementCounter;
+import com.example.damiProd.metrics.SqlStatementFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// Per-request latency and SQL statement metrics; scraped from /actuator/prometheus
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry meterRegistry;
+    private final long slowRequestMillis;
+
+    public MetricsConfig(MeterRegistry meterRegistry,
+            @Value("${metrics.slow-request-threshold-ms:500}") long slowRequestMillis) {
+        this.meterRegistry = meterRegistry;
+        this.slowRequestMillis = slowRequestMillis;
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+
+    // Counts statements per request; also runs the SQL budget check when sql-budget.enabled is set
+    @Bean
+    FilterRegistrationBean<SqlStatementFilter> sqlStatementFilter(SqlBudgetEnforcer sqlBudgetEnforcer) {
+        FilterRegistrationBean<SqlStatementFilter> registration =
+                new FilterRegistrationBean<>(new SqlStatementFilter(sqlBudgetEnforcer));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RequestMetricsInterceptor(meterRegistry, slowRequestMillis))
+                .addPathPatterns("/api/**");
+    }
+}
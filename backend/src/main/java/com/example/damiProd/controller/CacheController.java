@@ -0,0 +1,26 @@
+package com.example.damiProd.controller;
+
+import com.example.damiProd.dto.CacheRegionStats;
+import com.example.damiProd.service.ReferenceDataCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+public class CacheController {
+
+    private final ReferenceDataCache referenceDataCache;
+
+    public CacheController(ReferenceDataCache referenceDataCache) {
+        this.referenceDataCache = referenceDataCache;
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<List<CacheRegionStats>> getStats() {
+        return ResponseEntity.ok(referenceDataCache.getStats());
+    }
+}
@@ -1,6 +1,9 @@
 package com.example.damiProd.controller;
 
 import com.example.damiProd.domain.Client;
+import com.example.damiProd.domain.ClientSummary;
+import com.example.damiProd.dto.ClientSearchHit;
+import com.example.damiProd.dto.ClientSummaryPage;
 import com.example.damiProd.service.ClientService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -10,6 +13,9 @@ import java.util.List;
 @RequestMapping("/api/clients")
 public class ClientController {
 
+    private static final int MAX_SEARCH_RESULTS = 100;
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final ClientService clientService;
 
     public ClientController(ClientService clientService) {
@@ -28,6 +34,33 @@ public class ClientController {
         return ResponseEntity.ok(clients);
     }
 
+    // Flattened client list (one row per client, no subtype joins), ordered by name
+    @GetMapping("/summaries")
+    public ResponseEntity<ClientSummaryPage> getClientSummaries(@RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(clientService.getClientSummaries(page, size));
+    }
+
+    @GetMapping("/{id}/summary")
+    public ResponseEntity<ClientSummary> getClientSummary(@PathVariable("id") Long id) {
+        return clientService.getClientSummary(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Typeahead over name, CNP/CUI, phone and email, served from memory
+    @GetMapping("/search")
+    public ResponseEntity<List<ClientSearchHit>> searchClients(@RequestParam("q") String query,
+            @RequestParam(defaultValue = "20") int limit) {
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(clientService.searchClients(query, limit));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteClient(@PathVariable("id") Long id) {
         clientService.deleteClient(id);
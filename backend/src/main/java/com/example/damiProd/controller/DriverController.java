@@ -0,0 +1,43 @@
+package com.example.damiProd.controller;
+
+import com.example.damiProd.dto.DriverDaySheet;
+import com.example.damiProd.service.RouteService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/drivers")
+public class DriverController {
+
+    private final RouteService routeService;
+
+    public DriverController(RouteService routeService) {
+        this.routeService = routeService;
+    }
+
+    /**
+     * Endpoint pentru foaia de parcurs a unui șofer într-o anumită zi.
+     * Răspunde cu 304 dacă If-None-Match corespunde ETag-ului curent.
+     */
+    @GetMapping("/{employeeId}/day/{date}")
+    public ResponseEntity<DriverDaySheet> getDaySheet(
+            @PathVariable Long employeeId,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        DriverDaySheet sheet = routeService.getDriverDaySheet(employeeId, date);
+        // ResponseEntity with an ETag is checked against If-None-Match by Spring MVC,
+        // which turns a match into an empty 304
+        return ResponseEntity.ok()
+                .eTag(etagOf(sheet))
+                .body(sheet);
+    }
+
+    private static String etagOf(DriverDaySheet sheet) {
+        // Records have a stable toString over all components, so any field change alters the hash
+        return DigestUtils.md5DigestAsHex(sheet.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
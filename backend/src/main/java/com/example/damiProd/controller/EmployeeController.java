@@ -2,6 +2,7 @@ package com.example.damiProd.controller;
 
 import com.example.damiProd.domain.Employee;
 import com.example.damiProd.service.EmployeeService;
+import com.example.damiProd.service.ReferenceDataCache;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -12,9 +13,11 @@ import java.util.List;
 public class EmployeeController {
 
     private final EmployeeService employeeService;
+    private final ReferenceDataCache referenceDataCache;
 
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService, ReferenceDataCache referenceDataCache) {
         this.employeeService = employeeService;
+        this.referenceDataCache = referenceDataCache;
     }
 
     @GetMapping
@@ -55,7 +58,10 @@ public class EmployeeController {
 
     @PostMapping
     public ResponseEntity<Employee> createEmployee(@RequestBody Employee employee) {
-        return ResponseEntity.ok(employeeService.saveEmployee(employee));
+        // Roles cascade on save (PERSIST/MERGE), so a new role can come in with an employee
+        Employee saved = employeeService.saveEmployee(employee);
+        referenceDataCache.evictEmployeeRoles();
+        return ResponseEntity.ok(saved);
     }
 
     @DeleteMapping("/{id}")
@@ -0,0 +1,53 @@
+package com.example.damiProd.controller;
+
+import com.example.damiProd.dto.ExportFormat;
+import com.example.damiProd.service.ExportService;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Full exports for finance and ops, e.g. /api/export/orders?format=csv. Rows are written while
+ * the database cursor is read, so the whole table is never held in memory (unlike GET /api/orders
+ * and GET /api/tasks).
+ */
+@RestController
+@RequestMapping("/api/export")
+public class ExportController {
+
+    private final ExportService exportService;
+
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @GetMapping("/orders")
+    public ResponseEntity<StreamingResponseBody> exportOrders(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.fromParam(format);
+        if (exportFormat == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return attachment("orders", exportFormat).body(out -> exportService.exportOrders(exportFormat, out));
+    }
+
+    @GetMapping("/tasks")
+    public ResponseEntity<StreamingResponseBody> exportTasks(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.fromParam(format);
+        if (exportFormat == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return attachment("tasks", exportFormat).body(out -> exportService.exportTasks(exportFormat, out));
+    }
+
+    private static ResponseEntity.BodyBuilder attachment(String name, ExportFormat format) {
+        return ResponseEntity.ok()
+                .contentType(format.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(name + "." + format.extension()).build().toString());
+    }
+}
@@ -1,16 +1,28 @@
 package com.example.damiProd.controller;
 
 import com.example.damiProd.domain.Order;
+import com.example.damiProd.dto.OrderPage;
+import com.example.damiProd.dto.OrderSearchFilter;
+import com.example.damiProd.geo.GeoHit;
 import com.example.damiProd.service.OrderService;
+import com.example.damiProd.metrics.SqlBudget;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api")
 public class OrderController {
 
+    private static final int MAX_NEAR_RESULTS = 1000;
+    private static final int DEFAULT_SEARCH_PAGE_SIZE = 50;
+    private static final int MAX_SEARCH_PAGE_SIZE = 500;
+
     private final OrderService orderService;
 
     public OrderController(OrderService orderService) {
@@ -35,12 +47,73 @@ public class OrderController {
         return ResponseEntity.noContent().build();
     }
     @GetMapping("/orders")
+    @SqlBudget(1)
     public ResponseEntity<List<Order>> getAllOrders() {
         List<Order> orders = orderService.getAllOrders();
         return ResponseEntity.ok(orders);
     }
 
+    // Paginated order search, e.g. ?orderType=Amplasare&from=2025-01-01&hasTask=false&sort=date,desc&page=0&size=50
+    @GetMapping("/orders/search")
+    @SqlBudget(3)
+    public ResponseEntity<OrderPage> searchOrders(
+            @RequestParam(required = false) String orderType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long clientId,
+            @RequestParam(required = false) Long productId,
+            @RequestParam(required = false) Long routeDefinitionId,
+            @RequestParam(required = false) Boolean hasTask,
+            @RequestParam(defaultValue = "date,desc") String sort,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "" + DEFAULT_SEARCH_PAGE_SIZE) int size) {
+        if (page < 0 || size < 1 || size > MAX_SEARCH_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        String[] sortParts = sort.split(",");
+        Sort.Direction direction = sortParts.length > 1 && sortParts[1].equalsIgnoreCase("asc")
+                ? Sort.Direction.ASC
+                : Sort.Direction.DESC;
+        OrderSearchFilter filter = new OrderSearchFilter(orderType, from, to, clientId, productId,
+                routeDefinitionId, hasTask);
+        try {
+            return ResponseEntity.ok(orderService.searchOrders(filter,
+                    PageRequest.of(page, size, Sort.by(direction, sortParts[0]))));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Orders placed within radiusKm of a point, closest first
+    @GetMapping("/orders/near")
+    public ResponseEntity<List<GeoHit>> getOrdersNear(
+            @RequestParam double lat,
+            @RequestParam double lng,
+            @RequestParam double radiusKm,
+            @RequestParam(defaultValue = "200") int limit) {
+        // Written as !(x > 0) so that NaN is rejected too
+        if (!isValidPoint(lat, lng) || !(radiusKm > 0) || !Double.isFinite(radiusKm)
+                || limit < 1 || limit > MAX_NEAR_RESULTS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(orderService.getOrdersNear(lat, lng, radiusKm, limit));
+    }
+
+    // The k orders closest to a point
+    @GetMapping("/orders/nearest")
+    public ResponseEntity<List<GeoHit>> getNearestOrders(
+            @RequestParam double lat,
+            @RequestParam double lng,
+            @RequestParam(defaultValue = "10") int k) {
+        if (!isValidPoint(lat, lng) || k < 1 || k > MAX_NEAR_RESULTS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(orderService.getNearestOrders(lat, lng, k));
+    }
+
     @GetMapping("/orders/{orderId}")
+    @SqlBudget(1)
     public ResponseEntity<Order> getOrderById(@PathVariable("orderId") Long orderId) {
         Order order = orderService.getOrderById(orderId);
         return ResponseEntity.ok(order);
@@ -51,4 +124,9 @@ public class OrderController {
         Order updatedOrder = orderService.updateOrder(orderId, orderDetails);
         return ResponseEntity.ok(updatedOrder);
     }
+
+    // Comparisons against NaN are false, so it fails both range checks
+    private static boolean isValidPoint(double lat, double lng) {
+        return Math.abs(lat) <= 90 && Math.abs(lng) <= 180;
+    }
 }
@@ -1,30 +1,71 @@
 package com.example.damiProd.controller;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.multipart.MultipartFile;
+import com.example.damiProd.service.PhotoCatalogService;
 import com.example.damiProd.service.PhotoService;
+import com.example.damiProd.service.PhotoUploadService;
+import com.example.damiProd.dto.PhotoCatalogPage;
+import com.example.damiProd.dto.PhotoOwner;
+import com.example.damiProd.dto.PhotoUploadStatus;
+import com.example.damiProd.dto.PhotoUrls;
 
 import com.example.damiProd.domain.Client;
 import com.example.damiProd.domain.Individual;
+import com.example.damiProd.domain.PhotoOwnerType;
 import com.example.damiProd.repository.ClientRepository;
 
+import java.io.IOException;
+import java.util.concurrent.RejectedExecutionException;
+
 @RestController
 @RequestMapping("/api")
 public class PhotosController {
 
     private final PhotoService photoService;
+    private final PhotoUploadService photoUploadService;
+    private final PhotoCatalogService photoCatalogService;
     private final ClientRepository clientRepository;
     private final String clientIdsFolderName = "Individual Client Ids/";
+    private static final int MAX_PAGE_SIZE = 500;
 
-    public PhotosController(PhotoService photoService, ClientRepository clientRepository) {
+    public PhotosController(PhotoService photoService, PhotoUploadService photoUploadService,
+            PhotoCatalogService photoCatalogService, ClientRepository clientRepository) {
         this.photoService = photoService;
+        this.photoUploadService = photoUploadService;
+        this.photoCatalogService = photoCatalogService;
         this.clientRepository = clientRepository;
     }
 
+    // Paginated listing from the photo catalog, e.g. ?prefix=Individual Client Ids/&page=0&size=50
+    @GetMapping("/photos")
+    public ResponseEntity<PhotoCatalogPage> getPhotos(@RequestParam(required = false) String prefix,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(photoCatalogService.findByPrefix(prefix, page, size));
+    }
+
+    @GetMapping("/photos/owner/{ownerType}/{ownerId}")
+    public ResponseEntity<PhotoCatalogPage> getPhotosByOwner(@PathVariable PhotoOwnerType ownerType,
+            @PathVariable Long ownerId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(photoCatalogService.findByOwner(ownerType, ownerId, page, size));
+    }
+
     @PostMapping("/{clientId}/idPhoto")
     public String uploadFile(@RequestParam("file") MultipartFile file, @PathVariable Long clientId) {
         if (file.isEmpty()) {
@@ -44,11 +85,13 @@ public class PhotosController {
                 // Construct custom filename: "ID_FullName" (e.g., "123_JohnDoe")
                 String customFileName = clientId + "_" + individual.getFullName().replaceAll("\\s+", "");
 
-                String publicUrl = photoService.uploadPhoto(file, clientIdsFolderName, customFileName);
+                PhotoUrls urls = photoService.uploadPhotoWithRenditions(file, clientIdsFolderName, customFileName,
+                        new PhotoOwner(PhotoOwnerType.CLIENT, clientId));
+                String publicUrl = urls.url();
 
                 System.out.println("Public URL: " + publicUrl);
 
-                individual.setIdPhotoUrl(publicUrl);
+                applyIdPhotoUrls(individual, urls);
                 clientRepository.save(individual);
                 return "Upload successful! Photo saved to client profile. URL: " + publicUrl;
             } else if (client == null) {
@@ -63,4 +106,60 @@ public class PhotosController {
             return "Upload failed due to server error: " + e.getMessage();
         }
     }
+
+    /**
+     * Same as {@link #uploadFile} but returns 202 as soon as the file is spooled.
+     * Poll /api/photos/uploads/{uploadId}; the client's idPhotoUrl is set when the upload completes.
+     * Upload status is not persisted: after a server restart the poll returns 404 and the
+     * file has to be uploaded again.
+     */
+    @PostMapping("/{clientId}/idPhoto/async")
+    public ResponseEntity<PhotoUploadStatus> uploadFileAsync(@RequestParam("file") MultipartFile file,
+            @PathVariable Long clientId) {
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        Client client = clientRepository.findById(clientId).orElse(null);
+        if (client == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!(client instanceof Individual individual)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        String customFileName = clientId + "_" + individual.getFullName().replaceAll("\\s+", "");
+        try {
+            PhotoUploadStatus status = photoUploadService.submit(file, clientIdsFolderName, customFileName,
+                    new PhotoOwner(PhotoOwnerType.CLIENT, clientId), urls -> saveIdPhotoUrls(clientId, urls));
+            return ResponseEntity.accepted().body(status);
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (IOException e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @GetMapping("/photos/uploads/{uploadId}")
+    public ResponseEntity<PhotoUploadStatus> getUploadStatus(@PathVariable String uploadId) {
+        return photoUploadService.getStatus(uploadId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Re-reads the client: it may have changed while the upload was running
+    private void saveIdPhotoUrls(Long clientId, PhotoUrls urls) {
+        clientRepository.findById(clientId).ifPresent(client -> {
+            if (client instanceof Individual individual) {
+                applyIdPhotoUrls(individual, urls);
+                clientRepository.save(individual);
+            }
+        });
+    }
+
+    private void applyIdPhotoUrls(Individual individual, PhotoUrls urls) {
+        individual.setIdPhotoUrl(urls.url());
+        individual.setIdPhotoDisplayUrl(urls.displayUrl());
+        individual.setIdPhotoThumbnailUrl(urls.thumbnailUrl());
+    }
 }
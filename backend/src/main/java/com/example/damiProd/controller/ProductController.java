@@ -2,6 +2,7 @@ package com.example.damiProd.controller;
 
 import com.example.damiProd.domain.Product;
 import com.example.damiProd.service.ProductService;
+import com.example.damiProd.service.ReferenceDataCache;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -12,9 +13,11 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService productService;
+    private final ReferenceDataCache referenceDataCache;
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, ReferenceDataCache referenceDataCache) {
         this.productService = productService;
+        this.referenceDataCache = referenceDataCache;
     }
 
     @GetMapping
@@ -26,6 +29,7 @@ public class ProductController {
     @PostMapping
     public ResponseEntity<Product> createProduct(@RequestBody Product product) {
         Product savedProduct = productService.saveProduct(product);
+        referenceDataCache.evictProducts();
         return ResponseEntity.ok(savedProduct);
     }
 }
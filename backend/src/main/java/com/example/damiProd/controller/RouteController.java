@@ -1,10 +1,15 @@
 package com.example.damiProd.controller;
 
 import com.example.damiProd.domain.Route;
+import com.example.damiProd.dto.RouteOptimizationResult;
+import com.example.damiProd.service.RouteOptimizationService;
 import com.example.damiProd.service.RouteService;
+import com.example.damiProd.metrics.SqlBudget;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -12,17 +17,22 @@ import java.util.List;
 public class RouteController {
 
     private final RouteService routeService;
+    private final RouteOptimizationService routeOptimizationService;
 
-    public RouteController(RouteService routeService) {
+    public RouteController(RouteService routeService, RouteOptimizationService routeOptimizationService) {
         this.routeService = routeService;
+        this.routeOptimizationService = routeOptimizationService;
     }
 
+    // Routes with tasks and drivers in one query, plus one batched query for the drivers' roles
     @GetMapping
+    @SqlBudget(2)
     public ResponseEntity<List<Route>> getAllRoutes() {
         return ResponseEntity.ok(routeService.getAllRoutes());
     }
 
     @GetMapping("/county/{county}")
+    @SqlBudget(2)
     public ResponseEntity<List<Route>> getRoutesByCounty(@PathVariable String county) {
         return ResponseEntity.ok(routeService.getRoutesByCounty(county));
     }
@@ -41,6 +51,7 @@ public class RouteController {
 
     // Get a specific route by ID (with tasks)
     @GetMapping("/{id}")
+    @SqlBudget(2)
     public ResponseEntity<Route> getRouteById(@PathVariable Long id) {
         Route route = routeService.getRouteById(id);
         return ResponseEntity.ok(route);
@@ -48,6 +59,7 @@ public class RouteController {
 
     // Get all routes for a specific employee (driver)
     @GetMapping("/employee/{employeeId}")
+    @SqlBudget(2)
     public ResponseEntity<List<Route>> getRoutesByEmployee(@PathVariable Long employeeId) {
         List<Route> routes = routeService.getRoutesByEmployeeId(employeeId);
         return ResponseEntity.ok(routes);
@@ -61,4 +73,17 @@ public class RouteController {
         Route updatedRoute = routeService.assignDriverToRoute(routeId, employeeId);
         return ResponseEntity.ok(updatedRoute);
     }
-}
\ No newline at end of file
+
+    // Compute and save the visiting order of a route's tasks
+    @PostMapping("/{id}/optimize")
+    public ResponseEntity<RouteOptimizationResult> optimizeRoute(@PathVariable Long id) {
+        return ResponseEntity.ok(routeOptimizationService.optimizeRoute(id));
+    }
+
+    // Optimize all routes of a day, counties in parallel
+    @PostMapping("/optimize")
+    public ResponseEntity<List<RouteOptimizationResult>> optimizeRoutesOn(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(routeOptimizationService.optimizeRoutesOn(date));
+    }
+}
@@ -3,6 +3,7 @@ package com.example.damiProd.controller;
 import com.example.damiProd.domain.Order;
 import com.example.damiProd.domain.RouteDefinition;
 import com.example.damiProd.service.OrderService;
+import com.example.damiProd.service.ReferenceDataCache;
 import com.example.damiProd.service.RouteDefinitionService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -15,10 +16,13 @@ public class RouteDefinitionController {
 
     private final RouteDefinitionService routeDefinitionService;
     private final OrderService orderService;
+    private final ReferenceDataCache referenceDataCache;
 
-    public RouteDefinitionController(RouteDefinitionService routeDefinitionService, OrderService orderService) {
+    public RouteDefinitionController(RouteDefinitionService routeDefinitionService, OrderService orderService,
+            ReferenceDataCache referenceDataCache) {
         this.routeDefinitionService = routeDefinitionService;
         this.orderService = orderService;
+        this.referenceDataCache = referenceDataCache;
     }
 
     @GetMapping
@@ -28,7 +32,9 @@ public class RouteDefinitionController {
 
     @PostMapping
     public ResponseEntity<RouteDefinition> createRouteDefinition(@RequestBody RouteDefinition routeDefinition) {
-        return ResponseEntity.ok(routeDefinitionService.createRouteDefinition(routeDefinition));
+        RouteDefinition saved = routeDefinitionService.createRouteDefinition(routeDefinition);
+        referenceDataCache.evictRouteDefinitions();
+        return ResponseEntity.ok(saved);
     }
 
     @GetMapping("/{routeId}/orders")
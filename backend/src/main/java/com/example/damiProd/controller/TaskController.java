@@ -2,10 +2,26 @@ package com.example.damiProd.controller;
 
 import com.example.damiProd.domain.Task;
 import com.example.damiProd.domain.TaskStatus;
+import com.example.damiProd.domain.TaskType;
+import com.example.damiProd.dto.OrderTaskStatus;
+import com.example.damiProd.dto.SanitizationRunResult;
+import com.example.damiProd.dto.TaskDispatchRequest;
+import com.example.damiProd.dto.TaskDispatchResult;
+import com.example.damiProd.dto.TaskFilter;
+import com.example.damiProd.dto.TaskPage;
+import com.example.damiProd.dto.TaskStatusSyncResult;
+import com.example.damiProd.dto.TaskStatusTransition;
+import com.example.damiProd.service.SanitizationTaskGenerator;
 import com.example.damiProd.service.TaskService;
+import com.example.damiProd.service.TaskStatusSyncService;
+import com.example.damiProd.metrics.SqlBudget;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -14,20 +30,57 @@ import java.util.Map;
 @RequestMapping("/api/tasks")
 public class TaskController {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_DISPATCH_BATCH = 1000;
+    private static final int MAX_STATUS_LOOKUP = 1000;
+    private static final int MAX_SYNC_BATCH = 500;
+
     private final TaskService taskService;
+    private final TaskStatusSyncService taskStatusSyncService;
+    private final SanitizationTaskGenerator sanitizationTaskGenerator;
 
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, TaskStatusSyncService taskStatusSyncService,
+            SanitizationTaskGenerator sanitizationTaskGenerator) {
         this.taskService = taskService;
+        this.taskStatusSyncService = taskStatusSyncService;
+        this.sanitizationTaskGenerator = sanitizationTaskGenerator;
     }
 
     // Get all tasks
     @GetMapping
+    @SqlBudget(1)
     public ResponseEntity<List<Task>> getAllTasks() {
         return ResponseEntity.ok(taskService.getAllTasks());
     }
 
+    // Get one page of tasks, filtered and ordered by scheduled time (cursor-based)
+    @GetMapping("/page")
+    @SqlBudget(1)
+    public ResponseEntity<TaskPage> getTasksPage(
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) TaskType type,
+            @RequestParam(required = false) String county,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        TaskFilter filter = new TaskFilter(status, type, county, from, to);
+        try {
+            return ResponseEntity.ok(taskService.getTasksPage(filter, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     // Get a specific task by ID
     @GetMapping("/{id}")
+    @SqlBudget(1)
     public ResponseEntity<Task> getTaskById(@PathVariable Long id) {
         Task task = taskService.getTaskById(id);
         return ResponseEntity.ok(task);
@@ -35,6 +88,7 @@ public class TaskController {
 
     // Get all tasks for a specific route
     @GetMapping("/route/{routeId}")
+    @SqlBudget(1)
     public ResponseEntity<List<Task>> getTasksByRoute(@PathVariable Long routeId) {
         List<Task> tasks = taskService.getTasksByRouteId(routeId);
         return ResponseEntity.ok(tasks);
@@ -61,6 +115,33 @@ public class TaskController {
         return ResponseEntity.ok(task);
     }
     
+    // Create tasks for many orders at once; returns one result per requested pair, in request order.
+    // A null entry rejects the whole batch with 400; entries missing orderId/routeId get INVALID_REQUEST.
+    @PostMapping("/from-orders")
+    public ResponseEntity<List<TaskDispatchResult>> createTasksFromOrders(
+            @RequestBody List<@NotNull @Valid TaskDispatchRequest> requests) {
+        if (requests.size() > MAX_DISPATCH_BATCH) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(taskService.createTasksFromOrders(requests));
+    }
+    
+    // Run the recurring sanitization generator now instead of waiting for the hourly run
+    @PostMapping("/sanitization/generate")
+    public ResponseEntity<SanitizationRunResult> generateSanitizationTasks() {
+        return ResponseEntity.ok(sanitizationTaskGenerator.generate(LocalDate.now()));
+    }
+
+    // Dispatch state (hasTask, taskId, routeId, status) of many orders at once, e.g. all rows of the orders screen
+    @PostMapping("/by-orders")
+    @SqlBudget(1)
+    public ResponseEntity<List<OrderTaskStatus>> getTaskStatusByOrders(@RequestBody List<Long> orderIds) {
+        if (orderIds.size() > MAX_STATUS_LOOKUP) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(taskService.getTaskStatusByOrderIds(orderIds));
+    }
+
     // Check if an order has an associated task
     @GetMapping("/order/{orderId}/exists")
     public ResponseEntity<Map<String, Object>> checkOrderHasTask(@PathVariable Long orderId) {
@@ -88,6 +169,16 @@ public class TaskController {
         return ResponseEntity.ok(updatedTask);
     }
 
+    // Replay status changes queued by the driver app while offline; safe to retry
+    @PostMapping("/status/sync")
+    public ResponseEntity<List<TaskStatusSyncResult>> syncTaskStatuses(
+            @RequestBody List<TaskStatusTransition> transitions) {
+        if (transitions.size() > MAX_SYNC_BATCH) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(taskStatusSyncService.sync(transitions));
+    }
+
     // Delete a task
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteTask(@PathVariable Long id) {
@@ -0,0 +1,31 @@
+package com.example.damiProd.controller;
+
+import com.example.damiProd.event.TaskEventFilter;
+import com.example.damiProd.event.TaskEventHub;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/events")
+public class TaskEventController {
+
+    private final TaskEventHub taskEventHub;
+
+    public TaskEventController(TaskEventHub taskEventHub) {
+        this.taskEventHub = taskEventHub;
+    }
+
+    // Stream of task changes (CREATED, STATUS_CHANGED, DELETED), optionally narrowed
+    // to one route, county or driver
+    @GetMapping(value = "/tasks", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeToTasks(
+            @RequestParam(required = false) Long routeId,
+            @RequestParam(required = false) String county,
+            @RequestParam(required = false) Long employeeId) {
+        return taskEventHub.subscribe(new TaskEventFilter(routeId, county, employeeId));
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.damiProd.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-thread switch that keeps read-only transactions on the primary, for callers that must
+ * see their own writes (replication to the replica is asynchronous).
+ *
+ * Inside an HTTP request (see ReadYourWritesFilter) it is turned on by the
+ * {@value #HEADER} header, and automatically once the request has run a write transaction,
+ * so reads later in the same request see it.
+ */
+public final class ReadYourWrites {
+
+    public static final String HEADER = "X-Read-Your-Writes";
+
+    private enum State { REQUEST, PRIMARY }
+
+    private static final ThreadLocal<State> STATE = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    static void beginRequest(boolean primary) {
+        STATE.set(primary ? State.PRIMARY : State.REQUEST);
+    }
+
+    static void endRequest() {
+        STATE.remove();
+    }
+
+    /**
+     * Called when a write transaction gets a connection. Only sticks inside a request, so
+     * pooled threads (scheduler, upload workers) don't stay on the primary forever.
+     */
+    static void noteWrite() {
+        if (STATE.get() == State.REQUEST) {
+            STATE.set(State.PRIMARY);
+        }
+    }
+
+    public static boolean isPrimaryOnly() {
+        return STATE.get() == State.PRIMARY;
+    }
+
+    /**
+     * Runs the action with read-only transactions going to the primary.
+     */
+    public static <T> T call(Supplier<T> action) {
+        State previous = STATE.get();
+        STATE.set(State.PRIMARY);
+        try {
+            return action.get();
+        } finally {
+            if (previous != null) {
+                STATE.set(previous);
+            } else {
+                STATE.remove();
+            }
+        }
+    }
+}
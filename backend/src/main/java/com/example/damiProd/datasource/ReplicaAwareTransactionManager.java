@@ -0,0 +1,60 @@
+package com.example.damiProd.datasource;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JpaTransactionManager that decides at the start of each read-only transaction whether it
+ * reads from the replica, and if so keeps its session from writing to the second-level and
+ * query caches (CacheMode.GET). Otherwise a replica that is behind would put old rows in the
+ * cache, where they would outlive the lag by the region TTL. Cache hits are still served.
+ */
+public class ReplicaAwareTransactionManager extends JpaTransactionManager {
+
+    private final ReplicaRoutingDataSource routingDataSource;
+
+    public ReplicaAwareTransactionManager(ReplicaRoutingDataSource routingDataSource) {
+        this.routingDataSource = routingDataSource;
+    }
+
+    @Override
+    protected void prepareSynchronization(DefaultTransactionStatus status, TransactionDefinition definition) {
+        super.prepareSynchronization(status, definition);
+        if (!status.isNewTransaction() || !status.isNewSynchronization() || !definition.isReadOnly()) {
+            return;
+        }
+
+        boolean replica = routingDataSource.replicaSelectable();
+        Runnable unpin = ReplicaRoutingDataSource.pin(replica);
+        Session session = replica ? currentSession() : null;
+        CacheMode previousCacheMode = session != null ? session.getCacheMode() : null;
+        if (session != null) {
+            session.setCacheMode(CacheMode.GET);
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int completionStatus) {
+                // With open-in-view the session outlives the transaction
+                if (session != null && session.isOpen()) {
+                    session.setCacheMode(previousCacheMode);
+                }
+                unpin.run();
+            }
+        });
+    }
+
+    private Session currentSession() {
+        EntityManagerHolder holder = (EntityManagerHolder) TransactionSynchronizationManager
+                .getResource(obtainEntityManagerFactory());
+        EntityManager entityManager = holder != null ? holder.getEntityManager() : null;
+        return entityManager != null ? entityManager.unwrap(Session.class) : null;
+    }
+}
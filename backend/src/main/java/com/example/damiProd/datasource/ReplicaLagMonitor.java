@@ -0,0 +1,81 @@
+package com.example.damiProd.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Measures how far the replica is behind with a heartbeat row: each check writes the current
+ * time to replica_heartbeat on the primary and reads back what the replica has. The lag is the
+ * last heartbeat written minus the one the replica shows, so it doesn't depend on the
+ * replication technology (or even on the database).
+ *
+ * The replica is only used while the lag is at most datasource.replica.max-lag-ms. It starts
+ * unused until the first heartbeat has made it across, and any error reading it counts as
+ * unusable.
+ */
+public class ReplicaLagMonitor {
+
+    private static final String CREATE_TABLE_SQL =
+            "CREATE TABLE IF NOT EXISTS replica_heartbeat (id INT PRIMARY KEY, beat_millis BIGINT NOT NULL)";
+    private static final String UPDATE_BEAT_SQL = "UPDATE replica_heartbeat SET beat_millis = ? WHERE id = 1";
+    private static final String INSERT_BEAT_SQL = "INSERT INTO replica_heartbeat (id, beat_millis) VALUES (1, ?)";
+    private static final String SELECT_BEAT_SQL = "SELECT beat_millis FROM replica_heartbeat WHERE id = 1";
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final long maxLagMillis;
+
+    private long lastBeatMillis;
+    private volatile long lagMillis = Long.MAX_VALUE;
+    private volatile boolean replicaUsable;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, long maxLagMillis, MeterRegistry meterRegistry) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.maxLagMillis = maxLagMillis;
+        this.primary.execute(CREATE_TABLE_SQL);
+
+        Gauge.builder("datasource.replica.lag", this, m -> m.lagMillis == Long.MAX_VALUE ? Double.NaN : m.lagMillis)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replica.usable", this, m -> m.replicaUsable ? 1 : 0)
+                .register(meterRegistry);
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.heartbeat-interval-ms:1000}")
+    public synchronized void check() {
+        long lag;
+        try {
+            List<Long> seen = replica.queryForList(SELECT_BEAT_SQL, Long.class);
+            lag = seen.isEmpty() || lastBeatMillis == 0 ? Long.MAX_VALUE : Math.max(0, lastBeatMillis - seen.get(0));
+        } catch (DataAccessException e) {
+            lag = Long.MAX_VALUE;
+        }
+        lagMillis = lag;
+        replicaUsable = lag <= maxLagMillis;
+
+        try {
+            long beat = System.currentTimeMillis();
+            if (primary.update(UPDATE_BEAT_SQL, beat) == 0) {
+                primary.update(INSERT_BEAT_SQL, beat);
+            }
+            lastBeatMillis = beat;
+        } catch (DataAccessException e) {
+            // Primary trouble shows up everywhere else; keep the last known beat
+        }
+    }
+}
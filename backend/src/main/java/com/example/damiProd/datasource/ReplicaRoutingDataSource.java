@@ -0,0 +1,72 @@
+package com.example.damiProd.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary.
+ *
+ * Falls back to the primary when the replica is behind by more than the allowed lag
+ * (ReplicaLagMonitor) or when the caller needs its own writes (ReadYourWrites).
+ * Must sit behind a LazyConnectionDataSourceProxy: the transaction's read-only flag is
+ * only known after the transaction manager has asked for a connection.
+ *
+ * With ReplicaAwareTransactionManager the choice is made once when a read-only transaction
+ * begins (see {@link #pin}), so the session's cache mode and the connection always agree.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+    static final String REPLICA = "replica";
+
+    // Replica (true) or primary (false) chosen for the current read-only transaction
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private final ReplicaLagMonitor replicaLagMonitor;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor replicaLagMonitor) {
+        this.replicaLagMonitor = replicaLagMonitor;
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                ReadYourWrites.noteWrite();
+            }
+            return PRIMARY;
+        }
+        Boolean pinned = PINNED.get();
+        boolean replica = pinned != null ? pinned : replicaSelectable();
+        return replica ? REPLICA : PRIMARY;
+    }
+
+    /**
+     * Whether a read-only transaction starting now may read from the replica.
+     */
+    public boolean replicaSelectable() {
+        return !ReadYourWrites.isPrimaryOnly() && replicaLagMonitor.isReplicaUsable();
+    }
+
+    /**
+     * Fixes the target of read-only transactions on this thread until the returned
+     * handle is run; handles restore the previous choice, so they nest.
+     */
+    static Runnable pin(boolean replica) {
+        Boolean previous = PINNED.get();
+        PINNED.set(replica);
+        return () -> {
+            if (previous != null) {
+                PINNED.set(previous);
+            } else {
+                PINNED.remove();
+            }
+        };
+    }
+}
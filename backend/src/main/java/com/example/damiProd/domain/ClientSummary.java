@@ -0,0 +1,114 @@
+package com.example.damiProd.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Flattened, read-only view of a Client: one row per client with the subtype
+ * fields it is usually displayed by, so list and lookup paths avoid the JOINED
+ * inheritance outer joins. Written by ClientService in the same transaction as
+ * the client itself; the id is the client's id.
+ */
+@Entity
+@Table(name = "client_summaries", indexes = {
+        @Index(name = "idx_client_summaries_name_id", columnList = "display_name, id")
+})
+public class ClientSummary implements Persistable<Long> {
+
+    public static final String TYPE_INDIVIDUAL = "individual";
+    public static final String TYPE_COMPANY = "company";
+    public static final String TYPE_CLIENT = "client";
+
+    @Id
+    private Long id;
+
+    // Same values as the JSON type of Client: "individual" or "company" ("client" for the base type)
+    @Column(nullable = false, length = 20)
+    private String type;
+
+    // Full name for individuals, company name for companies
+    @Column(name = "display_name")
+    private String displayName;
+
+    // CNP for individuals, CUI for companies
+    private String taxId;
+
+    private String phone;
+    private String email;
+    private String address;
+
+    @Transient
+    private boolean isNew = true;
+
+    // --- Constructori ---
+    public ClientSummary() {}
+
+    public ClientSummary(Long id) {
+        this.id = id;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    /**
+     * Copies the displayed fields from the client entity.
+     */
+    public void copyFrom(Client client) {
+        if (client instanceof Individual individual) {
+            type = TYPE_INDIVIDUAL;
+            displayName = individual.getFullName();
+            taxId = individual.getCNP();
+        } else if (client instanceof Company company) {
+            type = TYPE_COMPANY;
+            displayName = company.getName();
+            taxId = company.getCUI();
+        } else {
+            type = TYPE_CLIENT;
+            displayName = null;
+            taxId = null;
+        }
+        phone = client.getPhone();
+        email = client.getEmail();
+        address = client.getAddress();
+    }
+
+    // --- Getters ---
+    @Override
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return isNew;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public String getTaxId() {
+        return taxId;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+}
@@ -1,7 +1,11 @@
 package com.example.damiProd.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.example.damiProd.event.EmployeeRoleChangeListener;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -9,6 +13,7 @@ import java.util.Set;
 
 @Entity
 @Table(name = "employees")
+@EntityListeners(EmployeeRoleChangeListener.class)
 public class Employee {
 
     @Id
@@ -26,6 +31,10 @@ public class Employee {
     private String phone;
     private String county;
 
+    // Role ids per employee; the roles themselves come from the EmployeeRole region.
+    // Batched so a list of employees (or of routes with their drivers) loads all roles in one query
+    @BatchSize(size = 100)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ReferenceDataRegions.EMPLOYEE_ROLES)
     @ManyToMany(fetch = FetchType.EAGER, cascade = {CascadeType.PERSIST, CascadeType.MERGE})
     @JoinTable(
         name = "employees_roles_join",
@@ -1,6 +1,7 @@
 package com.example.damiProd.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.example.damiProd.event.EmployeeRoleChangeListener;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -8,12 +9,17 @@ import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.ToString;
 import lombok.EqualsAndHashCode;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
 @Table(name = "employee_roles")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ReferenceDataRegions.EMPLOYEE_ROLE)
+@EntityListeners(EmployeeRoleChangeListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
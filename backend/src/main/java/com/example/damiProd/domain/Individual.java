@@ -18,6 +18,10 @@ public class Individual extends Client {
     // Stores the GCS URL of their ID photo
     private String idPhotoUrl;
 
+    // Downscaled renditions of the ID photo, for previews
+    private String idPhotoDisplayUrl;
+    private String idPhotoThumbnailUrl;
+
     public Individual() {
     }
 
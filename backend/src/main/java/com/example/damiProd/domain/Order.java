@@ -1,6 +1,7 @@
 package com.example.damiProd.domain;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.Setter;
@@ -14,7 +15,14 @@ import jakarta.persistence.JoinColumn;
 @Entity
 @Getter
 @Setter
-@Table(name = "orders")
+// Composite indexes for the order search: each filter column followed by the default sort (date, id)
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_date_id", columnList = "date, id"),
+        @Index(name = "idx_orders_type_date_id", columnList = "order_type, date, id"),
+        @Index(name = "idx_orders_client_date_id", columnList = "client_id, date, id"),
+        @Index(name = "idx_orders_product_date_id", columnList = "product_id, date, id"),
+        @Index(name = "idx_orders_route_def_date_id", columnList = "route_definition_id, date, id")
+})
 public class Order {
 
     @Id
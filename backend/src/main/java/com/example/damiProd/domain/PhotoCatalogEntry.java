@@ -0,0 +1,67 @@
+package com.example.damiProd.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * One stored photo (the original; renditions are referenced by URL).
+ * Mirrors the bucket so listings do not have to walk object storage.
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "photo_catalog", indexes = {
+        @Index(name = "idx_photo_catalog_object_name", columnList = "object_name", unique = true),
+        @Index(name = "idx_photo_catalog_owner", columnList = "owner_type, owner_id, created_at"),
+        // Tell renditions apart from originals when reconciling the bucket
+        @Index(name = "idx_photo_catalog_display_url", columnList = "display_url"),
+        @Index(name = "idx_photo_catalog_thumbnail_url", columnList = "thumbnail_url")
+})
+public class PhotoCatalogEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "object_name", nullable = false, length = 1024)
+    private String objectName;
+
+    // Object name prefix up to and including the last '/', empty for the bucket root
+    @Column(nullable = false, length = 1024)
+    private String folder;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "owner_type")
+    private PhotoOwnerType ownerType;
+
+    @Column(name = "owner_id")
+    private Long ownerId;
+
+    private Long sizeBytes;
+
+    private String contentType;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(length = 2048)
+    private String url;
+
+    @Column(length = 2048)
+    private String displayUrl;
+
+    @Column(length = 2048)
+    private String thumbnailUrl;
+
+    public PhotoCatalogEntry() {
+    }
+
+    public PhotoCatalogEntry(String objectName) {
+        this.objectName = objectName;
+        int slash = objectName.lastIndexOf('/');
+        this.folder = slash >= 0 ? objectName.substring(0, slash + 1) : "";
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.damiProd.domain;
+
+public enum PhotoOwnerType {
+    CLIENT,     // Poza actului de identitate a clientului
+    TASK        // Poză făcută de șofer la o sarcină
+}
@@ -0,0 +1,16 @@
+package com.example.damiProd.domain;
+
+/**
+ * Hibernate second-level cache regions for reference data. Sizes and TTLs are
+ * configured per region in src/main/resources/application.conf.
+ */
+public final class ReferenceDataRegions {
+
+    public static final String PRODUCT = "reference.product";
+    public static final String ROUTE_DEFINITION = "reference.route-definition";
+    public static final String EMPLOYEE_ROLE = "reference.employee-role";
+    public static final String EMPLOYEE_ROLES = "reference.employee-roles";
+
+    private ReferenceDataRegions() {
+    }
+}
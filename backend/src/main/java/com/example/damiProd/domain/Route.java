@@ -8,7 +8,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "routes")
+@Table(name = "routes", indexes = {
+        @Index(name = "idx_routes_county", columnList = "county")
+})
 public class Route {
 
     @Id
@@ -25,6 +27,7 @@ public class Route {
     private Employee employee;
 
     @OneToMany(mappedBy = "route", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("visitOrder ASC, id ASC")
     @JsonIgnoreProperties("route")
     private List<Task> tasks = new ArrayList<>();
     
@@ -6,6 +6,7 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -13,7 +14,16 @@ import java.util.List;
 @Entity
 @Getter
 @Setter
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        // Keyset pagination seeks on (scheduled_time, id); filtered variants lead with the filter column
+        @Index(name = "idx_tasks_sched_id", columnList = "scheduled_time, id"),
+        @Index(name = "idx_tasks_status_sched_id", columnList = "status, scheduled_time, id"),
+        @Index(name = "idx_tasks_type_sched_id", columnList = "type, scheduled_time, id"),
+        @Index(name = "idx_tasks_route_sched_id", columnList = "route_id, scheduled_time, id"),
+        // One generated sanitization per order and day (hand-made tasks have no occurrence date);
+        // also serves the order search has-task EXISTS on order_id
+        @Index(name = "uk_tasks_order_occurrence", columnList = "order_id, occurrence_date", unique = true)
+})
 public class Task {
 
     @Id
@@ -30,11 +40,21 @@ public class Task {
     @Column(nullable = false)
     private TaskStatus status = TaskStatus.NEW;
 
+    // When the status last changed (UTC); offline syncs only apply changes newer than this
+    private LocalDateTime statusChangedAt;
+
+    // Day of the recurring sanitization this task was generated for (SanitizationTaskGenerator);
+    // null for tasks dispatched by hand
+    private LocalDate occurrenceDate;
+
     private String address;
     private String clientName;
     private String clientPhone;
     private String internalNotes;
 
+    // Position of the task in its route's visiting order, set by the route optimizer
+    private Integer visitOrder;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "route_id")
     @JsonIgnore
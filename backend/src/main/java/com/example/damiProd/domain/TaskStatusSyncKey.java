@@ -0,0 +1,76 @@
+package com.example.damiProd.domain;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Idempotency key of a status transition already received from a driver's
+ * device. Replays carrying the same key are discarded.
+ */
+@Entity
+@Table(name = "task_status_sync_keys", indexes = {
+        @Index(name = "idx_task_status_sync_keys_received", columnList = "received_at")
+})
+public class TaskStatusSyncKey implements Persistable<String> {
+
+    @Id
+    @Column(length = 100)
+    private String idempotencyKey;
+
+    private Long taskId;
+
+    @Enumerated(EnumType.STRING)
+    private TaskStatus status;
+
+    @Column(name = "received_at", nullable = false)
+    private LocalDateTime receivedAt;
+
+    // Keys are always new when created here; avoids a SELECT-before-INSERT merge on save
+    @Transient
+    private boolean isNew = true;
+
+    // --- Constructori ---
+    public TaskStatusSyncKey() {}
+
+    public TaskStatusSyncKey(String idempotencyKey, Long taskId, TaskStatus status, LocalDateTime receivedAt) {
+        this.idempotencyKey = idempotencyKey;
+        this.taskId = taskId;
+        this.status = status;
+        this.receivedAt = receivedAt;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    // --- Getters ---
+    @Override
+    public String getId() {
+        return idempotencyKey;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getReceivedAt() {
+        return receivedAt;
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.damiProd.dto;
+
+/**
+ * Hit/miss counters of one second-level cache region since startup.
+ * elementsInMemory is -1 when the cache provider does not report it.
+ */
+public record CacheRegionStats(String region, long hits, long misses, long puts, long elementsInMemory) {
+}
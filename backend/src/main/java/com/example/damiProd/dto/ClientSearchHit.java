@@ -0,0 +1,8 @@
+package com.example.damiProd.dto;
+
+/**
+ * Typeahead result. type is "individual" or "company" (same as the JSON type of Client);
+ * name is the full name or company name, taxId the CNP or CUI.
+ */
+public record ClientSearchHit(Long id, String type, String name, String taxId, String phone, String email) {
+}
@@ -0,0 +1,11 @@
+package com.example.damiProd.dto;
+
+import com.example.damiProd.domain.ClientSummary;
+
+import java.util.List;
+
+/**
+ * One page of client summaries. No total count is computed, only whether another page exists.
+ */
+public record ClientSummaryPage(List<ClientSummary> items, int page, int size, boolean hasNext) {
+}
@@ -0,0 +1,10 @@
+package com.example.damiProd.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Everything a driver needs for one day, in a single flat payload.
+ */
+public record DriverDaySheet(Long employeeId, LocalDate date, List<DriverDayStop> stops) {
+}
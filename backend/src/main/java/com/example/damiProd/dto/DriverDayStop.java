@@ -0,0 +1,33 @@
+package com.example.damiProd.dto;
+
+import com.example.damiProd.domain.TaskStatus;
+import com.example.damiProd.domain.TaskType;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One row of a driver's day sheet: a task together with its route and the
+ * contact/coordinates of the originating order. Task and order fields are
+ * null for a route that has no tasks yet.
+ *
+ * Built directly by a JPQL constructor expression, so the constructor
+ * signature must match RouteRepository.findDaySheet.
+ */
+public record DriverDayStop(
+        Long routeId,
+        LocalDate routeDate,
+        String county,
+        Long taskId,
+        TaskType taskType,
+        TaskStatus taskStatus,
+        LocalDateTime scheduledTime,
+        String address,
+        String clientName,
+        String clientPhone,
+        String internalNotes,
+        Long orderId,
+        String locationCoordinates,
+        String orderContact,
+        String clientEmail) {
+}
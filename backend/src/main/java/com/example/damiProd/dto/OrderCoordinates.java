@@ -0,0 +1,7 @@
+package com.example.damiProd.dto;
+
+/**
+ * Order id with its raw "lat,long" string, used to build the spatial index.
+ */
+public record OrderCoordinates(Long orderId, String locationCoordinates) {
+}
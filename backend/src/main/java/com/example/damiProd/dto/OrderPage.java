@@ -0,0 +1,11 @@
+package com.example.damiProd.dto;
+
+import com.example.damiProd.domain.Order;
+
+import java.util.List;
+
+/**
+ * One page of the order search, with client, product and route definition loaded.
+ */
+public record OrderPage(List<Order> items, int page, int size, long totalElements) {
+}
@@ -0,0 +1,12 @@
+package com.example.damiProd.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Optional filters for the order search. Null fields are ignored.
+ * The date range is inclusive on both ends and applies to Order.date.
+ * hasTask filters on whether a task was already created from the order.
+ */
+public record OrderSearchFilter(String orderType, LocalDate from, LocalDate to, Long clientId, Long productId,
+        Long routeDefinitionId, Boolean hasTask) {
+}
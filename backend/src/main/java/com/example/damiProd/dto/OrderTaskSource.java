@@ -0,0 +1,8 @@
+package com.example.damiProd.dto;
+
+/**
+ * The order fields a task is created from, read without loading the order's client.
+ */
+public record OrderTaskSource(Long orderId, String orderType, String locationCoordinates, String details,
+        Long clientId) {
+}
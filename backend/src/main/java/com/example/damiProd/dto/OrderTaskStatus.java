@@ -0,0 +1,19 @@
+package com.example.damiProd.dto;
+
+import com.example.damiProd.domain.TaskStatus;
+
+/**
+ * Dispatch state of one order: its dispatched task, if any, with the task's route and status.
+ * Generated sanitization occurrences are not the order's task and are not reported here.
+ */
+public record OrderTaskStatus(Long orderId, boolean hasTask, Long taskId, Long routeId, TaskStatus status) {
+
+    // Used by the JPQL projection, which only returns orders that have a task
+    public OrderTaskStatus(Long orderId, Long taskId, Long routeId, TaskStatus status) {
+        this(orderId, true, taskId, routeId, status);
+    }
+
+    public static OrderTaskStatus none(Long orderId) {
+        return new OrderTaskStatus(orderId, false, null, null, null);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.damiProd.dto;
+
+import com.example.damiProd.domain.PhotoCatalogEntry;
+
+import java.util.List;
+
+/**
+ * One page of catalog entries. No total count is computed, only whether another page exists.
+ */
+public record PhotoCatalogPage(List<PhotoCatalogEntry> items, int page, int size, boolean hasNext) {
+}
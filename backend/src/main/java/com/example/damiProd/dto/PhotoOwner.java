@@ -0,0 +1,9 @@
+package com.example.damiProd.dto;
+
+import com.example.damiProd.domain.PhotoOwnerType;
+
+/**
+ * The record a photo belongs to, e.g. (CLIENT, 12).
+ */
+public record PhotoOwner(PhotoOwnerType type, Long id) {
+}
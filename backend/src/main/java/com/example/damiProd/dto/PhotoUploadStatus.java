@@ -0,0 +1,18 @@
+package com.example.damiProd.dto;
+
+import java.time.Instant;
+
+/**
+ * Progress of an asynchronous photo upload. The URLs are set once the file is in storage;
+ * the rendition URLs stay null if the file could not be decoded as an image.
+ */
+public record PhotoUploadStatus(String uploadId, State state, String url, String displayUrl, String thumbnailUrl,
+        String error, int attempts, Instant createdAt) {
+
+    public enum State {
+        QUEUED,
+        UPLOADING,
+        COMPLETED,
+        FAILED
+    }
+}
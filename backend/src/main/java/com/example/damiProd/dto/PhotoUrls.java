@@ -0,0 +1,8 @@
+package com.example.damiProd.dto;
+
+/**
+ * Public URLs of an uploaded photo and its renditions. displayUrl and
+ * thumbnailUrl are null when the upload could not be decoded as an image.
+ */
+public record PhotoUrls(String url, String displayUrl, String thumbnailUrl) {
+}
@@ -0,0 +1,15 @@
+package com.example.damiProd.dto;
+
+import java.util.List;
+
+/**
+ * Visiting order computed for one route. Tasks without usable coordinates
+ * keep their relative order and are placed after the located ones.
+ */
+public record RouteOptimizationResult(
+        Long routeId,
+        List<Long> orderedTaskIds,
+        double distanceBeforeKm,
+        double distanceAfterKm,
+        int unlocatedTasks) {
+}
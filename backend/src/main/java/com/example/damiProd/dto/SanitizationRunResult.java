@@ -0,0 +1,10 @@
+package com.example.damiProd.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Outcome of one sanitization generator run over [from, to].
+ */
+public record SanitizationRunResult(LocalDate from, LocalDate to, int activeOrders, int partitions,
+        int tasksCreated, long durationMs) {
+}
@@ -0,0 +1,21 @@
+package com.example.damiProd.dto;
+
+/**
+ * What the sanitization generator needs from an order with igienizariPerMonth > 0:
+ * its schedule, the route definition city it is partitioned by, and the client
+ * fields copied onto each task. startDate/endDate are the raw strings stored on Order.
+ */
+public record SanitizationSchedule(
+        Long orderId,
+        String startDate,
+        String endDate,
+        Boolean isIndefinite,
+        Integer durationDays,
+        Integer igienizariPerMonth,
+        String city,
+        String locationCoordinates,
+        String details,
+        String clientName,
+        String clientPhone,
+        String clientAddress) {
+}
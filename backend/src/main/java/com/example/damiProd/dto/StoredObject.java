@@ -0,0 +1,9 @@
+package com.example.damiProd.dto;
+
+import java.time.Instant;
+
+/**
+ * Metadata of one object as reported by object storage.
+ */
+public record StoredObject(String name, Long sizeBytes, String contentType, Instant createdAt) {
+}
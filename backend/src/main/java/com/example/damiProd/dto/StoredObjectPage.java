@@ -0,0 +1,9 @@
+package com.example.damiProd.dto;
+
+import java.util.List;
+
+/**
+ * One page of a bucket listing. nextPageToken is null on the last page.
+ */
+public record StoredObjectPage(List<StoredObject> objects, String nextPageToken) {
+}
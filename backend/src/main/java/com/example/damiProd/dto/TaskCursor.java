@@ -0,0 +1,33 @@
+package com.example.damiProd.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Position of the last task returned on a page, used to seek to the next one.
+ * Tasks are ordered by (scheduledTime ASC NULLS LAST, id ASC), so a null
+ * scheduledTime means the cursor is already inside the trailing unscheduled tasks.
+ */
+public record TaskCursor(LocalDateTime scheduledTime, long id) {
+
+    private static final String NULL_TIME = "-";
+
+    public String encode() {
+        String time = scheduledTime != null ? scheduledTime.toString() : NULL_TIME;
+        String raw = time + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            String time = raw.substring(0, separator);
+            long id = Long.parseLong(raw.substring(separator + 1));
+            return new TaskCursor(NULL_TIME.equals(time) ? null : LocalDateTime.parse(time), id);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+}
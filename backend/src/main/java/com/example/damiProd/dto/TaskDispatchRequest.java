@@ -0,0 +1,7 @@
+package com.example.damiProd.dto;
+
+/**
+ * One (order, route) pair of a bulk dispatch request.
+ */
+public record TaskDispatchRequest(Long orderId, Long routeId) {
+}
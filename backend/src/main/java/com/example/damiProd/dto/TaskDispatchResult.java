@@ -0,0 +1,20 @@
+package com.example.damiProd.dto;
+
+/**
+ * Outcome of dispatching one order; taskId is set only when a task was created.
+ */
+public record TaskDispatchResult(Long orderId, Long routeId, Long taskId, Outcome outcome) {
+
+    public enum Outcome {
+        CREATED,
+        INVALID_REQUEST,
+        DUPLICATE_IN_REQUEST,
+        ALREADY_HAS_TASK,
+        ORDER_NOT_FOUND,
+        ROUTE_NOT_FOUND
+    }
+
+    public static TaskDispatchResult rejected(TaskDispatchRequest request, Outcome outcome) {
+        return new TaskDispatchResult(request.orderId(), request.routeId(), null, outcome);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.damiProd.dto;
+
+import com.example.damiProd.domain.TaskStatus;
+import com.example.damiProd.domain.TaskType;
+
+import java.time.LocalDate;
+
+/**
+ * Optional filters for the paginated task listing. Null fields are ignored.
+ * The date range is inclusive on both ends and applies to scheduledTime.
+ */
+public record TaskFilter(TaskStatus status, TaskType type, String county, LocalDate from, LocalDate to) {
+}
@@ -0,0 +1,8 @@
+package com.example.damiProd.dto;
+
+/**
+ * The location-related fields of a task, loaded without materializing the
+ * Task and Order entities. Used by the route sequence optimizer.
+ */
+public record TaskLocation(Long taskId, Long routeId, String county, String orderCoordinates, String address) {
+}
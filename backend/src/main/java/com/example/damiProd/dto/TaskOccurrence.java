@@ -0,0 +1,9 @@
+package com.example.damiProd.dto;
+
+import java.time.LocalDate;
+
+/**
+ * A generated sanitization occurrence: the order it belongs to and its day.
+ */
+public record TaskOccurrence(Long orderId, LocalDate occurrenceDate) {
+}
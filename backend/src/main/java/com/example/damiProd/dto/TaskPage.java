@@ -0,0 +1,11 @@
+package com.example.damiProd.dto;
+
+import com.example.damiProd.domain.Task;
+
+import java.util.List;
+
+/**
+ * One page of tasks. nextCursor is null when there are no more results.
+ */
+public record TaskPage(List<Task> items, String nextCursor) {
+}
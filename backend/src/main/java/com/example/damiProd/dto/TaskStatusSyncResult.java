@@ -0,0 +1,17 @@
+package com.example.damiProd.dto;
+
+/**
+ * What happened to one transition of a sync batch.
+ */
+public record TaskStatusSyncResult(String idempotencyKey, Long taskId, Outcome outcome) {
+
+    public enum Outcome {
+        APPLIED,
+        // A change with a later device timestamp was already applied
+        STALE,
+        DUPLICATE,
+        TASK_NOT_FOUND,
+        // Malformed, or timestamped too far ahead of the server clock
+        INVALID
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.damiProd.dto;
+
+import com.example.damiProd.domain.TaskStatus;
+
+import java.time.Instant;
+
+/**
+ * A status change recorded on a driver's device, possibly while offline.
+ * The idempotency key is generated by the device and must be unique per change.
+ */
+public record TaskStatusTransition(String idempotencyKey, Long taskId, TaskStatus status, Instant deviceTimestamp) {
+}
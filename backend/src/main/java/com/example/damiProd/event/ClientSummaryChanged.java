@@ -0,0 +1,19 @@
+package com.example.damiProd.event;
+
+import com.example.damiProd.domain.ClientSummary;
+
+/**
+ * A client was saved (summary set) or deleted (summary null). Published by ClientService;
+ * ClientSearchIndex applies it once the surrounding transaction commits, so a rolled-back
+ * save or delete never reaches the index.
+ */
+public record ClientSummaryChanged(Long clientId, ClientSummary summary) {
+
+    public static ClientSummaryChanged saved(ClientSummary summary) {
+        return new ClientSummaryChanged(summary.getId(), summary);
+    }
+
+    public static ClientSummaryChanged deleted(Long clientId) {
+        return new ClientSummaryChanged(clientId, null);
+    }
+}
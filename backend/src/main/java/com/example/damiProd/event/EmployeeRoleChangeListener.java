@@ -0,0 +1,38 @@
+package com.example.damiProd.event;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * JPA entity listener on Employee and EmployeeRole. Hibernate creates it through Spring's
+ * bean container, which sets the publisher; the no-arg constructor keeps the reflective
+ * fallback working where that is not possible. The callbacks run before commit, so they
+ * only publish EmployeeRolesChanged and the actual invalidation waits for the commit.
+ *
+ * Changes that only touch the roles collection do not fire these callbacks;
+ * EmployeeService invalidates explicitly for those.
+ */
+public class EmployeeRoleChangeListener {
+
+    private ApplicationEventPublisher eventPublisher;
+
+    public EmployeeRoleChangeListener() {
+    }
+
+    @Autowired
+    public void setEventPublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void entityChanged(Object entity) {
+        if (eventPublisher != null) {
+            eventPublisher.publishEvent(new EmployeeRolesChanged(entity.getClass()));
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.damiProd.event;
+
+/**
+ * An Employee or EmployeeRole row was written. Published by EmployeeRoleChangeListener and
+ * EmployeeService;
+ * EmployeeRoleIndex drops its cache once the surrounding transaction commits.
+ */
+public record EmployeeRolesChanged(Class<?> entityType) {
+}
@@ -0,0 +1,42 @@
+package com.example.damiProd.event;
+
+import com.example.damiProd.domain.Route;
+import com.example.damiProd.domain.Task;
+import com.example.damiProd.domain.TaskStatus;
+
+import java.time.Instant;
+
+/**
+ * A change to a task, published by TaskService and pushed to subscribers
+ * after the surrounding transaction commits.
+ */
+public record TaskEvent(
+        Type type,
+        Long taskId,
+        Long routeId,
+        String county,
+        Long employeeId,
+        TaskStatus status,
+        Instant timestamp) {
+
+    public enum Type {
+        CREATED,
+        STATUS_CHANGED,
+        DELETED
+    }
+
+    /**
+     * Must be called while the task's route can still be loaded (inside the transaction).
+     */
+    public static TaskEvent of(Type type, Task task) {
+        Route route = task.getRoute();
+        return new TaskEvent(
+                type,
+                task.getId(),
+                route != null ? route.getId() : null,
+                route != null ? route.getCounty() : null,
+                route != null ? route.getEmployeeId() : null,
+                task.getStatus(),
+                Instant.now());
+    }
+}
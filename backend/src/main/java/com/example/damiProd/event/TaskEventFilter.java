@@ -0,0 +1,16 @@
+package com.example.damiProd.event;
+
+import java.util.Objects;
+
+/**
+ * Which task events a subscriber wants. Null fields match anything,
+ * so an empty filter receives every event.
+ */
+public record TaskEventFilter(Long routeId, String county, Long employeeId) {
+
+    public boolean matches(TaskEvent event) {
+        return (routeId == null || Objects.equals(routeId, event.routeId()))
+                && (county == null || county.equalsIgnoreCase(event.county()))
+                && (employeeId == null || Objects.equals(employeeId, event.employeeId()));
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.damiProd.event;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fans task events out to Server-Sent Events subscribers.
+ *
+ * Publishing never blocks: each subscriber has a bounded queue drained by its
+ * own virtual thread. A subscriber whose queue fills up is disconnected, and
+ * the client is expected to reconnect and reload its data.
+ *
+ * An idle subscriber is sent a comment every HEARTBEAT_INTERVAL. That keeps proxies
+ * from closing the connection, and a client that went away without closing it is
+ * noticed when that send fails, instead of holding its queue and thread until the timeout.
+ */
+@Component
+public class TaskEventHub {
+
+    private static final int BUFFER_SIZE = 256;
+    private static final long TIMEOUT_MS = Duration.ofMinutes(30).toMillis();
+    private static final Duration HEARTBEAT_INTERVAL = Duration.ofSeconds(20);
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final long heartbeatMillis;
+
+    public TaskEventHub() {
+        this(HEARTBEAT_INTERVAL);
+    }
+
+    TaskEventHub(Duration heartbeatInterval) {
+        this.heartbeatMillis = heartbeatInterval.toMillis();
+    }
+
+    public SseEmitter subscribe(TaskEventFilter filter) {
+        SseEmitter emitter = new SseEmitter(TIMEOUT_MS);
+        Subscriber subscriber = new Subscriber(filter, emitter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+        subscribers.add(subscriber);
+        subscriber.start();
+        return emitter;
+    }
+
+    // Runs after commit so clients never see a change that was rolled back
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskEvent(TaskEvent event) {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.filter.matches(event)) {
+                subscriber.offer(event);
+            }
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    private final class Subscriber {
+        private final TaskEventFilter filter;
+        private final SseEmitter emitter;
+        private final BlockingQueue<TaskEvent> queue = new ArrayBlockingQueue<>(BUFFER_SIZE);
+        private volatile boolean closed;
+        private Thread sender;
+
+        Subscriber(TaskEventFilter filter, SseEmitter emitter) {
+            this.filter = filter;
+            this.emitter = emitter;
+        }
+
+        void start() {
+            sender = Thread.ofVirtual().name("task-events-sse").start(this::drain);
+        }
+
+        void offer(TaskEvent event) {
+            if (!queue.offer(event)) {
+                close();
+            }
+        }
+
+        void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            subscribers.remove(this);
+            if (sender != null) {
+                sender.interrupt();
+            }
+        }
+
+        private void drain() {
+            try {
+                while (!closed) {
+                    TaskEvent event = queue.poll(heartbeatMillis, TimeUnit.MILLISECONDS);
+                    if (event == null) {
+                        emitter.send(SseEmitter.event().comment(""));
+                        continue;
+                    }
+                    emitter.send(SseEmitter.event()
+                            .name(event.type().name())
+                            .data(event));
+                }
+            } catch (InterruptedException e) {
+                // Closed by the hub
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; a failed heartbeat ends up here too
+            } finally {
+                close();
+                try {
+                    emitter.complete();
+                } catch (IllegalStateException e) {
+                    // Already completed
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package com.example.damiProd.geo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory spatial index of id -> (lat, lng) on a fixed-size lat/lng grid.
+ *
+ * Each cell keeps its points in parallel primitive arrays, so a query only
+ * touches the cells overlapping the search area and never boxes coordinates.
+ * Reads run concurrently; writes take an exclusive lock. Columns wrap at the
+ * antimeridian, and a search area containing a pole covers every column.
+ */
+public final class GeoGridIndex {
+
+    private static final Comparator<GeoHit> BY_DISTANCE = Comparator.comparingDouble(GeoHit::distanceKm);
+
+    // Rounded so whole rows and columns tile the globe; 180 and -180 fall in the same column
+    private final long latRows;
+    private final long lngColumns;
+    private final double latCellDegrees;
+    private final double lngCellDegrees;
+    private final Map<Long, Cell> cells = new HashMap<>();
+    private final Map<Long, Long> cellOfId = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public GeoGridIndex(double cellDegrees) {
+        this.latRows = (long) Math.ceil(180 / cellDegrees - 1e-9);
+        this.lngColumns = (long) Math.ceil(360 / cellDegrees - 1e-9);
+        this.latCellDegrees = 180.0 / latRows;
+        this.lngCellDegrees = 360.0 / lngColumns;
+    }
+
+    /**
+     * Adds the point or moves it if the id is already indexed.
+     */
+    public void put(long id, double lat, double lng) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            long key = cellKey(latIndex(lat), lngIndex(lng));
+            cells.computeIfAbsent(key, k -> new Cell()).add(id, lat, lng);
+            cellOfId.put(id, key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(long id) {
+        lock.writeLock().lock();
+        try {
+            return removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            cells.clear();
+            cellOfId.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return cellOfId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * All points within {@code radiusKm} of the query point, closest first,
+     * truncated to {@code limit}.
+     */
+    public List<GeoHit> withinRadius(double lat, double lng, double radiusKm, int limit) {
+        double angle = radiusKm / GeoPoint.EARTH_RADIUS_KM;
+        double latDelta = Math.toDegrees(angle);
+        long minLat = latIndex(Math.max(-90, lat - latDelta));
+        long maxLat = latIndex(Math.min(90, lat + latDelta));
+        // Widest longitude span of the circle; all of them once it contains a pole
+        long minLng = 0;
+        long lngCount = lngColumns;
+        if (Math.abs(lat) + latDelta < 90) {
+            double lngDelta = Math.toDegrees(Math.asin(Math.sin(angle) / Math.cos(Math.toRadians(lat))));
+            minLng = unwrappedLngIndex(lng - lngDelta);
+            lngCount = Math.min(unwrappedLngIndex(lng + lngDelta) - minLng + 1, lngColumns);
+        }
+
+        List<GeoHit> hits = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            long cellsInBox = (maxLat - minLat + 1) * lngCount;
+            if (cellsInBox > cells.size()) {
+                // Large radius over a sparse grid: cheaper to walk the occupied cells
+                for (Cell cell : cells.values()) {
+                    cell.collectWithin(lat, lng, radiusKm, hits);
+                }
+            } else {
+                for (long i = minLat; i <= maxLat; i++) {
+                    for (long j = minLng; j < minLng + lngCount; j++) {
+                        Cell cell = cells.get(cellKey(i, Math.floorMod(j, lngColumns)));
+                        if (cell != null) {
+                            cell.collectWithin(lat, lng, radiusKm, hits);
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        hits.sort(BY_DISTANCE);
+        return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+    }
+
+    /**
+     * The {@code k} points closest to the query point, closest first.
+     * Scans rings of cells outwards until no unscanned cell can hold a closer point.
+     */
+    public List<GeoHit> nearest(double lat, double lng, int k) {
+        if (k <= 0) {
+            return List.of();
+        }
+        PriorityQueue<GeoHit> best = new PriorityQueue<>(k, BY_DISTANCE.reversed());
+
+        lock.readLock().lock();
+        try {
+            long centerLat = latIndex(lat);
+            long centerLng = lngIndex(lng);
+            int scanned = 0;
+            int total = cellOfId.size();
+
+            for (long ring = 0; scanned < total; ring++) {
+                if (8 * ring > cells.size() || 2 * ring + 1 > lngColumns) {
+                    // Ring perimeter exceeds occupied cells, or the ring wraps onto itself: finish with a full scan
+                    best.clear();
+                    for (Cell cell : cells.values()) {
+                        cell.collectNearest(lat, lng, k, best);
+                    }
+                    break;
+                }
+                for (long i = centerLat - ring; i <= centerLat + ring; i++) {
+                    if (i < 0 || i >= latRows) {
+                        continue;
+                    }
+                    boolean edgeRow = i == centerLat - ring || i == centerLat + ring;
+                    long step = edgeRow || ring == 0 ? 1 : 2 * ring;
+                    for (long j = centerLng - ring; j <= centerLng + ring; j += step) {
+                        Cell cell = cells.get(cellKey(i, Math.floorMod(j, lngColumns)));
+                        if (cell != null) {
+                            scanned += cell.size;
+                            cell.collectNearest(lat, lng, k, best);
+                        }
+                    }
+                }
+                if (best.size() == k && best.peek().distanceKm() <= unscannedDistanceKm(lat, ring)) {
+                    break;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        GeoHit[] sorted = best.toArray(new GeoHit[0]);
+        Arrays.sort(sorted, BY_DISTANCE);
+        return Arrays.asList(sorted);
+    }
+
+    /**
+     * Lower bound on the distance to any point outside rings 0..ring. Such a point is at least
+     * {@code ring} rows away in latitude or {@code ring} columns away in longitude, and the closest
+     * point that far away in longitude lies on a meridian: asin(cos(lat) * sin(dLng)) radians.
+     */
+    private double unscannedDistanceKm(double lat, long ring) {
+        double latGap = Math.toRadians(ring * latCellDegrees);
+        double lngGap = Math.toRadians(Math.min(90, ring * lngCellDegrees));
+        double meridianGap = Math.asin(Math.cos(Math.toRadians(lat)) * Math.sin(lngGap));
+        return GeoPoint.EARTH_RADIUS_KM * Math.min(latGap, meridianGap);
+    }
+
+    private boolean removeInternal(long id) {
+        Long key = cellOfId.remove(id);
+        if (key == null) {
+            return false;
+        }
+        Cell cell = cells.get(key);
+        cell.remove(id);
+        if (cell.size == 0) {
+            cells.remove(key);
+        }
+        return true;
+    }
+
+    // 90 belongs to the top row rather than a row of its own
+    private long latIndex(double lat) {
+        return Math.min((long) Math.floor((lat + 90) / latCellDegrees), latRows - 1);
+    }
+
+    private long lngIndex(double lng) {
+        return Math.floorMod(unwrappedLngIndex(lng), lngColumns);
+    }
+
+    // May fall outside 0..lngColumns-1 for longitudes past the antimeridian; floorMod wraps it
+    private long unwrappedLngIndex(double lng) {
+        return (long) Math.floor((lng + 180) / lngCellDegrees);
+    }
+
+    private long cellKey(long latIndex, long lngIndex) {
+        return latIndex * lngColumns + lngIndex;
+    }
+
+    private static final class Cell {
+        private long[] ids = new long[4];
+        private double[] lats = new double[4];
+        private double[] lngs = new double[4];
+        private int size;
+
+        void add(long id, double lat, double lng) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                lats = Arrays.copyOf(lats, size * 2);
+                lngs = Arrays.copyOf(lngs, size * 2);
+            }
+            ids[size] = id;
+            lats[size] = lat;
+            lngs[size] = lng;
+            size++;
+        }
+
+        void remove(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    // Swap with the last entry; order inside a cell does not matter
+                    size--;
+                    ids[i] = ids[size];
+                    lats[i] = lats[size];
+                    lngs[i] = lngs[size];
+                    return;
+                }
+            }
+        }
+
+        void collectWithin(double lat, double lng, double radiusKm, List<GeoHit> out) {
+            for (int i = 0; i < size; i++) {
+                double d = GeoPoint.haversineKm(lat, lng, lats[i], lngs[i]);
+                if (d <= radiusKm) {
+                    out.add(new GeoHit(ids[i], lats[i], lngs[i], d));
+                }
+            }
+        }
+
+        void collectNearest(double lat, double lng, int k, PriorityQueue<GeoHit> best) {
+            for (int i = 0; i < size; i++) {
+                double d = GeoPoint.haversineKm(lat, lng, lats[i], lngs[i]);
+                if (best.size() < k) {
+                    best.add(new GeoHit(ids[i], lats[i], lngs[i], d));
+                } else if (d < best.peek().distanceKm()) {
+                    best.poll();
+                    best.add(new GeoHit(ids[i], lats[i], lngs[i], d));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.damiProd.geo;
+
+/**
+ * A point returned by a spatial query, with its distance from the query point.
+ */
+public record GeoHit(long id, double latitude, double longitude, double distanceKm) {
+}
@@ -0,0 +1,58 @@
+package com.example.damiProd.geo;
+
+import com.example.damiProd.domain.Location;
+
+import java.util.Optional;
+
+/**
+ * A WGS84 coordinate pair in decimal degrees.
+ */
+public record GeoPoint(double latitude, double longitude) {
+
+    static final double EARTH_RADIUS_KM = 6371.0088;
+
+    /**
+     * Parses the "lat,long" format used by Order.locationCoordinates.
+     * Returns empty for null, blank, malformed or out-of-range input,
+     * so free-text addresses can be passed in safely.
+     */
+    public static Optional<GeoPoint> parse(String latLong) {
+        if (latLong == null) {
+            return Optional.empty();
+        }
+        int comma = latLong.indexOf(',');
+        if (comma < 0 || comma != latLong.lastIndexOf(',')) {
+            return Optional.empty();
+        }
+        try {
+            double lat = Double.parseDouble(latLong.substring(0, comma).trim());
+            double lng = Double.parseDouble(latLong.substring(comma + 1).trim());
+            if (lat < -90 || lat > 90 || lng < -180 || lng > 180) {
+                return Optional.empty();
+            }
+            return Optional.of(new GeoPoint(lat, lng));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    public static GeoPoint of(Location.Coordinates coordinates) {
+        return new GeoPoint(coordinates.getLatitude(), coordinates.getLongitude());
+    }
+
+    public double distanceKm(GeoPoint other) {
+        return haversineKm(latitude, longitude, other.latitude, other.longitude);
+    }
+
+    /**
+     * Great-circle distance between two points, in kilometres.
+     */
+    public static double haversineKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+}
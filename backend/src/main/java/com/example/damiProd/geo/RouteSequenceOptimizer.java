@@ -0,0 +1,192 @@
+package com.example.damiProd.geo;
+
+/**
+ * Computes a short visiting order for the stops of one route.
+ *
+ * The route is treated as an open path (drivers do not have to return to the
+ * first stop). A nearest-neighbour tour is used as the seed and then improved
+ * with 2-opt segment reversals and Or-opt segment moves until neither finds an
+ * improving move or the pass limit is reached. The seed can be worse than the order
+ * the dispatcher entered, so that order is returned whenever the result is not shorter.
+ */
+public final class RouteSequenceOptimizer {
+
+    private static final int MAX_PASSES = 50;
+    private static final int MAX_OR_OPT_SEGMENT = 3;
+    private static final double EPSILON = 1e-9;
+
+    private RouteSequenceOptimizer() {
+    }
+
+    /**
+     * @return a permutation of {@code 0..n-1} giving the visiting order, never longer than {@code 0..n-1}
+     */
+    public static int[] optimize(double[] lat, double[] lng) {
+        int n = lat.length;
+        int[] identity = new int[n];
+        for (int i = 0; i < n; i++) {
+            identity[i] = i;
+        }
+        if (n <= 2) {
+            return identity;
+        }
+
+        double[][] dist = distanceMatrix(lat, lng);
+        int[] tour = nearestNeighbour(dist);
+
+        for (int pass = 0; pass < MAX_PASSES; pass++) {
+            boolean improved = twoOpt(tour, dist);
+            improved |= orOpt(tour, dist);
+            if (!improved) {
+                break;
+            }
+        }
+        return pathLength(tour, dist) < pathLength(identity, dist) - EPSILON ? tour : identity;
+    }
+
+    /**
+     * Length in kilometres of the open path visiting the points in the given order.
+     */
+    public static double pathLengthKm(double[] lat, double[] lng, int[] order) {
+        double total = 0;
+        for (int i = 1; i < order.length; i++) {
+            total += GeoPoint.haversineKm(lat[order[i - 1]], lng[order[i - 1]], lat[order[i]], lng[order[i]]);
+        }
+        return total;
+    }
+
+    private static double pathLength(int[] order, double[][] dist) {
+        double total = 0;
+        for (int i = 1; i < order.length; i++) {
+            total += dist[order[i - 1]][order[i]];
+        }
+        return total;
+    }
+
+    private static double[][] distanceMatrix(double[] lat, double[] lng) {
+        int n = lat.length;
+        double[][] dist = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                double d = GeoPoint.haversineKm(lat[i], lng[i], lat[j], lng[j]);
+                dist[i][j] = d;
+                dist[j][i] = d;
+            }
+        }
+        return dist;
+    }
+
+    // Starts from the first stop in the current order, which is where the dispatcher put it
+    private static int[] nearestNeighbour(double[][] dist) {
+        int n = dist.length;
+        int[] tour = new int[n];
+        boolean[] visited = new boolean[n];
+        visited[0] = true;
+        for (int pos = 1; pos < n; pos++) {
+            int from = tour[pos - 1];
+            int best = -1;
+            for (int candidate = 0; candidate < n; candidate++) {
+                if (!visited[candidate] && (best < 0 || dist[from][candidate] < dist[from][best])) {
+                    best = candidate;
+                }
+            }
+            tour[pos] = best;
+            visited[best] = true;
+        }
+        return tour;
+    }
+
+    // -1 stands for "no stop" at either end of the open path, which costs nothing
+    private static double d(double[][] dist, int a, int b) {
+        return a < 0 || b < 0 ? 0 : dist[a][b];
+    }
+
+    private static boolean twoOpt(int[] tour, double[][] dist) {
+        int n = tour.length;
+        boolean improved = false;
+        for (int i = 0; i < n - 1; i++) {
+            for (int j = i + 1; j < n; j++) {
+                int before = i > 0 ? tour[i - 1] : -1;
+                int after = j < n - 1 ? tour[j + 1] : -1;
+                double delta = d(dist, before, tour[j]) + d(dist, tour[i], after)
+                        - d(dist, before, tour[i]) - d(dist, tour[j], after);
+                if (delta < -EPSILON) {
+                    reverse(tour, i, j);
+                    improved = true;
+                }
+            }
+        }
+        return improved;
+    }
+
+    private static boolean orOpt(int[] tour, double[][] dist) {
+        int n = tour.length;
+        boolean improved = false;
+        int[] rest = new int[n];
+        int[] segment = new int[MAX_OR_OPT_SEGMENT];
+
+        for (int length = 1; length <= MAX_OR_OPT_SEGMENT && length < n; length++) {
+            for (int i = 0; i + length <= n; i++) {
+                int first = tour[i];
+                int last = tour[i + length - 1];
+                int before = i > 0 ? tour[i - 1] : -1;
+                int after = i + length < n ? tour[i + length] : -1;
+                double removalGain = d(dist, before, first) + d(dist, last, after) - d(dist, before, after);
+
+                // Tour without the segment
+                int restSize = 0;
+                for (int k = 0; k < n; k++) {
+                    if (k < i || k >= i + length) {
+                        rest[restSize++] = tour[k];
+                    }
+                }
+
+                int bestPosition = -1;
+                boolean bestReversed = false;
+                double bestGain = EPSILON;
+                for (int k = 0; k <= restSize; k++) {
+                    int prev = k > 0 ? rest[k - 1] : -1;
+                    int next = k < restSize ? rest[k] : -1;
+                    double base = d(dist, prev, next);
+                    double forward = d(dist, prev, first) + d(dist, last, next) - base;
+                    double reversed = d(dist, prev, last) + d(dist, first, next) - base;
+                    if (k != i && removalGain - forward > bestGain) {
+                        bestGain = removalGain - forward;
+                        bestPosition = k;
+                        bestReversed = false;
+                    }
+                    if (length > 1 && removalGain - reversed > bestGain) {
+                        bestGain = removalGain - reversed;
+                        bestPosition = k;
+                        bestReversed = true;
+                    }
+                }
+
+                if (bestPosition >= 0) {
+                    System.arraycopy(tour, i, segment, 0, length);
+                    int pos = 0;
+                    for (int k = 0; k <= restSize; k++) {
+                        if (k == bestPosition) {
+                            for (int s = 0; s < length; s++) {
+                                tour[pos++] = bestReversed ? segment[length - 1 - s] : segment[s];
+                            }
+                        }
+                        if (k < restSize) {
+                            tour[pos++] = rest[k];
+                        }
+                    }
+                    improved = true;
+                }
+            }
+        }
+        return improved;
+    }
+
+    private static void reverse(int[] tour, int from, int to) {
+        while (from < to) {
+            int tmp = tour[from];
+            tour[from++] = tour[to];
+            tour[to--] = tmp;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.damiProd.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records latency and Hibernate SQL statement count per controller method, and logs
+ * requests slower than the configured threshold together with their SQL count.
+ *
+ * The measurement ends after the response body is written, so lazy loads triggered by
+ * JSON serialization are included in both numbers.
+ */
+public class RequestMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestMetricsInterceptor.class);
+    private static final String START_ATTRIBUTE = RequestMetricsInterceptor.class.getName() + ".start";
+    private static final String SQL_START_ATTRIBUTE = RequestMetricsInterceptor.class.getName() + ".sqlStart";
+
+    private final MeterRegistry meterRegistry;
+    private final long slowRequestNanos;
+
+    public RequestMetricsInterceptor(MeterRegistry meterRegistry, long slowRequestMillis) {
+        this.meterRegistry = meterRegistry;
+        this.slowRequestNanos = TimeUnit.MILLISECONDS.toNanos(slowRequestMillis);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+            // Counting itself is started by SqlStatementFilter
+            request.setAttribute(SQL_START_ATTRIBUTE, SqlStatementCounter.count());
+        }
+        return true;
+    }
+
+    // Async handlers (the SSE event stream) keep the request open; that is not a latency sample
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+            Object handler) {
+        request.removeAttribute(START_ATTRIBUTE);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (!(start instanceof Long startNanos) || !(handler instanceof HandlerMethod method)) {
+            return;
+        }
+        long sqlStatements = SqlStatementCounter.count() - (Long) request.getAttribute(SQL_START_ATTRIBUTE);
+        long durationNanos = System.nanoTime() - startNanos;
+        int status = ex != null && response.getStatus() < 400 ? 500 : response.getStatus();
+
+        String controller = method.getBeanType().getSimpleName();
+        String action = method.getMethod().getName();
+        Tags tags = Tags.of("controller", controller, "method", action, "status", Integer.toString(status));
+
+        Timer.builder("http.handler.duration")
+                .description("Controller method latency, including response serialization")
+                .tags(tags)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("http.handler.sql.statements")
+                .description("Hibernate SQL statements per request")
+                .tags(tags)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry)
+                .record(sqlStatements);
+
+        if (durationNanos >= slowRequestNanos) {
+            log.warn("Slow request {} {} -> {}.{}: {} ms, status {}, {} SQL statements",
+                    request.getMethod(), request.getRequestURI(), controller, action,
+                    TimeUnit.NANOSECONDS.toMillis(durationNanos), status, sqlStatements);
+        }
+    }
+}
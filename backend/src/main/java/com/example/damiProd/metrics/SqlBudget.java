@@ -0,0 +1,20 @@
+package com.example.damiProd.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maximum number of SQL statements a controller method may run per request, including
+ * lazy loads during JSON serialization. Methods without it get sql-budget.default.
+ * Only checked when sql-budget.enabled is true (dev and tests).
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SqlBudget {
+
+    int value();
+}
@@ -0,0 +1,61 @@
+package com.example.damiProd.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Compares the SQL statements of a finished request with the budget of its controller
+ * method ({@link SqlBudget} or sql-budget.default) and logs or fails when it is exceeded.
+ * The report groups statements by shape, so an N+1 shows up as one shape run N times.
+ * Failing is meant for tests; see SqlStatementFilter for why it cannot change a response.
+ */
+@Component
+public class SqlBudgetEnforcer {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlBudgetEnforcer.class);
+
+    private final boolean enabled;
+    private final boolean failOnExceeded;
+    private final int defaultBudget;
+
+    public SqlBudgetEnforcer(@Value("${sql-budget.enabled:false}") boolean enabled,
+            @Value("${sql-budget.mode:log}") String mode,
+            @Value("${sql-budget.default:10}") int defaultBudget) {
+        this.enabled = enabled;
+        this.failOnExceeded = "fail".equalsIgnoreCase(mode);
+        this.defaultBudget = defaultBudget;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int budgetFor(HandlerMethod handler) {
+        SqlBudget budget = handler.getMethodAnnotation(SqlBudget.class);
+        return budget != null ? budget.value() : defaultBudget;
+    }
+
+    public void check(HttpServletRequest request, SqlStatementStats stats) {
+        if (!enabled || stats == null
+                || !(request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler)) {
+            return;
+        }
+        int budget = budgetFor(handler);
+        if (stats.total() <= budget) {
+            return;
+        }
+
+        String message = String.format("%s %s (%s.%s) exceeded its SQL budget of %d: %s",
+                request.getMethod(), request.getRequestURI(), handler.getBeanType().getSimpleName(),
+                handler.getMethod().getName(), budget, stats.describe());
+        if (failOnExceeded) {
+            throw new SqlBudgetExceededException(message);
+        }
+        log.warn(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.damiProd.metrics;
+
+/**
+ * Thrown in sql-budget.mode=fail when a request runs more SQL statements than its budget.
+ * Thrown after the response has been written, so it fails MockMvc tests but not the HTTP response.
+ */
+public class SqlBudgetExceededException extends RuntimeException {
+
+    public SqlBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.damiProd.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread between
+ * {@link #start(boolean)} and {@link #stop()}, i.e. during one HTTP request (see SqlStatementFilter).
+ *
+ * Registered as Hibernate's statement inspector (see MetricsConfig), so it sees every
+ * statement from repositories, lazy loads and flushes, but not plain JdbcTemplate calls.
+ * Unlike Statistics.getPrepareStatementCount(), the count is not shared between threads.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Starts counting on this thread.
+     *
+     * @param trackShapes Whether to also group statements by shape; costs a few regex
+     *                    replacements per statement, so it is only on with the SQL budget check.
+     */
+    public static void start(boolean trackShapes) {
+        CURRENT.set(new SqlStatementStats(trackShapes));
+    }
+
+    /**
+     * Stops counting on this thread and returns what was counted since start(), or null if not started.
+     */
+    public static SqlStatementStats stop() {
+        SqlStatementStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    /**
+     * Statements so far on this thread, 0 when not counting.
+     */
+    public static long count() {
+        SqlStatementStats stats = CURRENT.get();
+        return stats != null ? stats.total() : 0;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        SqlStatementStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.record(sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.damiProd.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Counts the SQL statements of each request, leaves them in the {@link SqlStatementStats#ATTRIBUTE}
+ * request attribute and hands them to the budget check. Statement shapes are only tracked
+ * while the budget check is enabled.
+ *
+ * The check runs after the chain, because lazy loads during JSON serialization have to be
+ * counted too. By then the response is usually committed, so sql-budget.mode=fail cannot turn
+ * it into an error for the client: under MockMvc (SqlBudgetAssertions) the exception reaches
+ * the test, under a real server it only ends up in the log next to a response already sent.
+ * The response is deliberately not buffered to make fail mode work there: the event stream
+ * and the exports are streamed asynchronously and must not be held in memory.
+ */
+public class SqlStatementFilter extends OncePerRequestFilter {
+
+    private final SqlBudgetEnforcer sqlBudgetEnforcer;
+
+    public SqlStatementFilter(SqlBudgetEnforcer sqlBudgetEnforcer) {
+        this.sqlBudgetEnforcer = sqlBudgetEnforcer;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlStatementCounter.start(sqlBudgetEnforcer.isEnabled());
+        SqlStatementStats stats;
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            stats = SqlStatementCounter.stop();
+            request.setAttribute(SqlStatementStats.ATTRIBUTE, stats);
+        }
+        // An async request (the SSE event stream) is still open here
+        if (!request.isAsyncStarted()) {
+            sqlBudgetEnforcer.check(request, stats);
+        }
+    }
+}
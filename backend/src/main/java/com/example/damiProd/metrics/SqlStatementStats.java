@@ -0,0 +1,98 @@
+package com.example.damiProd.metrics;
+
+import jakarta.servlet.ServletRequest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * SQL statements prepared by Hibernate during one request: the total and, when shape
+ * tracking is on, how often each statement shape was run. A shape is the statement with
+ * literals and IN lists normalized, so the per-row selects of an N+1 all share one shape.
+ */
+public class SqlStatementStats {
+
+    /** Request attribute holding the stats of a finished request, set by SqlStatementFilter. */
+    public static final String ATTRIBUTE = SqlStatementStats.class.getName();
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private long total;
+    private final Map<String, Integer> shapes;
+
+    SqlStatementStats(boolean trackShapes) {
+        this.shapes = trackShapes ? new LinkedHashMap<>() : null;
+    }
+
+    public static SqlStatementStats of(ServletRequest request) {
+        return (SqlStatementStats) request.getAttribute(ATTRIBUTE);
+    }
+
+    void record(String sql) {
+        total++;
+        if (shapes != null) {
+            shapes.merge(shape(sql), 1, Integer::sum);
+        }
+    }
+
+    public long total() {
+        return total;
+    }
+
+    /**
+     * Statement shapes with their counts, in order of first execution. Empty if shapes were not tracked.
+     */
+    public Map<String, Integer> shapes() {
+        return shapes != null ? Collections.unmodifiableMap(shapes) : Map.of();
+    }
+
+    /**
+     * Shapes that ran more than once, most repeated first.
+     */
+    public List<Map.Entry<String, Integer>> repeated() {
+        List<Map.Entry<String, Integer>> repeated = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : shapes().entrySet()) {
+            if (entry.getValue() > 1) {
+                repeated.add(entry);
+            }
+        }
+        repeated.sort(Map.Entry.<String, Integer>comparingByValue().reversed());
+        return repeated;
+    }
+
+    /**
+     * Highest number of times a single shape ran (0 if no statements or shapes not tracked).
+     */
+    public int maxRepeats() {
+        int max = 0;
+        for (int count : shapes().values()) {
+            max = Math.max(max, count);
+        }
+        return max;
+    }
+
+    /**
+     * Multi-line description for logs and assertion messages: total, then the repeated shapes.
+     */
+    public String describe() {
+        StringBuilder description = new StringBuilder().append(total).append(" SQL statements");
+        for (Map.Entry<String, Integer> entry : repeated()) {
+            description.append("\n  ").append(entry.getValue()).append("x ").append(entry.getKey());
+        }
+        return description.toString();
+    }
+
+    static String shape(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("(?...)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+}
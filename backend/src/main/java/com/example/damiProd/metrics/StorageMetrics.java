@@ -0,0 +1,59 @@
+package com.example.damiProd.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Duration and size of object storage uploads, tagged with the storage backend
+ * (photos.storage) and the rendition being uploaded.
+ */
+@Component
+public class StorageMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final String backend;
+
+    public StorageMetrics(MeterRegistry meterRegistry, @Value("${photos.storage:gcs}") String backend) {
+        this.meterRegistry = meterRegistry;
+        this.backend = backend;
+    }
+
+    /**
+     * Runs the upload and records how long it took; the size is only recorded when it succeeds.
+     */
+    public void upload(String rendition, long bytes, Upload upload) throws IOException {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            upload.run();
+            success = true;
+        } finally {
+            Timer.builder("storage.upload.duration")
+                    .tag("backend", backend)
+                    .tag("rendition", rendition)
+                    .tag("outcome", success ? "success" : "error")
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (success) {
+                DistributionSummary.builder("storage.upload.size")
+                        .baseUnit("bytes")
+                        .tag("backend", backend)
+                        .tag("rendition", rendition)
+                        .register(meterRegistry)
+                        .record(bytes);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface Upload {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.damiProd.repository;
+
+import com.example.damiProd.domain.ClientSummary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ClientSummaryRepository extends JpaRepository<ClientSummary, Long> {
+
+    Slice<ClientSummary> findAllBy(Pageable pageable);
+
+    /**
+     * Adds summaries for clients that do not have one yet (existing data, or clients
+     * written without going through ClientService). Runs entirely in the database.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO client_summaries (id, type, display_name, tax_id, phone, email, address) "
+            + "SELECT c.id, "
+            + "CASE WHEN i.id IS NOT NULL THEN 'individual' WHEN co.id IS NOT NULL THEN 'company' ELSE 'client' END, "
+            + "COALESCE(i.full_name, co.name), COALESCE(i.cnp, co.cui), c.phone, c.email, c.address "
+            + "FROM client c LEFT JOIN individual i ON i.id = c.id LEFT JOIN companies co ON co.id = c.id "
+            + "WHERE NOT EXISTS (SELECT 1 FROM client_summaries s WHERE s.id = c.id)", nativeQuery = true)
+    int insertMissing();
+
+    @Modifying
+    @Query(value = "DELETE FROM client_summaries s WHERE NOT EXISTS (SELECT 1 FROM client c WHERE c.id = s.id)",
+            nativeQuery = true)
+    int deleteOrphaned();
+}
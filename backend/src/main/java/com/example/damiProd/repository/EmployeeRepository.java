@@ -1,9 +1,13 @@
 package com.example.damiProd.repository;
 
 import com.example.damiProd.domain.Employee;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,4 +17,15 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     Optional<Employee> findByUsername(String username);
     
     List<Employee> findByCounty(String county);
+
+    // Joins employees_roles_join; roleName is expected upper-case (see EmployeeRoleIndex)
+    @Query("SELECT DISTINCT e.id FROM Employee e JOIN e.roles r WHERE UPPER(r.roleName) = :roleName ORDER BY e.id")
+    List<Long> findIdsByRoleName(@Param("roleName") String roleName);
+
+    // Roles fetched in the same query instead of one eager select per employee
+    @EntityGraph(attributePaths = "roles")
+    List<Employee> findByIdInOrderByIdAsc(Collection<Long> ids);
+
+    @EntityGraph(attributePaths = "roles")
+    List<Employee> findByIdInAndCountyOrderByIdAsc(Collection<Long> ids, String county);
 }
@@ -1,7 +1,10 @@
 package com.example.damiProd.repository;
 
 import com.example.damiProd.domain.EmployeeRole;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -9,5 +12,6 @@ import java.util.Optional;
 @Repository
 public interface EmployeeRoleRepository extends JpaRepository<EmployeeRole, Long> {
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<EmployeeRole> findByRoleName(String roleName);
 }
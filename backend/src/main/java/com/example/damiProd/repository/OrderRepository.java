@@ -1,16 +1,28 @@
 package com.example.damiProd.repository;
 
 import com.example.damiProd.domain.Order;
+import com.example.damiProd.dto.OrderCoordinates;
+import com.example.damiProd.dto.OrderTaskSource;
+import com.example.damiProd.dto.SanitizationSchedule;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderRepositoryCustom {
+
+    // Rows fetched per round trip by the export cursor
+    int EXPORT_FETCH_SIZE = 500;
+
     List<Order> findByClientId(Long clientId);
     List<Order> findByRouteDefinitionId(Long routeDefinitionId);
     
@@ -19,4 +31,30 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     
     @Query("SELECT o FROM Order o LEFT JOIN FETCH o.client LEFT JOIN FETCH o.product LEFT JOIN FETCH o.routeDefinition WHERE o.id = :id")
     Optional<Order> findByIdWithClientAndProduct(@Param("id") Long id);
+
+    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.client LEFT JOIN FETCH o.product LEFT JOIN FETCH o.routeDefinition WHERE o.id IN :ids")
+    List<Order> findAllWithClientAndProductByIdIn(@Param("ids") Collection<Long> ids);
+
+    // o.client.id reads the foreign key column, so clients are not joined
+    @Query("SELECT new com.example.damiProd.dto.OrderTaskSource(o.id, o.orderType, o.locationCoordinates, o.details, o.client.id) FROM Order o WHERE o.id IN :ids")
+    List<OrderTaskSource> findTaskSourcesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Dates are strings on Order, so the active window is checked by the generator, not here
+    @Query("SELECT new com.example.damiProd.dto.SanitizationSchedule(o.id, o.startDate, o.endDate, o.isIndefinite, " +
+            "o.durationDays, o.igienizariPerMonth, rd.city, o.locationCoordinates, o.details, " +
+            "cs.displayName, cs.phone, cs.address) " +
+            "FROM Order o LEFT JOIN o.routeDefinition rd LEFT JOIN ClientSummary cs ON cs.id = o.client.id " +
+            "WHERE o.igienizariPerMonth > 0")
+    List<SanitizationSchedule> findSanitizationSchedules();
+
+    @Query("SELECT new com.example.damiProd.dto.OrderCoordinates(o.id, o.locationCoordinates) FROM Order o WHERE o.locationCoordinates IS NOT NULL")
+    List<OrderCoordinates> findAllCoordinates();
+
+    // Forward-only cursor over all orders for the export; must be consumed (and closed) inside a transaction
+    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.client LEFT JOIN FETCH o.product LEFT JOIN FETCH o.routeDefinition ORDER BY o.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Order> streamAllForExport();
 }
@@ -0,0 +1,17 @@
+package com.example.damiProd.repository;
+
+import com.example.damiProd.dto.OrderSearchFilter;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+public interface OrderRepositoryCustom {
+
+    /**
+     * First phase of the order search: ids of the matching orders for one page,
+     * in the requested order, without joining clients, products or route definitions.
+     * Sortable by id, number, date and orderType; id is always added as tie-breaker.
+     *
+     * @throws IllegalArgumentException If the sort uses any other property.
+     */
+    Page<Long> searchIds(OrderSearchFilter filter, Pageable pageable);
+}
@@ -0,0 +1,104 @@
+package com.example.damiProd.repository;
+
+import com.example.damiProd.dto.OrderSearchFilter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+class OrderRepositoryCustomImpl implements OrderRepositoryCustom {
+
+    private static final Set<String> SORTABLE = Set.of("id", "number", "date", "orderType");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<Long> searchIds(OrderSearchFilter filter, Pageable pageable) {
+        StringBuilder where = new StringBuilder(" WHERE 1 = 1");
+        Map<String, Object> params = new HashMap<>();
+
+        if (filter.orderType() != null) {
+            where.append(" AND o.orderType = :orderType");
+            params.put("orderType", filter.orderType());
+        }
+        if (filter.from() != null) {
+            where.append(" AND o.date >= :from");
+            params.put("from", startOfDay(filter.from()));
+        }
+        if (filter.to() != null) {
+            where.append(" AND o.date < :to");
+            params.put("to", startOfDay(filter.to().plusDays(1)));
+        }
+        // Compare foreign key columns directly, no join needed
+        if (filter.clientId() != null) {
+            where.append(" AND o.client.id = :clientId");
+            params.put("clientId", filter.clientId());
+        }
+        if (filter.productId() != null) {
+            where.append(" AND o.product.id = :productId");
+            params.put("productId", filter.productId());
+        }
+        if (filter.routeDefinitionId() != null) {
+            where.append(" AND o.routeDefinition.id = :routeDefinitionId");
+            params.put("routeDefinitionId", filter.routeDefinitionId());
+        }
+        if (filter.hasTask() != null) {
+            where.append(filter.hasTask() ? " AND EXISTS" : " AND NOT EXISTS")
+                    .append(" (SELECT 1 FROM Task t WHERE t.order.id = o.id AND t.occurrenceDate IS NULL)");
+        }
+
+        TypedQuery<Long> idQuery = entityManager.createQuery(
+                "SELECT o.id FROM Order o" + where + orderBy(pageable.getSort()), Long.class);
+        params.forEach(idQuery::setParameter);
+        List<Long> ids = idQuery
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        // Skip the count when the page shows everything there is
+        long total;
+        if (pageable.getOffset() == 0 && ids.size() < pageable.getPageSize()) {
+            total = ids.size();
+        } else {
+            TypedQuery<Long> countQuery = entityManager.createQuery(
+                    "SELECT COUNT(o) FROM Order o" + where, Long.class);
+            params.forEach(countQuery::setParameter);
+            total = countQuery.getSingleResult();
+        }
+        return new PageImpl<>(ids, pageable, total);
+    }
+
+    private String orderBy(Sort sort) {
+        StringBuilder orderBy = new StringBuilder(" ORDER BY ");
+        boolean sortsById = false;
+        for (Sort.Order order : sort) {
+            if (!SORTABLE.contains(order.getProperty())) {
+                throw new IllegalArgumentException("Nu se poate sorta după: " + order.getProperty());
+            }
+            orderBy.append("o.").append(order.getProperty())
+                    .append(order.isAscending() ? " ASC, " : " DESC, ");
+            sortsById |= order.getProperty().equals("id");
+        }
+        if (!sortsById) {
+            // Stable order across pages when the sort key has duplicates
+            orderBy.append("o.id DESC, ");
+        }
+        return orderBy.substring(0, orderBy.length() - 2);
+    }
+
+    private Date startOfDay(LocalDate day) {
+        return Date.from(day.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+}
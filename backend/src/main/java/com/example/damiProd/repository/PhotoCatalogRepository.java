@@ -0,0 +1,41 @@
+package com.example.damiProd.repository;
+
+import com.example.damiProd.domain.PhotoCatalogEntry;
+import com.example.damiProd.domain.PhotoOwnerType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PhotoCatalogRepository extends JpaRepository<PhotoCatalogEntry, Long> {
+
+    Optional<PhotoCatalogEntry> findByObjectName(String objectName);
+
+    Slice<PhotoCatalogEntry> findByObjectNameStartingWith(String prefix, Pageable pageable);
+
+    Slice<PhotoCatalogEntry> findByOwnerTypeAndOwnerId(PhotoOwnerType ownerType, Long ownerId, Pageable pageable);
+
+    @Query("SELECT e.objectName FROM PhotoCatalogEntry e WHERE e.objectName IN :names")
+    List<String> findExistingObjectNames(@Param("names") Collection<String> names);
+
+    @Query("SELECT e.displayUrl FROM PhotoCatalogEntry e WHERE e.displayUrl IN :urls")
+    List<String> findExistingDisplayUrls(@Param("urls") Collection<String> urls);
+
+    @Query("SELECT e.thumbnailUrl FROM PhotoCatalogEntry e WHERE e.thumbnailUrl IN :urls")
+    List<String> findExistingThumbnailUrls(@Param("urls") Collection<String> urls);
+
+    // Keyset walk over the catalog for reconciliation
+    List<PhotoCatalogEntry> findTop100ByIdGreaterThanOrderByIdAsc(Long id);
+
+    @Modifying
+    @Query("DELETE FROM PhotoCatalogEntry e WHERE e.objectName IN :names")
+    int deleteByObjectNameIn(@Param("names") Collection<String> names);
+}
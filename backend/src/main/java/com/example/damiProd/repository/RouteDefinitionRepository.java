@@ -1,9 +1,19 @@
 package com.example.damiProd.repository;
 
 import com.example.damiProd.domain.RouteDefinition;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface RouteDefinitionRepository extends JpaRepository<RouteDefinition, Long> {
+
+    // Served from the query cache; invalidated automatically when the table is written
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<RouteDefinition> findAll();
 }
@@ -1,10 +1,16 @@
 package com.example.damiProd.repository;
 
 import com.example.damiProd.domain.Route;
+import com.example.damiProd.dto.DriverDayStop;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface RouteRepository extends JpaRepository<Route, Long> {
@@ -12,4 +18,29 @@ public interface RouteRepository extends JpaRepository<Route, Long> {
     List<Route> findByEmployee_Id(Long employeeId);
     
     List<Route> findByCounty(String county);
+
+    // Variants that load the driver and the tasks in the same SELECT, so serializing a list of
+    // routes does not trigger one lazy load per route. The driver's roles are not in the graph:
+    // fetching that set together with the tasks bag would repeat every task once per role.
+    // They come from one batched query instead (@BatchSize on Employee.roles)
+    @EntityGraph(attributePaths = {"employee", "tasks"})
+    List<Route> findAllWithTasksBy();
+
+    @EntityGraph(attributePaths = {"employee", "tasks"})
+    List<Route> findWithTasksByCounty(String county);
+
+    @EntityGraph(attributePaths = {"employee", "tasks"})
+    List<Route> findWithTasksByEmployee_Id(Long employeeId);
+
+    @EntityGraph(attributePaths = {"employee", "tasks"})
+    Optional<Route> findWithTasksById(Long id);
+
+    // Flat read-only projection for the driver app; no entities are instantiated
+    @Query("SELECT new com.example.damiProd.dto.DriverDayStop(" +
+            "r.id, r.date, r.county, t.id, t.type, t.status, t.scheduledTime, t.address, " +
+            "t.clientName, t.clientPhone, t.internalNotes, o.id, o.locationCoordinates, o.contact, c.email) " +
+            "FROM Route r LEFT JOIN r.tasks t LEFT JOIN t.order o LEFT JOIN o.client c " +
+            "WHERE r.employee.id = :employeeId AND r.date = :date " +
+            "ORDER BY r.id, t.visitOrder, t.scheduledTime, t.id")
+    List<DriverDayStop> findDaySheet(@Param("employeeId") Long employeeId, @Param("date") LocalDate date);
 }
\ No newline at end of file
@@ -2,22 +2,75 @@ package com.example.damiProd.repository;
 
 import com.example.damiProd.domain.Task;
 import com.example.damiProd.domain.TaskStatus;
+import com.example.damiProd.dto.OrderTaskStatus;
+import com.example.damiProd.dto.TaskLocation;
+import com.example.damiProd.dto.TaskOccurrence;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
-    
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskRepositoryCustom {
+
+    // Rows fetched per round trip by the export cursor
+    int EXPORT_FETCH_SIZE = 500;
+
     List<Task> findByRoute_Id(Long routeId);
+
+    List<Task> findByRoute_IdOrderByVisitOrderAscIdAsc(Long routeId);
     
     List<Task> findByRoute_IdAndStatus(Long routeId, TaskStatus status);
     
-    // Find task by order ID
-    Optional<Task> findByOrder_Id(Long orderId);
+    // Find the dispatched task of an order (generated sanitizations are not counted)
+    Optional<Task> findByOrder_IdAndOccurrenceDateIsNull(Long orderId);
     
-    // Check if a task exists for an order
-    boolean existsByOrder_Id(Long orderId);
+    // Check if a dispatched task exists for an order
+    boolean existsByOrder_IdAndOccurrenceDateIsNull(Long orderId);
+
+    // Which of the given orders already have a dispatched task
+    @Query("SELECT t.order.id FROM Task t WHERE t.order.id IN :orderIds AND t.occurrenceDate IS NULL")
+    List<Long> findOrderIdsWithTask(@Param("orderIds") Collection<Long> orderIds);
+
+    // Dispatched task of each of the given orders that has one; t.route.id reads the foreign key, no join
+    @Query("SELECT new com.example.damiProd.dto.OrderTaskStatus(t.order.id, t.id, t.route.id, t.status) FROM Task t " +
+            "WHERE t.order.id IN :orderIds AND t.occurrenceDate IS NULL")
+    List<OrderTaskStatus> findTaskStatusByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+
+    // Sanitization occurrences already generated for the orders within [from, to]
+    @Query("SELECT new com.example.damiProd.dto.TaskOccurrence(t.order.id, t.occurrenceDate) FROM Task t " +
+            "WHERE t.order.id IN :orderIds AND t.occurrenceDate BETWEEN :from AND :to")
+    List<TaskOccurrence> findOccurrences(@Param("orderIds") Collection<Long> orderIds,
+            @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT t.id FROM Task t WHERE t.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT t FROM Task t LEFT JOIN FETCH t.route WHERE t.id IN :ids")
+    List<Task> findAllWithRouteByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.example.damiProd.dto.TaskLocation(t.id, r.id, r.county, o.locationCoordinates, t.address) " +
+            "FROM Task t JOIN t.route r LEFT JOIN t.order o WHERE r.id = :routeId ORDER BY t.visitOrder, t.id")
+    List<TaskLocation> findLocationsByRouteId(@Param("routeId") Long routeId);
+
+    @Query("SELECT new com.example.damiProd.dto.TaskLocation(t.id, r.id, r.county, o.locationCoordinates, t.address) " +
+            "FROM Task t JOIN t.route r LEFT JOIN t.order o WHERE r.date = :date ORDER BY r.id, t.visitOrder, t.id")
+    List<TaskLocation> findLocationsByRouteDate(@Param("date") LocalDate date);
+
+    // Forward-only cursor over all tasks for the export; route and order ids come from the foreign keys, no joins
+    @Query("SELECT t FROM Task t ORDER BY t.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Task> streamAllForExport();
 }
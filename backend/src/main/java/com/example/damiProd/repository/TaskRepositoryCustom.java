@@ -0,0 +1,44 @@
+package com.example.damiProd.repository;
+
+import com.example.damiProd.domain.Task;
+import com.example.damiProd.domain.TaskStatus;
+import com.example.damiProd.dto.TaskCursor;
+import com.example.damiProd.dto.TaskFilter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public interface TaskRepositoryCustom {
+
+    /**
+     * Keyset page of tasks ordered by (scheduledTime ASC NULLS LAST, id ASC).
+     * Returns at most {@code limit} tasks strictly after {@code after} (null for the first page).
+     */
+    List<Task> findPageAfter(TaskFilter filter, TaskCursor after, int limit);
+
+    /**
+     * Inserts new tasks in a single JDBC batch and sets their generated ids.
+     * Bypasses the persistence context, so the tasks stay detached.
+     * @throws IllegalArgumentException If the list contains a null element; nothing is inserted then.
+     */
+    List<Task> insertAll(List<Task> tasks);
+
+    /**
+     * Sets visit_order for many tasks in a single JDBC batch (task id -> position).
+     */
+    void updateVisitOrders(Map<Long, Integer> visitOrders);
+
+    /**
+     * Applies status changes in one JDBC batch, in list order. Each update only
+     * takes effect if the task's statusChangedAt is older than the change. When the
+     * driver reports SUCCESS_NO_INFO instead of row counts, the tasks are re-read
+     * to find out which changes took effect.
+     *
+     * @return per change, whether it was applied
+     */
+    boolean[] applyStatusChanges(List<StatusChange> changes);
+
+    record StatusChange(Long taskId, TaskStatus status, LocalDateTime changedAt) {
+    }
+}
@@ -0,0 +1,217 @@
+package com.example.damiProd.repository;
+
+import com.example.damiProd.domain.Task;
+import com.example.damiProd.domain.TaskStatus;
+import com.example.damiProd.dto.TaskCursor;
+import com.example.damiProd.dto.TaskFilter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    private static final String INSERT_SQL = "INSERT INTO tasks " +
+            "(type, status, scheduled_time, address, client_name, client_phone, internal_notes, route_id, order_id, " +
+            "occurrence_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_VISIT_ORDER_SQL = "UPDATE tasks SET visit_order = ? WHERE id = ?";
+
+    private static final String APPLY_STATUS_SQL = "UPDATE tasks SET status = ?, status_changed_at = ? " +
+            "WHERE id = ? AND (status_changed_at IS NULL OR status_changed_at < ?)";
+
+    private static final String STATUS_STATE_SQL = "SELECT id, status, status_changed_at FROM tasks WHERE id IN (%s)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    TaskRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Two seeks instead of one OR-ed predicate, so each can start its range scan on
+     * (scheduled_time, id) at the cursor: first the scheduled tasks after the cursor with a
+     * row-value comparison, then, only if that page comes back short, the unscheduled ones.
+     */
+    @Override
+    public List<Task> findPageAfter(TaskFilter filter, TaskCursor after, int limit) {
+        List<Task> page = new ArrayList<>(limit);
+        boolean pastScheduled = after != null && after.scheduledTime() == null;
+
+        if (!pastScheduled) {
+            StringBuilder jpql = new StringBuilder("SELECT t FROM Task t WHERE t.scheduledTime IS NOT NULL");
+            Map<String, Object> params = new HashMap<>();
+            appendFilter(filter, jpql, params);
+            if (after != null) {
+                jpql.append(" AND (t.scheduledTime, t.id) > (:cursorTime, :cursorId)");
+                params.put("cursorTime", after.scheduledTime());
+                params.put("cursorId", after.id());
+            }
+            jpql.append(" ORDER BY t.scheduledTime ASC, t.id ASC");
+            page.addAll(query(jpql, params, limit));
+        }
+
+        // A date range only matches scheduled tasks
+        boolean unscheduledCanMatch = filter.from() == null && filter.to() == null;
+        if (page.size() < limit && unscheduledCanMatch) {
+            StringBuilder jpql = new StringBuilder("SELECT t FROM Task t WHERE t.scheduledTime IS NULL");
+            Map<String, Object> params = new HashMap<>();
+            appendFilter(filter, jpql, params);
+            if (pastScheduled) {
+                jpql.append(" AND t.id > :cursorId");
+                params.put("cursorId", after.id());
+            }
+            jpql.append(" ORDER BY t.id ASC");
+            page.addAll(query(jpql, params, limit - page.size()));
+        }
+        return page;
+    }
+
+    private static void appendFilter(TaskFilter filter, StringBuilder jpql, Map<String, Object> params) {
+        if (filter.status() != null) {
+            jpql.append(" AND t.status = :status");
+            params.put("status", filter.status());
+        }
+        if (filter.type() != null) {
+            jpql.append(" AND t.type = :type");
+            params.put("type", filter.type());
+        }
+        if (filter.county() != null) {
+            jpql.append(" AND t.route.county = :county");
+            params.put("county", filter.county());
+        }
+        if (filter.from() != null) {
+            jpql.append(" AND t.scheduledTime >= :from");
+            params.put("from", filter.from().atStartOfDay());
+        }
+        if (filter.to() != null) {
+            jpql.append(" AND t.scheduledTime < :to");
+            params.put("to", filter.to().plusDays(1).atStartOfDay());
+        }
+    }
+
+    private List<Task> query(StringBuilder jpql, Map<String, Object> params, int limit) {
+        TypedQuery<Task> query = entityManager.createQuery(jpql.toString(), Task.class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public List<Task> insertAll(List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return tasks;
+        }
+        // Fail before the batch is sent rather than with an NPE halfway through binding it
+        for (int i = 0; i < tasks.size(); i++) {
+            if (tasks.get(i) == null) {
+                throw new IllegalArgumentException("Task-ul de pe poziția " + i + " lipsește");
+            }
+        }
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(INSERT_SQL, new String[] { "id" }),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Task task = tasks.get(i);
+                        ps.setString(1, task.getType().name());
+                        ps.setString(2, task.getStatus().name());
+                        ps.setObject(3, task.getScheduledTime());
+                        ps.setString(4, task.getAddress());
+                        ps.setString(5, task.getClientName());
+                        ps.setString(6, task.getClientPhone());
+                        ps.setString(7, task.getInternalNotes());
+                        ps.setObject(8, task.getRouteId(), Types.BIGINT);
+                        ps.setObject(9, task.getOrderId(), Types.BIGINT);
+                        ps.setObject(10, task.getOccurrenceDate(), Types.DATE);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return tasks.size();
+                    }
+                },
+                keyHolder);
+
+        // Generated keys come back in batch order
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < tasks.size(); i++) {
+            tasks.get(i).setId(((Number) keys.get(i).get("id")).longValue());
+        }
+        return tasks;
+    }
+
+    @Override
+    public void updateVisitOrders(Map<Long, Integer> visitOrders) {
+        if (visitOrders.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(visitOrders.size());
+        visitOrders.forEach((taskId, position) -> args.add(new Object[] { position, taskId }));
+        jdbcTemplate.batchUpdate(UPDATE_VISIT_ORDER_SQL, args);
+    }
+
+    @Override
+    public boolean[] applyStatusChanges(List<StatusChange> changes) {
+        boolean[] applied = new boolean[changes.size()];
+        if (changes.isEmpty()) {
+            return applied;
+        }
+        List<Object[]> args = new ArrayList<>(changes.size());
+        for (StatusChange change : changes) {
+            args.add(new Object[] { change.status().name(), change.changedAt(), change.taskId(), change.changedAt() });
+        }
+        int[] counts = jdbcTemplate.batchUpdate(APPLY_STATUS_SQL, args);
+        List<Integer> unknown = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == Statement.SUCCESS_NO_INFO) {
+                unknown.add(i);
+            } else {
+                applied[i] = counts[i] > 0;
+            }
+        }
+        if (!unknown.isEmpty()) {
+            resolveUnknown(changes, unknown, applied);
+        }
+        return applied;
+    }
+
+    // The driver ran the batch without reporting row counts: a change took effect if the row
+    // now holds exactly its status and timestamp. A change overwritten later in the same batch
+    // therefore reads as not applied, which is also where it ended up.
+    private void resolveUnknown(List<StatusChange> changes, List<Integer> unknown, boolean[] applied) {
+        Set<Long> taskIds = new LinkedHashSet<>();
+        for (int i : unknown) {
+            taskIds.add(changes.get(i).taskId());
+        }
+        Map<Long, StatusChange> current = new HashMap<>();
+        String placeholders = String.join(", ", Collections.nCopies(taskIds.size(), "?"));
+        jdbcTemplate.query(STATUS_STATE_SQL.formatted(placeholders), rs -> {
+            current.put(rs.getLong(1), new StatusChange(rs.getLong(1), TaskStatus.valueOf(rs.getString(2)),
+                    rs.getObject(3, LocalDateTime.class)));
+        }, taskIds.toArray());
+        for (int i : unknown) {
+            applied[i] = changes.get(i).equals(current.get(changes.get(i).taskId()));
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.damiProd.repository;
+
+import com.example.damiProd.domain.TaskStatusSyncKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TaskStatusSyncKeyRepository extends JpaRepository<TaskStatusSyncKey, String> {
+
+    @Query("SELECT k.idempotencyKey FROM TaskStatusSyncKey k WHERE k.idempotencyKey IN :keys")
+    List<String> findExistingKeys(@Param("keys") Collection<String> keys);
+
+    @Modifying
+    @Query("DELETE FROM TaskStatusSyncKey k WHERE k.receivedAt < :cutoff")
+    int deleteReceivedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
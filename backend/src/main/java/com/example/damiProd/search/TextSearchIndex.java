@@ -0,0 +1,346 @@
+package com.example.damiProd.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory typeahead index of id -> searchable text fields, with a payload per id
+ * that is returned by searches.
+ *
+ * Text is normalized (lower case, diacritics and punctuation stripped) and split into
+ * terms. Every term contributes its trigrams plus its 1- and 2-character prefixes, each
+ * encoded as an int and mapped to a sorted list of document slots. A query token of three
+ * or more characters matches any term containing it; shorter tokens match term prefixes.
+ * All query tokens must match. Results rank prefix matches above infix matches; every
+ * candidate is ranked before the limit is applied, but the scan stops early once the
+ * limit is filled with matches no later slot can outrank.
+ *
+ * Updates append a new slot and tombstone the old one; slots are compacted once
+ * tombstones make up a quarter of the index. Reads run concurrently; writes take an
+ * exclusive lock.
+ */
+public final class TextSearchIndex<T> {
+
+    private static final int MIN_TOMBSTONES_TO_COMPACT = 1000;
+
+    private static final int ALPHABET = 37; // 0 = none, a-z, 0-9
+    private static final int PREFIX1_BASE = ALPHABET * ALPHABET * ALPHABET;
+    private static final int PREFIX2_BASE = PREFIX1_BASE + ALPHABET;
+
+    private final Map<Integer, Postings> postings = new HashMap<>();
+    private final Map<Long, Integer> slotOfId = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] ids = new long[1024];
+    // Normalized terms of each slot as " term1 term2 ... ", used to verify candidates
+    private String[] texts = new String[1024];
+    private Object[] payloads = new Object[1024];
+    private int slots;
+    private int tombstones;
+
+    /**
+     * Adds the document or replaces it if the id is already indexed. Null fields are skipped.
+     */
+    public void put(long id, T payload, String... fields) {
+        StringBuilder text = new StringBuilder(" ");
+        for (String field : fields) {
+            if (field != null) {
+                String normalized = normalize(field);
+                if (!normalized.isEmpty()) {
+                    text.append(normalized).append(' ');
+                }
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            addSlot(id, payload, text.toString());
+            if (tombstones >= MIN_TOMBSTONES_TO_COMPACT && tombstones * 4 >= slots) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(long id) {
+        lock.writeLock().lock();
+        try {
+            return removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            slotOfId.clear();
+            deleted.clear();
+            Arrays.fill(texts, 0, slots, null);
+            Arrays.fill(payloads, 0, slots, null);
+            slots = 0;
+            tombstones = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotOfId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Payloads of the best matches for the query, best first (ties in insertion order).
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> search(String query, int limit) {
+        String[] tokens = tokens(query);
+        if (tokens.length == 0 || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Postings> required = new ArrayList<>();
+            for (String token : tokens) {
+                for (int gram : queryGrams(token)) {
+                    Postings list = postings.get(gram);
+                    if (list == null) {
+                        return List.of();
+                    }
+                    required.add(list);
+                }
+            }
+            required.sort(Comparator.comparingInt(list -> list.size));
+            Postings smallest = required.get(0);
+
+            // Keeps the best `limit` matches, worst at the head: lower score, then later slot
+            PriorityQueue<int[]> best = new PriorityQueue<>(
+                    (a, b) -> a[1] != b[1] ? Integer.compare(a[1], b[1]) : Integer.compare(b[0], a[0]));
+            int maxScore = 2 * tokens.length;
+            for (int i = 0; i < smallest.size; i++) {
+                int slot = smallest.slots[i];
+                if (deleted.get(slot) || !inAll(required, slot)) {
+                    continue;
+                }
+                int score = score(texts[slot], tokens);
+                if (score == 0) {
+                    continue;
+                }
+                if (best.size() < limit) {
+                    best.offer(new int[] { slot, score });
+                } else if (score > best.peek()[1]) {
+                    best.poll();
+                    best.offer(new int[] { slot, score });
+                }
+                // Slots are scanned in insertion order, so later ones can no longer displace a full set
+                // of prefix matches. Keeps common short tokens ("a", "po") from scanning the whole index.
+                if (best.size() == limit && best.peek()[1] == maxScore) {
+                    break;
+                }
+            }
+
+            List<int[]> matches = new ArrayList<>(best);
+            matches.sort((a, b) -> a[1] != b[1] ? Integer.compare(b[1], a[1]) : Integer.compare(a[0], b[0]));
+            List<T> results = new ArrayList<>(matches.size());
+            for (int[] match : matches) {
+                results.add((T) payloads[match[0]]);
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lower case, diacritics removed, runs of anything other than a-z/0-9 collapsed to one space.
+     */
+    public static String normalize(String value) {
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        StringBuilder normalized = new StringBuilder(decomposed.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            c = Character.toLowerCase(c);
+            if (code(c) != 0) {
+                if (pendingSpace && normalized.length() > 0) {
+                    normalized.append(' ');
+                }
+                normalized.append(c);
+                pendingSpace = false;
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return normalized.toString();
+    }
+
+    private static String[] tokens(String query) {
+        String normalized = query == null ? "" : normalize(query);
+        return normalized.isEmpty() ? new String[0] : normalized.split(" ");
+    }
+
+    private void addSlot(long id, Object payload, String text) {
+        if (slots == ids.length) {
+            int capacity = slots * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            texts = Arrays.copyOf(texts, capacity);
+            payloads = Arrays.copyOf(payloads, capacity);
+        }
+        int slot = slots++;
+        ids[slot] = id;
+        texts[slot] = text;
+        payloads[slot] = payload;
+        slotOfId.put(id, slot);
+
+        int start = 1;
+        while (start < text.length()) {
+            int end = text.indexOf(' ', start);
+            indexTerm(text, start, end, slot);
+            start = end + 1;
+        }
+    }
+
+    private void indexTerm(String text, int start, int end, int slot) {
+        addPosting(PREFIX1_BASE + code(text.charAt(start)), slot);
+        if (end - start >= 2) {
+            addPosting(PREFIX2_BASE + code(text.charAt(start)) * ALPHABET + code(text.charAt(start + 1)), slot);
+        }
+        for (int i = start; i + 3 <= end; i++) {
+            addPosting(trigram(text, i), slot);
+        }
+    }
+
+    private void addPosting(int gram, int slot) {
+        postings.computeIfAbsent(gram, g -> new Postings()).add(slot);
+    }
+
+    private boolean removeInternal(long id) {
+        Integer slot = slotOfId.remove(id);
+        if (slot == null) {
+            return false;
+        }
+        deleted.set(slot);
+        payloads[slot] = null;
+        tombstones++;
+        return true;
+    }
+
+    // Re-adds live slots from their stored text so postings stay sorted and dense
+    private void compact() {
+        long[] oldIds = ids;
+        String[] oldTexts = texts;
+        Object[] oldPayloads = payloads;
+        BitSet oldDeleted = (BitSet) deleted.clone();
+        int oldSlots = slots;
+
+        int capacity = Math.max(1024, Integer.highestOneBit(Math.max(1, oldSlots - tombstones)) * 2);
+        ids = new long[capacity];
+        texts = new String[capacity];
+        payloads = new Object[capacity];
+        postings.clear();
+        slotOfId.clear();
+        deleted.clear();
+        slots = 0;
+        tombstones = 0;
+
+        for (int slot = 0; slot < oldSlots; slot++) {
+            if (!oldDeleted.get(slot)) {
+                addSlot(oldIds[slot], oldPayloads[slot], oldTexts[slot]);
+            }
+        }
+    }
+
+    private static int[] queryGrams(String token) {
+        if (token.length() == 1) {
+            return new int[] { PREFIX1_BASE + code(token.charAt(0)) };
+        }
+        if (token.length() == 2) {
+            return new int[] { PREFIX2_BASE + code(token.charAt(0)) * ALPHABET + code(token.charAt(1)) };
+        }
+        int[] grams = new int[token.length() - 2];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = trigram(token, i);
+        }
+        return grams;
+    }
+
+    private static boolean inAll(List<Postings> required, int slot) {
+        for (int i = 1; i < required.size(); i++) {
+            if (!required.get(i).contains(slot)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 2 per token matching a term prefix, 1 per token matching inside a term, 0 if any token does not match
+    private static int score(String text, String[] tokens) {
+        int score = 0;
+        for (String token : tokens) {
+            if (text.contains(" " + token)) {
+                score += 2;
+            } else if (token.length() >= 3 && text.contains(token)) {
+                score += 1;
+            } else {
+                return 0;
+            }
+        }
+        return score;
+    }
+
+    private static int trigram(String s, int i) {
+        return (code(s.charAt(i)) * ALPHABET + code(s.charAt(i + 1))) * ALPHABET + code(s.charAt(i + 2));
+    }
+
+    private static int code(char c) {
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a' + 1;
+        }
+        if (c >= '0' && c <= '9') {
+            return c - '0' + 27;
+        }
+        return 0;
+    }
+
+    // Sorted, duplicate-free slot list; slots are always added in increasing order
+    private static final class Postings {
+        private int[] slots = new int[4];
+        private int size;
+
+        void add(int slot) {
+            if (size > 0 && slots[size - 1] == slot) {
+                return;
+            }
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+
+        boolean contains(int slot) {
+            return Arrays.binarySearch(slots, 0, size, slot) >= 0;
+        }
+    }
+}
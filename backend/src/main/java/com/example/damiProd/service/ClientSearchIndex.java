@@ -0,0 +1,55 @@
+package com.example.damiProd.service;
+
+import com.example.damiProd.domain.ClientSummary;
+import com.example.damiProd.dto.ClientSearchHit;
+import com.example.damiProd.event.ClientSummaryChanged;
+import com.example.damiProd.search.TextSearchIndex;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Typeahead index over client name (full name or company name), CNP/CUI, phone and email.
+ * Built from the client summaries at startup and kept current by ClientService on save and delete,
+ * applied only after the transaction commits (an FK violation at flush must not drop the client).
+ */
+@Component
+public class ClientSearchIndex {
+
+    private final TextSearchIndex<ClientSearchHit> index = new TextSearchIndex<>();
+
+    public void rebuild(List<ClientSummary> summaries) {
+        index.clear();
+        for (ClientSummary summary : summaries) {
+            update(summary);
+        }
+    }
+
+    public void update(ClientSummary summary) {
+        ClientSearchHit hit = new ClientSearchHit(summary.getId(), summary.getType(), summary.getDisplayName(),
+                summary.getTaxId(), summary.getPhone(), summary.getEmail());
+        // Phone is also indexed as bare digits so "0722 123" and "0722123" both match
+        String phoneDigits = summary.getPhone() != null ? summary.getPhone().replaceAll("\\D", "") : null;
+        index.put(summary.getId(), hit, summary.getDisplayName(), summary.getTaxId(), summary.getPhone(),
+                phoneDigits, summary.getEmail());
+    }
+
+    public void remove(Long clientId) {
+        index.remove(clientId);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onClientChanged(ClientSummaryChanged event) {
+        if (event.summary() != null) {
+            update(event.summary());
+        } else {
+            remove(event.clientId());
+        }
+    }
+
+    public List<ClientSearchHit> search(String query, int limit) {
+        return index.search(query, limit);
+    }
+}
@@ -1,29 +1,88 @@
 package com.example.damiProd.service;
 
 import com.example.damiProd.domain.Client;
+import com.example.damiProd.domain.ClientSummary;
+import com.example.damiProd.dto.ClientSearchHit;
+import com.example.damiProd.dto.ClientSummaryPage;
+import com.example.damiProd.event.ClientSummaryChanged;
 import com.example.damiProd.repository.ClientRepository;
+import com.example.damiProd.repository.ClientSummaryRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class ClientService {
 
     private final ClientRepository clientRepository;
+    private final ClientSummaryRepository clientSummaryRepository;
+    private final ClientSearchIndex clientSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public ClientService(ClientRepository clientRepository) {
+    public ClientService(ClientRepository clientRepository, ClientSummaryRepository clientSummaryRepository,
+            ClientSearchIndex clientSearchIndex, ApplicationEventPublisher eventPublisher) {
         this.clientRepository = clientRepository;
+        this.clientSummaryRepository = clientSummaryRepository;
+        this.clientSearchIndex = clientSearchIndex;
+        this.eventPublisher = eventPublisher;
     }
 
+    /**
+     * Fills in summaries missing for existing clients, then builds the search index from them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initializeReadModel() {
+        clientSummaryRepository.deleteOrphaned();
+        clientSummaryRepository.insertMissing();
+        clientSearchIndex.rebuild(clientSummaryRepository.findAll());
+    }
+
+    // The summary row is written in the same transaction as the client; the search index follows after commit
+    @Transactional
     public Client saveClient(Client client) {
-        return clientRepository.save(client);
+        Client savedClient = clientRepository.save(client);
+        ClientSummary summary = clientSummaryRepository.findById(savedClient.getId())
+                .orElseGet(() -> new ClientSummary(savedClient.getId()));
+        summary.copyFrom(savedClient);
+        eventPublisher.publishEvent(ClientSummaryChanged.saved(clientSummaryRepository.save(summary)));
+        return savedClient;
     }
 
     public List<Client> getAllClients() {
         return clientRepository.findAll();
     }
 
+    @Transactional
     public void deleteClient(Long id) {
         clientRepository.deleteById(id);
+        clientSummaryRepository.deleteById(id);
+        eventPublisher.publishEvent(ClientSummaryChanged.deleted(id));
+    }
+
+    /**
+     * One page of the flattened client list, ordered by display name.
+     */
+    @Transactional(readOnly = true)
+    public ClientSummaryPage getClientSummaries(int page, int size) {
+        Slice<ClientSummary> slice = clientSummaryRepository.findAllBy(
+                PageRequest.of(page, size, Sort.by("displayName").ascending().and(Sort.by("id"))));
+        return new ClientSummaryPage(slice.getContent(), page, size, slice.hasNext());
+    }
+
+    public Optional<ClientSummary> getClientSummary(Long id) {
+        return clientSummaryRepository.findById(id);
+    }
+
+    public List<ClientSearchHit> searchClients(String query, int limit) {
+        return clientSearchIndex.search(query, limit);
     }
 }
@@ -0,0 +1,65 @@
+package com.example.damiProd.service;
+
+import com.example.damiProd.event.EmployeeRolesChanged;
+import com.example.damiProd.repository.EmployeeRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Role name -> ids of the employees holding it. Each role is loaded on first lookup
+ * with one query over employees_roles_join and kept until the next invalidation.
+ *
+ * Invalidated after the commit of any transaction that saved or deleted an employee
+ * (EmployeeService) or wrote an Employee or EmployeeRole entity (EmployeeRoleChangeListener).
+ * Invalidating before the commit would let a concurrent lookup cache the old rows again.
+ */
+@Component
+public class EmployeeRoleIndex {
+
+    private final EmployeeRepository employeeRepository;
+    private final Map<String, List<Long>> idsByRole = new ConcurrentHashMap<>();
+    // Bumped on every invalidation so a load that raced with it is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    public EmployeeRoleIndex(EmployeeRepository employeeRepository) {
+        this.employeeRepository = employeeRepository;
+    }
+
+    /**
+     * Ids of the employees with the given role (case-insensitive), in ascending order.
+     */
+    public List<Long> employeeIds(String roleName) {
+        String key = roleName.toUpperCase(Locale.ROOT);
+        List<Long> cached = idsByRole.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long loadedAt = generation.get();
+        List<Long> ids = List.copyOf(employeeRepository.findIdsByRoleName(key));
+        // Put first, then re-check: an invalidate() between a check and the put would otherwise
+        // clear the map just before the stale list goes back in
+        idsByRole.put(key, ids);
+        if (generation.get() != loadedAt) {
+            idsByRole.remove(key, ids);
+        }
+        return ids;
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        idsByRole.clear();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRolesChanged(EmployeeRolesChanged event) {
+        invalidate();
+    }
+}
@@ -1,21 +1,27 @@
 package com.example.damiProd.service;
 
 import com.example.damiProd.domain.Employee;
-import com.example.damiProd.domain.EmployeeRole;
+import com.example.damiProd.event.EmployeeRolesChanged;
 import com.example.damiProd.repository.EmployeeRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 public class EmployeeService {
 
     private final EmployeeRepository employeeRepository;
+    private final EmployeeRoleIndex employeeRoleIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public EmployeeService(EmployeeRepository employeeRepository) {
+    public EmployeeService(EmployeeRepository employeeRepository, EmployeeRoleIndex employeeRoleIndex,
+                           ApplicationEventPublisher eventPublisher) {
         this.employeeRepository = employeeRepository;
+        this.employeeRoleIndex = employeeRoleIndex;
+        this.eventPublisher = eventPublisher;
     }
 
     public List<Employee> getAllEmployees() {
@@ -34,37 +40,43 @@ public class EmployeeService {
      * Returnează toți angajații care au rolul de DRIVER
      */
     public List<Employee> getAllDrivers() {
-        return employeeRepository.findAll().stream()
-                .filter(employee -> employee.getRoles().stream()
-                        .anyMatch(role -> "DRIVER".equalsIgnoreCase(role.getRoleName())))
-                .collect(Collectors.toList());
+        return getEmployeesByRole("DRIVER");
     }
 
     /**
      * Returnează toți șoferii dintr-un anumit județ
      */
     public List<Employee> getDriversByCounty(String county) {
-        return employeeRepository.findByCounty(county).stream()
-                .filter(employee -> employee.getRoles().stream()
-                        .anyMatch(role -> "DRIVER".equalsIgnoreCase(role.getRoleName())))
-                .collect(Collectors.toList());
+        List<Long> ids = employeeRoleIndex.employeeIds("DRIVER");
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return employeeRepository.findByIdInAndCountyOrderByIdAsc(ids, county);
     }
 
     /**
      * Returnează toți angajații cu un anumit rol
      */
     public List<Employee> getEmployeesByRole(String roleName) {
-        return employeeRepository.findAll().stream()
-                .filter(employee -> employee.getRoles().stream()
-                        .anyMatch(role -> roleName.equalsIgnoreCase(role.getRoleName())))
-                .collect(Collectors.toList());
+        List<Long> ids = employeeRoleIndex.employeeIds(roleName);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return employeeRepository.findByIdInOrderByIdAsc(ids);
     }
 
+    // Role changes only touch the join table, which the entity listener does not see;
+    // the index is invalidated once the transaction commits
+    @Transactional
     public Employee saveEmployee(Employee employee) {
-        return employeeRepository.save(employee);
+        Employee saved = employeeRepository.save(employee);
+        eventPublisher.publishEvent(new EmployeeRolesChanged(Employee.class));
+        return saved;
     }
 
+    @Transactional
     public void deleteEmployee(Long id) {
         employeeRepository.deleteById(id);
+        eventPublisher.publishEvent(new EmployeeRolesChanged(Employee.class));
     }
 }
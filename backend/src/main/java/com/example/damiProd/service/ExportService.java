@@ -0,0 +1,163 @@
+package com.example.damiProd.service;
+
+import com.example.damiProd.domain.Client;
+import com.example.damiProd.domain.Company;
+import com.example.damiProd.domain.Individual;
+import com.example.damiProd.domain.Order;
+import com.example.damiProd.domain.Task;
+import com.example.damiProd.dto.ExportFormat;
+import com.example.damiProd.repository.OrderRepository;
+import com.example.damiProd.repository.TaskRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Full exports of orders and tasks, written row by row while a database cursor is read.
+ *
+ * Each entity is detached once it has been written, and the persistence context is cleared
+ * every fetch-size rows (which also drops the clients, products and proxies loaded with them),
+ * so heap use does not grow with the number of rows exported.
+ */
+@Service
+public class ExportService {
+
+    private static final String[] ORDER_COLUMNS = { "id", "number", "date", "orderType", "clientId", "clientName",
+            "productId", "productName", "quantity", "isIndefinite", "durationDays", "startDate", "endDate",
+            "locationCoordinates", "contact", "igienizariPerMonth", "details", "routeDefinitionId" };
+    private static final String[] TASK_COLUMNS = { "id", "type", "status", "scheduledTime", "statusChangedAt",
+            "occurrenceDate", "address", "clientName", "clientPhone", "internalNotes", "visitOrder", "routeId",
+            "orderId" };
+
+    private final OrderRepository orderRepository;
+    private final TaskRepository taskRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    public ExportService(OrderRepository orderRepository, TaskRepository taskRepository,
+                         EntityManager entityManager, ObjectMapper objectMapper) {
+        this.orderRepository = orderRepository;
+        this.taskRepository = taskRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    // NDJSON rows are the same objects GET /api/orders returns
+    @Transactional(readOnly = true)
+    public void exportOrders(ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = writer(out);
+        if (format == ExportFormat.CSV) {
+            writeCsvRow(writer, (Object[]) ORDER_COLUMNS);
+        }
+        try (Stream<Order> orders = orderRepository.streamAllForExport()) {
+            int rows = 0;
+            for (Iterator<Order> it = orders.iterator(); it.hasNext(); ) {
+                Order order = it.next();
+                if (format == ExportFormat.CSV) {
+                    writeCsvRow(writer, order.getId(), order.getNumber(), format(order.getDate()), order.getOrderType(),
+                            order.getClient() != null ? order.getClient().getId() : null, clientName(order.getClient()),
+                            order.getProduct() != null ? order.getProduct().getId() : null,
+                            order.getProduct() != null ? order.getProduct().getName() : null,
+                            order.getQuantity(), order.getIsIndefinite(), order.getDurationDays(),
+                            order.getStartDate(), order.getEndDate(), order.getLocationCoordinates(),
+                            order.getContact(), order.getIgienizariPerMonth(), order.getDetails(),
+                            order.getRouteDefinition() != null ? order.getRouteDefinition().getId() : null);
+                } else {
+                    writeJsonRow(writer, order);
+                }
+                release(order, ++rows, OrderRepository.EXPORT_FETCH_SIZE);
+            }
+        }
+        writer.flush();
+    }
+
+    // NDJSON rows are the same objects GET /api/tasks returns
+    @Transactional(readOnly = true)
+    public void exportTasks(ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = writer(out);
+        if (format == ExportFormat.CSV) {
+            writeCsvRow(writer, (Object[]) TASK_COLUMNS);
+        }
+        try (Stream<Task> tasks = taskRepository.streamAllForExport()) {
+            int rows = 0;
+            for (Iterator<Task> it = tasks.iterator(); it.hasNext(); ) {
+                Task task = it.next();
+                if (format == ExportFormat.CSV) {
+                    writeCsvRow(writer, task.getId(), task.getType(), task.getStatus(), task.getScheduledTime(),
+                            task.getStatusChangedAt(), task.getOccurrenceDate(), task.getAddress(),
+                            task.getClientName(), task.getClientPhone(), task.getInternalNotes(),
+                            task.getVisitOrder(), task.getRouteId(), task.getOrderId());
+                } else {
+                    writeJsonRow(writer, task);
+                }
+                release(task, ++rows, TaskRepository.EXPORT_FETCH_SIZE);
+            }
+        }
+        writer.flush();
+    }
+
+    // The response stream is owned by the container, so it is flushed here but never closed
+    private static Writer writer(OutputStream out) {
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+
+    private void release(Object entity, int rows, int clearInterval) {
+        entityManager.detach(entity);
+        if (rows % clearInterval == 0) {
+            entityManager.clear();
+        }
+    }
+
+    private void writeJsonRow(Writer writer, Object row) throws IOException {
+        writer.write(objectMapper.writeValueAsString(row));
+        writer.write('\n');
+    }
+
+    static void writeCsvRow(Writer writer, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvField(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    // RFC 4180: fields with a separator, quote or line break are quoted, quotes doubled
+    static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    private static String clientName(Client client) {
+        if (client instanceof Individual individual) {
+            return individual.getFullName();
+        }
+        if (client instanceof Company company) {
+            return company.getName();
+        }
+        return null;
+    }
+
+    private static String format(Date date) {
+        return date != null ? Instant.ofEpochMilli(date.getTime()).toString() : null;
+    }
+}
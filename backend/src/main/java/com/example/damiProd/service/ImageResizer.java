@@ -0,0 +1,222 @@
+package com.example.damiProd.service;
+
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+/**
+ * Decodes uploaded photos and re-encodes them as smaller JPEG renditions.
+ * Uses only the JDK's ImageIO, so it handles JPEG, PNG, GIF and BMP input.
+ *
+ * ImageIO ignores EXIF, so the Orientation tag phones write instead of rotating the pixels
+ * is read here and applied on decode; renditions are written upright and without EXIF.
+ */
+@Component
+public class ImageResizer {
+
+    // The EXIF segment sits right after SOI (possibly behind a JFIF APP0) and is at most 64 KB
+    private static final int EXIF_SCAN_LIMIT = 128 * 1024;
+    private static final int ORIENTATION_TAG = 0x0112;
+
+    /**
+     * @return the decoded image, upright according to its EXIF orientation,
+     *         or empty if the input is not a supported image format
+     */
+    public Optional<BufferedImage> read(InputStream in) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(in, EXIF_SCAN_LIMIT);
+        buffered.mark(EXIF_SCAN_LIMIT);
+        byte[] head = buffered.readNBytes(EXIF_SCAN_LIMIT);
+        buffered.reset();
+
+        BufferedImage image = ImageIO.read(buffered);
+        if (image == null) {
+            return Optional.empty();
+        }
+        return Optional.of(orient(image, exifOrientation(head)));
+    }
+
+    /**
+     * Scales the image so its longer side is at most {@code maxDimension} pixels
+     * (never upscaling) and encodes it as JPEG at the given quality (0..1).
+     */
+    public byte[] toJpeg(BufferedImage source, int maxDimension, float quality) throws IOException {
+        BufferedImage scaled = scale(source, maxDimension);
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(quality);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            writer.write(null, new IIOImage(scaled, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * EXIF Orientation (1..8) of a JPEG, from the start of the file; 1 (as stored) when the
+     * file is not a JPEG, has no EXIF segment or the tag is missing or malformed.
+     */
+    static int exifOrientation(byte[] data) {
+        if (data.length < 4 || (data[0] & 0xFF) != 0xFF || (data[1] & 0xFF) != 0xD8) {
+            return 1;
+        }
+        int pos = 2;
+        while (pos + 4 <= data.length) {
+            if ((data[pos] & 0xFF) != 0xFF) {
+                return 1;
+            }
+            int marker = data[pos + 1] & 0xFF;
+            if (marker == 0xFF) {
+                // Fill byte before the marker
+                pos++;
+                continue;
+            }
+            if (marker == 0xDA || marker == 0xD9) {
+                // Image data starts (or the file ends) before any EXIF segment
+                return 1;
+            }
+            int length = readUnsignedShort(data, pos + 2, false);
+            int segmentStart = pos + 4;
+            int segmentEnd = Math.min(data.length, pos + 2 + length);
+            if (marker == 0xE1 && segmentStart + 6 <= segmentEnd && isExifHeader(data, segmentStart)) {
+                return tiffOrientation(data, segmentStart + 6, segmentEnd);
+            }
+            if (length < 2) {
+                return 1;
+            }
+            pos += 2 + length;
+        }
+        return 1;
+    }
+
+    private static boolean isExifHeader(byte[] data, int pos) {
+        return data[pos] == 'E' && data[pos + 1] == 'x' && data[pos + 2] == 'i' && data[pos + 3] == 'f'
+                && data[pos + 4] == 0 && data[pos + 5] == 0;
+    }
+
+    // Looks the Orientation tag up in IFD0 of the TIFF structure inside the EXIF segment
+    private static int tiffOrientation(byte[] data, int tiffStart, int end) {
+        if (tiffStart + 8 > end) {
+            return 1;
+        }
+        boolean littleEndian;
+        if (data[tiffStart] == 'I' && data[tiffStart + 1] == 'I') {
+            littleEndian = true;
+        } else if (data[tiffStart] == 'M' && data[tiffStart + 1] == 'M') {
+            littleEndian = false;
+        } else {
+            return 1;
+        }
+
+        long ifdOffset = readUnsignedInt(data, tiffStart + 4, littleEndian);
+        if (ifdOffset < 8 || tiffStart + ifdOffset + 2 > end) {
+            return 1;
+        }
+        int ifd = (int) (tiffStart + ifdOffset);
+        int entries = readUnsignedShort(data, ifd, littleEndian);
+        for (int i = 0; i < entries; i++) {
+            int entry = ifd + 2 + i * 12;
+            if (entry + 12 > end) {
+                return 1;
+            }
+            if (readUnsignedShort(data, entry, littleEndian) == ORIENTATION_TAG) {
+                // SHORT value, stored left-aligned in the 4-byte value field
+                int orientation = readUnsignedShort(data, entry + 8, littleEndian);
+                return orientation >= 1 && orientation <= 8 ? orientation : 1;
+            }
+        }
+        return 1;
+    }
+
+    private static int readUnsignedShort(byte[] data, int pos, boolean littleEndian) {
+        int b0 = data[pos] & 0xFF;
+        int b1 = data[pos + 1] & 0xFF;
+        return littleEndian ? b1 << 8 | b0 : b0 << 8 | b1;
+    }
+
+    private static long readUnsignedInt(byte[] data, int pos, boolean littleEndian) {
+        long high = readUnsignedShort(data, littleEndian ? pos + 2 : pos, littleEndian);
+        long low = readUnsignedShort(data, littleEndian ? pos : pos + 2, littleEndian);
+        return high << 16 | low;
+    }
+
+    /**
+     * Turns the stored pixels upright: orientations 2-4 mirror or rotate by 180 degrees,
+     * 5-8 also swap width and height.
+     */
+    static BufferedImage orient(BufferedImage source, int orientation) {
+        if (orientation <= 1 || orientation > 8) {
+            return source;
+        }
+        int w = source.getWidth();
+        int h = source.getHeight();
+        // Maps a stored pixel (x, y) to its upright position
+        AffineTransform transform = switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, w, 0);   // mirrored horizontally
+            case 3 -> new AffineTransform(-1, 0, 0, -1, w, h);  // rotated 180
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, h);   // mirrored vertically
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);    // transposed
+            case 6 -> new AffineTransform(0, 1, -1, 0, h, 0);   // needs 90 clockwise
+            case 7 -> new AffineTransform(0, -1, -1, 0, h, w);  // transversed
+            default -> new AffineTransform(0, -1, 1, 0, 0, w);  // 8: needs 90 counter-clockwise
+        };
+        boolean swap = orientation >= 5;
+        int type = source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage target = new BufferedImage(swap ? h : w, swap ? w : h, type);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.drawImage(source, transform, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    private BufferedImage scale(BufferedImage source, int maxDimension) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double ratio = Math.min(1.0, (double) maxDimension / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(height * ratio));
+
+        // Halve in steps first: a single bilinear pass from 4000px down to 200px aliases badly
+        BufferedImage current = source;
+        while (current.getWidth() / 2 >= targetWidth && current.getHeight() / 2 >= targetHeight) {
+            current = draw(current, current.getWidth() / 2, current.getHeight() / 2);
+        }
+        // Always redraw once, which also flattens alpha and odd color models to plain RGB for JPEG
+        return draw(current, targetWidth, targetHeight);
+    }
+
+    private BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.damiProd.service;
+
+import com.example.damiProd.domain.Order;
+import com.example.damiProd.dto.OrderCoordinates;
+import com.example.damiProd.geo.GeoGridIndex;
+import com.example.damiProd.geo.GeoHit;
+import com.example.damiProd.geo.GeoPoint;
+import com.example.damiProd.repository.OrderRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Spatial index over the parsed Order.locationCoordinates. Built once at
+ * startup and kept current by OrderService on create, update and delete.
+ */
+@Component
+public class OrderLocationIndex {
+
+    // ~2.2 km cells: a typical "near here" radius touches only a handful of them
+    private static final double CELL_DEGREES = 0.02;
+
+    private final OrderRepository orderRepository;
+    private final GeoGridIndex index = new GeoGridIndex(CELL_DEGREES);
+
+    public OrderLocationIndex(OrderRepository orderRepository) {
+        this.orderRepository = orderRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        index.clear();
+        for (OrderCoordinates order : orderRepository.findAllCoordinates()) {
+            GeoPoint.parse(order.locationCoordinates())
+                    .ifPresent(point -> index.put(order.orderId(), point.latitude(), point.longitude()));
+        }
+    }
+
+    /**
+     * Adds, moves or drops the order depending on its current coordinates.
+     */
+    public void update(Order order) {
+        Optional<GeoPoint> point = GeoPoint.parse(order.getLocationCoordinates());
+        if (point.isPresent()) {
+            index.put(order.getId(), point.get().latitude(), point.get().longitude());
+        } else {
+            index.remove(order.getId());
+        }
+    }
+
+    public void remove(Long orderId) {
+        index.remove(orderId);
+    }
+
+    public List<GeoHit> withinRadius(double lat, double lng, double radiusKm, int limit) {
+        return index.withinRadius(lat, lng, radiusKm, limit);
+    }
+
+    public List<GeoHit> nearest(double lat, double lng, int k) {
+        return index.nearest(lat, lng, k);
+    }
+}
@@ -3,12 +3,22 @@ package com.example.damiProd.service;
 import com.example.damiProd.domain.Client;
 import com.example.damiProd.domain.Order;
 import com.example.damiProd.domain.Product;
+import com.example.damiProd.dto.OrderPage;
+import com.example.damiProd.dto.OrderSearchFilter;
+import com.example.damiProd.geo.GeoHit;
 import com.example.damiProd.repository.ClientRepository;
 import com.example.damiProd.repository.OrderRepository;
 import com.example.damiProd.repository.ProductRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class OrderService {
@@ -16,14 +26,19 @@ public class OrderService {
     private final OrderRepository orderRepository;
     private final ClientRepository clientRepository;
     private final ProductRepository productRepository;
+    private final OrderLocationIndex orderLocationIndex;
 
     public OrderService(OrderRepository orderRepository, ClientRepository clientRepository,
-            ProductRepository productRepository) {
+            ProductRepository productRepository, OrderLocationIndex orderLocationIndex) {
         this.orderRepository = orderRepository;
         this.clientRepository = clientRepository;
         this.productRepository = productRepository;
+        this.orderLocationIndex = orderLocationIndex;
     }
 
+    // Write paths are transactional so their reads (client, product, existing order) run on the
+    // primary; a bare repository call would be a read-only transaction and could go to the replica
+    @Transactional
     public Order createOrder(Long clientId, Order order) {
         Client client = clientRepository.findById(clientId)
                 .orElseThrow(() -> new RuntimeException("Client not found with id: " + clientId));
@@ -38,25 +53,56 @@ public class OrderService {
             order.setProduct(product);
         }
 
-        return orderRepository.save(order);
+        Order savedOrder = orderRepository.save(order);
+        orderLocationIndex.update(savedOrder);
+        return savedOrder;
     }
 
     public List<Order> getOrdersByClient(Long clientId) {
         return orderRepository.findByClientId(clientId);
     }
 
+    @Transactional
     public void deleteOrder(Long orderId) {
         orderRepository.deleteById(orderId);
+        orderLocationIndex.remove(orderId);
     }
+    @Transactional(readOnly = true)
     public List<Order> getAllOrders() {
         return orderRepository.findAllWithClientAndProduct();
     }
 
+    /**
+     * Searches orders in two phases: a page of ids from the (indexed) orders table,
+     * then client, product and route definition fetch-joined for just those ids.
+     */
+    @Transactional(readOnly = true)
+    public OrderPage searchOrders(OrderSearchFilter filter, Pageable pageable) {
+        Page<Long> ids = orderRepository.searchIds(filter, pageable);
+        if (ids.isEmpty()) {
+            return new OrderPage(List.of(), pageable.getPageNumber(), pageable.getPageSize(), ids.getTotalElements());
+        }
+
+        Map<Long, Order> byId = orderRepository.findAllWithClientAndProductByIdIn(ids.getContent()).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+        List<Order> orders = new ArrayList<>(byId.size());
+        for (Long id : ids.getContent()) {
+            Order order = byId.get(id);
+            // May be missing if deleted between the two queries
+            if (order != null) {
+                orders.add(order);
+            }
+        }
+        return new OrderPage(orders, pageable.getPageNumber(), pageable.getPageSize(), ids.getTotalElements());
+    }
+
+    @Transactional(readOnly = true)
     public Order getOrderById(Long orderId) {
         return orderRepository.findByIdWithClientAndProduct(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found with id: " + orderId));
     }
 
+    @Transactional
     public Order updateOrder(Long orderId, Order orderDetails) {
         Order existingOrder = orderRepository.findById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found with id: " + orderId));
@@ -66,10 +112,20 @@ public class OrderService {
             existingOrder.setRouteDefinition(orderDetails.getRouteDefinition());
         }
         
-        return orderRepository.save(existingOrder);
+        Order savedOrder = orderRepository.save(existingOrder);
+        orderLocationIndex.update(savedOrder);
+        return savedOrder;
     }
 
     public List<Order> getOrdersByRoute(Long routeDefinitionId) {
         return orderRepository.findByRouteDefinitionId(routeDefinitionId);
     }
+
+    public List<GeoHit> getOrdersNear(double lat, double lng, double radiusKm, int limit) {
+        return orderLocationIndex.withinRadius(lat, lng, radiusKm, limit);
+    }
+
+    public List<GeoHit> getNearestOrders(double lat, double lng, int k) {
+        return orderLocationIndex.nearest(lat, lng, k);
+    }
 }
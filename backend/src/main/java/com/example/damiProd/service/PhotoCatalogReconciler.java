@@ -0,0 +1,135 @@
+package com.example.damiProd.service;
+
+import com.example.damiProd.datasource.ReadYourWrites;
+import com.example.damiProd.domain.PhotoCatalogEntry;
+import com.example.damiProd.dto.PhotoUrls;
+import com.example.damiProd.dto.StoredObject;
+import com.example.damiProd.dto.StoredObjectPage;
+import com.example.damiProd.repository.PhotoCatalogRepository;
+import com.example.damiProd.storage.ObjectStorage;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Brings the photo catalog back in line with the bucket, a few pages per run.
+ *
+ * Two cursors advance independently and wrap around when they reach the end:
+ * one walks the bucket listing and adds objects missing from the catalog, the
+ * other walks the catalog by id and drops entries whose object is gone.
+ * Cursors live in memory; after a restart both sweeps start over.
+ */
+@Component
+public class PhotoCatalogReconciler {
+
+    private static final int BUCKET_PAGE_SIZE = 500;
+    private static final int PAGES_PER_RUN = 10;
+
+    private final ObjectStorage objectStorage;
+    private final PhotoService photoService;
+    private final PhotoCatalogService photoCatalogService;
+    private final PhotoCatalogRepository photoCatalogRepository;
+
+    private String bucketPageToken;
+    private long lastCatalogId;
+
+    public PhotoCatalogReconciler(ObjectStorage objectStorage, PhotoService photoService,
+            PhotoCatalogService photoCatalogService, PhotoCatalogRepository photoCatalogRepository) {
+        this.objectStorage = objectStorage;
+        this.photoService = photoService;
+        this.photoCatalogService = photoCatalogService;
+        this.photoCatalogRepository = photoCatalogRepository;
+    }
+
+    @Scheduled(fixedDelay = 15, initialDelay = 5, timeUnit = TimeUnit.MINUTES)
+    public synchronized void reconcile() {
+        for (int i = 0; i < PAGES_PER_RUN; i++) {
+            addMissingEntries();
+            removeOrphanedEntries();
+        }
+    }
+
+    private void addMissingEntries() {
+        StoredObjectPage page = objectStorage.list(bucketPageToken, BUCKET_PAGE_SIZE);
+        bucketPageToken = page.nextPageToken();
+
+        Map<String, StoredObject> objects = new LinkedHashMap<>();
+        for (StoredObject object : page.objects()) {
+            objects.put(object.name(), object);
+        }
+        if (objects.isEmpty()) {
+            return;
+        }
+
+        // Catalog reads go to the primary: a lagging replica would miss what this run just recorded
+        objects.keySet().removeAll(ReadYourWrites.call(
+                () -> photoCatalogRepository.findExistingObjectNames(objects.keySet())));
+
+        // An original sorts before its renditions ("a.png" < "a_display.jpg"), so it is recorded
+        // (on this page or an earlier one) before they are looked up as its display/thumbnail URLs
+        Map<String, StoredObject> renditionCandidates = new LinkedHashMap<>();
+        List<StoredObject> originals = new ArrayList<>();
+        for (StoredObject object : objects.values()) {
+            if (photoService.hasRenditionName(object.name())) {
+                renditionCandidates.put(photoService.publicUrl(object.name()), object);
+            } else {
+                originals.add(object);
+            }
+        }
+        record(originals);
+        if (renditionCandidates.isEmpty()) {
+            return;
+        }
+        Set<String> renditionUrls = ReadYourWrites.call(
+                () -> photoCatalogService.findRenditionUrls(renditionCandidates.keySet()));
+        List<StoredObject> namedLikeRenditions = new ArrayList<>();
+        for (Map.Entry<String, StoredObject> candidate : renditionCandidates.entrySet()) {
+            if (!renditionUrls.contains(candidate.getKey())) {
+                // Named like a rendition, but no catalogued photo points to it: an original
+                namedLikeRenditions.add(candidate.getValue());
+            }
+        }
+        record(namedLikeRenditions);
+    }
+
+    private void record(List<StoredObject> objects) {
+        if (objects.isEmpty()) {
+            return;
+        }
+        Map<String, PhotoUrls> urls = photoService.urlsFor(objects);
+        for (StoredObject object : objects) {
+            // Owner is unknown for objects that bypassed the upload path
+            LocalDateTime createdAt = object.createdAt() != null
+                    ? LocalDateTime.ofInstant(object.createdAt(), ZoneId.systemDefault())
+                    : LocalDateTime.now();
+            photoCatalogService.record(object.name(), null, object.sizeBytes(), object.contentType(),
+                    urls.get(object.name()), createdAt);
+        }
+    }
+
+    private void removeOrphanedEntries() {
+        List<PhotoCatalogEntry> entries = photoCatalogRepository.findTop100ByIdGreaterThanOrderByIdAsc(lastCatalogId);
+        if (entries.isEmpty()) {
+            lastCatalogId = 0;
+            return;
+        }
+        lastCatalogId = entries.get(entries.size() - 1).getId();
+
+        List<String> names = new ArrayList<>(entries.size());
+        for (PhotoCatalogEntry entry : entries) {
+            names.add(entry.getObjectName());
+        }
+        Set<String> orphaned = new HashSet<>(names);
+        orphaned.removeAll(objectStorage.findExisting(names));
+        photoCatalogService.remove(orphaned);
+    }
+}
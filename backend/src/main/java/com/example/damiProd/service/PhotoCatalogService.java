@@ -0,0 +1,106 @@
+package com.example.damiProd.service;
+
+import com.example.damiProd.domain.PhotoCatalogEntry;
+import com.example.damiProd.domain.PhotoOwnerType;
+import com.example.damiProd.dto.PhotoCatalogPage;
+import com.example.damiProd.dto.PhotoOwner;
+import com.example.damiProd.dto.PhotoUrls;
+import com.example.damiProd.repository.PhotoCatalogRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Database copy of what is in the photo bucket, written by PhotoService on
+ * every upload and delete and kept honest by PhotoCatalogReconciler.
+ */
+@Service
+public class PhotoCatalogService {
+
+    private final PhotoCatalogRepository photoCatalogRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public PhotoCatalogService(PhotoCatalogRepository photoCatalogRepository,
+            PlatformTransactionManager transactionManager) {
+        this.photoCatalogRepository = photoCatalogRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // A failed insert spoils its transaction, so each attempt gets its own
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Inserts or updates the entry for an object (re-uploads with a custom name overwrite the object).
+     * An upload and the reconciler (or two uploads) may record the same object at once; the one
+     * whose insert loses on the unique object_name index updates the row the other one wrote.
+     */
+    public PhotoCatalogEntry record(String objectName, PhotoOwner owner, Long sizeBytes, String contentType,
+            PhotoUrls urls, LocalDateTime createdAt) {
+        try {
+            return transactionTemplate.execute(status ->
+                    upsert(objectName, owner, sizeBytes, contentType, urls, createdAt));
+        } catch (DataIntegrityViolationException e) {
+            return transactionTemplate.execute(status ->
+                    upsert(objectName, owner, sizeBytes, contentType, urls, createdAt));
+        }
+    }
+
+    private PhotoCatalogEntry upsert(String objectName, PhotoOwner owner, Long sizeBytes, String contentType,
+            PhotoUrls urls, LocalDateTime createdAt) {
+        PhotoCatalogEntry entry = photoCatalogRepository.findByObjectName(objectName)
+                .orElseGet(() -> new PhotoCatalogEntry(objectName));
+        if (owner != null) {
+            entry.setOwnerType(owner.type());
+            entry.setOwnerId(owner.id());
+        }
+        entry.setSizeBytes(sizeBytes);
+        entry.setContentType(contentType);
+        entry.setCreatedAt(createdAt);
+        entry.setUrl(urls.url());
+        entry.setDisplayUrl(urls.displayUrl());
+        entry.setThumbnailUrl(urls.thumbnailUrl());
+        // Flushed here so a duplicate insert fails inside the attempt, not at commit
+        return photoCatalogRepository.saveAndFlush(entry);
+    }
+
+    @Transactional
+    public void remove(Collection<String> objectNames) {
+        if (!objectNames.isEmpty()) {
+            photoCatalogRepository.deleteByObjectNameIn(objectNames);
+        }
+    }
+
+    /**
+     * The URLs among the given ones that are the display or thumbnail rendition of a catalogued photo.
+     */
+    @Transactional(readOnly = true)
+    public Set<String> findRenditionUrls(Collection<String> urls) {
+        Set<String> renditions = new HashSet<>(photoCatalogRepository.findExistingDisplayUrls(urls));
+        renditions.addAll(photoCatalogRepository.findExistingThumbnailUrls(urls));
+        return renditions;
+    }
+
+    @Transactional(readOnly = true)
+    public PhotoCatalogPage findByPrefix(String prefix, int page, int size) {
+        Slice<PhotoCatalogEntry> slice = photoCatalogRepository.findByObjectNameStartingWith(
+                prefix != null ? prefix : "", PageRequest.of(page, size, Sort.by("objectName")));
+        return new PhotoCatalogPage(slice.getContent(), page, size, slice.hasNext());
+    }
+
+    @Transactional(readOnly = true)
+    public PhotoCatalogPage findByOwner(PhotoOwnerType ownerType, Long ownerId, int page, int size) {
+        Slice<PhotoCatalogEntry> slice = photoCatalogRepository.findByOwnerTypeAndOwnerId(
+                ownerType, ownerId, PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt")));
+        return new PhotoCatalogPage(slice.getContent(), page, size, slice.hasNext());
+    }
+}
@@ -1,40 +1,54 @@
 package com.example.damiProd.service;
 
-import com.google.cloud.storage.Blob;
-import com.google.cloud.storage.BlobId;
-import com.google.cloud.storage.BlobInfo;
-import com.google.cloud.storage.Storage;
-import com.google.cloud.storage.StorageOptions;
-import org.springframework.beans.factory.annotation.Value;
+import com.example.damiProd.dto.PhotoOwner;
+import com.example.damiProd.dto.PhotoUrls;
+import com.example.damiProd.dto.StoredObject;
+import com.example.damiProd.metrics.StorageMetrics;
+import com.example.damiProd.storage.ObjectStorage;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 public class PhotoService {
 
-    @Value("${gcp.project-id}")
-    private String projectId;
+    // Renditions are always JPEG: "display" for full-screen viewing, "thumb" for list previews
+    private static final String DISPLAY_SUFFIX = "_display";
+    private static final String THUMBNAIL_SUFFIX = "_thumb";
+    private static final int DISPLAY_MAX_PX = 1600;
+    private static final float DISPLAY_QUALITY = 0.8f;
+    private static final int THUMBNAIL_MAX_PX = 200;
+    private static final float THUMBNAIL_QUALITY = 0.7f;
+    private static final String JPEG = "image/jpeg";
 
-    @Value("${gcp.bucket-name}")
-    private String bucketName;
+    private final ObjectStorage objectStorage;
+    private final ImageResizer imageResizer;
+    private final PhotoCatalogService photoCatalogService;
+    private final StorageMetrics storageMetrics;
 
-    private Storage storage;
-
-    // Initialize Storage lazily or in a method to ensure properties are injected
-    private Storage getStorage() {
-        if (storage == null) {
-            storage = StorageOptions.newBuilder().setProjectId(projectId).build().getService();
-        }
-        return storage;
+    public PhotoService(ObjectStorage objectStorage, ImageResizer imageResizer,
+            PhotoCatalogService photoCatalogService, StorageMetrics storageMetrics) {
+        this.objectStorage = objectStorage;
+        this.imageResizer = imageResizer;
+        this.photoCatalogService = photoCatalogService;
+        this.storageMetrics = storageMetrics;
     }
 
     /**
-     * Uploads a file to Google Cloud Storage.
+     * Uploads a file to object storage.
      *
      * @param file The MultipartFile to upload.
      * @return The public URL of the uploaded file.
@@ -51,7 +65,7 @@ public class PhotoService {
     }
 
     /**
-     * Uploads a file to a specific folder in Google Cloud Storage.
+     * Uploads a file to a specific folder in object storage.
      *
      * @param file   The MultipartFile to upload.
      * @param folder The folder path (e.g. "Individual Client Ids/"). Can be null.
@@ -72,7 +86,105 @@ public class PhotoService {
      * @throws IOException If an I/O error occurs.
      */
     public String uploadPhoto(MultipartFile file, String folder, String customFileName) throws IOException {
-        String originalFileName = file.getOriginalFilename();
+        return uploadPhotoWithRenditions(file, folder, customFileName).url();
+    }
+
+    /**
+     * Uploads the original file plus a compressed display rendition and a small
+     * thumbnail, stored next to it as {@code <name>_display.jpg} and {@code <name>_thumb.jpg}.
+     *
+     * @param file           The MultipartFile to upload.
+     * @param folder         The folder path. Can be null.
+     * @param customFileName The desired filename (without extension). Can be null.
+     * @return The public URLs of the original and its renditions.
+     * @throws IOException If an I/O error occurs.
+     */
+    public PhotoUrls uploadPhotoWithRenditions(MultipartFile file, String folder, String customFileName)
+            throws IOException {
+        return uploadPhotoWithRenditions(file, folder, customFileName, null);
+    }
+
+    /**
+     * Same as {@link #uploadPhotoWithRenditions(MultipartFile, String, String)}, recording
+     * the owner of the photo in the catalog.
+     *
+     * @param owner The client or task the photo belongs to. Can be null.
+     */
+    public PhotoUrls uploadPhotoWithRenditions(MultipartFile file, String folder, String customFileName,
+            PhotoOwner owner) throws IOException {
+        String objectName = buildObjectName(file.getOriginalFilename(), folder, customFileName);
+
+        try (InputStream in = file.getInputStream()) {
+            storageMetrics.upload("original", file.getSize(),
+                    () -> objectStorage.put(objectName, in, file.getContentType()));
+        }
+
+        PhotoUrls urls;
+        try (InputStream in = file.getInputStream()) {
+            urls = uploadRenditions(in, objectName);
+        }
+        photoCatalogService.record(objectName, owner, file.getSize(), file.getContentType(), urls,
+                LocalDateTime.now());
+        return urls;
+    }
+
+    /**
+     * Uploads a file that is already on local disk (e.g. spooled by an async upload),
+     * together with its renditions.
+     *
+     * @param source      The local file to upload.
+     * @param objectName  The full object name, as built by {@link #buildObjectName}.
+     * @param contentType The MIME type to store with the object. Can be null.
+     * @param owner       The client or task the photo belongs to. Can be null.
+     * @return The public URLs of the original and its renditions.
+     * @throws IOException If an I/O error occurs.
+     */
+    public PhotoUrls uploadPhotoWithRenditions(Path source, String objectName, String contentType,
+            PhotoOwner owner) throws IOException {
+        storageMetrics.upload("original", Files.size(source), () -> objectStorage.put(objectName, source, contentType));
+
+        PhotoUrls urls;
+        try (InputStream in = Files.newInputStream(source)) {
+            urls = uploadRenditions(in, objectName);
+        }
+        photoCatalogService.record(objectName, owner, Files.size(source), contentType, urls, LocalDateTime.now());
+        return urls;
+    }
+
+    private PhotoUrls uploadRenditions(InputStream original, String objectName) throws IOException {
+        String url = publicUrl(objectName);
+        BufferedImage image = imageResizer.read(original).orElse(null);
+        if (image == null) {
+            // Not an image ImageIO can decode; keep just the original
+            return new PhotoUrls(url, null, null);
+        }
+
+        String displayName = renditionObjectName(objectName, DISPLAY_SUFFIX);
+        String thumbnailName = renditionObjectName(objectName, THUMBNAIL_SUFFIX);
+        byte[] display = imageResizer.toJpeg(image, DISPLAY_MAX_PX, DISPLAY_QUALITY);
+        storageMetrics.upload("display", display.length, () -> objectStorage.put(displayName, display, JPEG));
+        byte[] thumbnail = imageResizer.toJpeg(image, THUMBNAIL_MAX_PX, THUMBNAIL_QUALITY);
+        storageMetrics.upload("thumb", thumbnail.length, () -> objectStorage.put(thumbnailName, thumbnail, JPEG));
+        return new PhotoUrls(url, publicUrl(displayName), publicUrl(thumbnailName));
+    }
+
+    /**
+     * Object name of a rendition: the suffix goes before the extension, which becomes .jpg
+     * (e.g. "Individual Client Ids/12_Ion.png" -> "Individual Client Ids/12_Ion_thumb.jpg").
+     */
+    private String renditionObjectName(String objectName, String suffix) {
+        int slash = objectName.lastIndexOf('/');
+        int dot = objectName.lastIndexOf('.');
+        String base = dot > slash ? objectName.substring(0, dot) : objectName;
+        return base + suffix + ".jpg";
+    }
+
+    /**
+     * Builds the object name for an upload: optional folder, then either the
+     * sanitized custom name plus the original extension, or a timestamp/UUID
+     * prefixed copy of the original name.
+     */
+    public String buildObjectName(String originalFileName, String folder, String customFileName) {
         if (originalFileName == null) {
             originalFileName = "unknown.jpg";
         }
@@ -102,20 +214,15 @@ public class PhotoService {
             }
             objectName = folder + fileName;
         }
+        return objectName;
+    }
 
-        BlobId blobId = BlobId.of(bucketName, objectName);
-        BlobInfo blobInfo = BlobInfo.newBuilder(blobId)
-                .setContentType(file.getContentType())
-                .build();
-
-        getStorage().createFrom(blobInfo, file.getInputStream());
-
-        // Assuming the bucket is public or we want the public link style
-        return String.format("https://storage.googleapis.com/%s/%s", bucketName, objectName);
+    public String publicUrl(String objectName) {
+        return objectStorage.publicUrl(objectName);
     }
 
     /**
-     * Deletes a photo from Google Cloud Storage given its full URL or filename.
+     * Deletes a photo from object storage given its full URL or filename.
      *
      * @param photoUrlOrName The full URL
      *                       (https://storage.googleapis.com/bucket/name) or just
@@ -123,33 +230,47 @@ public class PhotoService {
      * @return true if deleted, false if not found.
      */
     public boolean deletePhoto(String photoUrlOrName) {
-        String objectName = extractObjectName(photoUrlOrName);
-        BlobId blobId = BlobId.of(bucketName, objectName);
-        return getStorage().delete(blobId);
+        String objectName = objectStorage.objectNameFromUrl(photoUrlOrName);
+        boolean deleted = objectStorage.delete(objectName);
+        // Renditions may not exist (non-image uploads); delete returns false then
+        objectStorage.delete(renditionObjectName(objectName, DISPLAY_SUFFIX));
+        objectStorage.delete(renditionObjectName(objectName, THUMBNAIL_SUFFIX));
+        photoCatalogService.remove(List.of(objectName));
+        return deleted;
     }
 
     /**
-     * Lists all photo URLs in the configured bucket.
-     *
-     * @return A list of public URLs for all objects in the bucket.
+     * URLs for objects found in the bucket, by object name. Display and thumbnail URLs are only
+     * set when those renditions exist (photos uploaded before renditions were introduced have none);
+     * their existence is checked with one storage call for the whole batch.
      */
-    public List<String> getPhotos() {
-        List<String> photoUrls = new ArrayList<>();
-
-        // Iterate over all blobs in the bucket
-        for (Blob blob : getStorage().list(bucketName).iterateAll()) {
-            photoUrls.add(String.format("https://storage.googleapis.com/%s/%s", bucketName, blob.getName()));
+    public Map<String, PhotoUrls> urlsFor(Collection<StoredObject> objects) {
+        List<String> renditionNames = new ArrayList<>();
+        for (StoredObject object : objects) {
+            if (object.contentType() != null && object.contentType().startsWith("image/")) {
+                renditionNames.add(renditionObjectName(object.name(), DISPLAY_SUFFIX));
+                renditionNames.add(renditionObjectName(object.name(), THUMBNAIL_SUFFIX));
+            }
         }
+        Set<String> existing = renditionNames.isEmpty() ? Set.of() : objectStorage.findExisting(renditionNames);
 
-        return photoUrls;
+        Map<String, PhotoUrls> urls = new LinkedHashMap<>();
+        for (StoredObject object : objects) {
+            String displayName = renditionObjectName(object.name(), DISPLAY_SUFFIX);
+            String thumbnailName = renditionObjectName(object.name(), THUMBNAIL_SUFFIX);
+            urls.put(object.name(), new PhotoUrls(publicUrl(object.name()),
+                    existing.contains(displayName) ? publicUrl(displayName) : null,
+                    existing.contains(thumbnailName) ? publicUrl(thumbnailName) : null));
+        }
+        return urls;
     }
 
-    private String extractObjectName(String input) {
-        // If input is a URL, extract the last part
-        String prefix = String.format("https://storage.googleapis.com/%s/", bucketName);
-        if (input.startsWith(prefix)) {
-            return input.substring(prefix.length());
-        }
-        return input;
+    /**
+     * Whether the name has the shape of a rendition. Originals can have such names too (uploads
+     * keep the client's file name), so this is only a pre-filter: an object is a rendition when
+     * the catalog lists its URL as the display or thumbnail URL of a photo.
+     */
+    public boolean hasRenditionName(String objectName) {
+        return objectName.endsWith(DISPLAY_SUFFIX + ".jpg") || objectName.endsWith(THUMBNAIL_SUFFIX + ".jpg");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,211 @@
+package com.example.damiProd.service;
+
+import com.example.damiProd.dto.PhotoOwner;
+import com.example.damiProd.dto.PhotoUploadStatus;
+import com.example.damiProd.dto.PhotoUrls;
+import com.example.damiProd.dto.PhotoUploadStatus.State;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Accepts photo uploads without holding the request open for the transfer to storage.
+ *
+ * The request only spools the file to local disk; a bounded pool of workers then
+ * pushes it to storage with retries. Callers poll {@link #getStatus} by upload id.
+ * Job state is kept in memory, so it does not survive a restart: after one, the status
+ * of an earlier upload id is unknown (404) and the client has to upload the file again.
+ * Files spooled before the restart are deleted at startup rather than retried, because
+ * the callback that would have recorded their URLs is gone with the job.
+ */
+@Service
+public class PhotoUploadService {
+
+    private static final Logger log = LoggerFactory.getLogger(PhotoUploadService.class);
+
+    private static final String SPOOL_SUFFIX = ".upload";
+    private static final Duration FINISHED_JOB_RETENTION = Duration.ofHours(1);
+    private static final long INITIAL_BACKOFF_MS = 1000;
+
+    private final PhotoService photoService;
+    private final Path spoolDir;
+    private final int maxAttempts;
+    private final ThreadPoolExecutor workers;
+    private final Map<String, UploadJob> jobs = new ConcurrentHashMap<>();
+
+    public PhotoUploadService(PhotoService photoService,
+            @Value("${photos.spool-dir}") String spoolDir,
+            @Value("${photos.upload-workers:4}") int workerCount,
+            @Value("${photos.upload-queue-capacity:200}") int queueCapacity,
+            @Value("${photos.upload-max-attempts:3}") int maxAttempts) throws IOException {
+        this.photoService = photoService;
+        this.spoolDir = Files.createDirectories(Path.of(spoolDir));
+        deleteOrphanedSpoolFiles();
+        this.maxAttempts = maxAttempts;
+        // Uploads are I/O bound, so virtual threads; the fixed size and queue bound the backlog
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofVirtual().name("photo-upload-", 0).factory());
+    }
+
+    // No job refers to these any more; without this they would pile up across restarts
+    private void deleteOrphanedSpoolFiles() throws IOException {
+        int deleted = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(spoolDir, "*" + SPOOL_SUFFIX)) {
+            for (Path file : files) {
+                if (Files.deleteIfExists(file)) {
+                    deleted++;
+                }
+            }
+        }
+        if (deleted > 0) {
+            log.warn("Deleted {} photo upload(s) left in {} by a previous run", deleted, spoolDir);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdown();
+    }
+
+    /**
+     * Spools the file and queues it for upload.
+     *
+     * @param owner      The client or task the photo belongs to, recorded in the catalog. Can be null.
+     * @param onUploaded Called with the public URLs once the upload succeeds, on a worker thread.
+     * @throws RejectedExecutionException If the upload queue is full.
+     */
+    public PhotoUploadStatus submit(MultipartFile file, String folder, String customFileName, PhotoOwner owner,
+            Consumer<PhotoUrls> onUploaded) throws IOException {
+        String uploadId = UUID.randomUUID().toString();
+        Path spooled = spoolDir.resolve(uploadId + SPOOL_SUFFIX);
+        file.transferTo(spooled);
+
+        String objectName = photoService.buildObjectName(file.getOriginalFilename(), folder, customFileName);
+        UploadJob job = new UploadJob(uploadId, objectName, file.getContentType(), owner, spooled,
+                onUploaded);
+        jobs.put(uploadId, job);
+
+        try {
+            workers.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(uploadId);
+            Files.deleteIfExists(spooled);
+            throw e;
+        }
+        return job.status();
+    }
+
+    public Optional<PhotoUploadStatus> getStatus(String uploadId) {
+        return Optional.ofNullable(jobs.get(uploadId)).map(UploadJob::status);
+    }
+
+    @Scheduled(fixedDelay = 10, timeUnit = TimeUnit.MINUTES)
+    public void purgeFinishedJobs() {
+        Instant cutoff = Instant.now().minus(FINISHED_JOB_RETENTION);
+        jobs.values().removeIf(job -> job.isFinished() && job.createdAt.isBefore(cutoff));
+    }
+
+    private void run(UploadJob job) {
+        try {
+            for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+                job.update(State.UPLOADING, null, null, attempt);
+                try {
+                    PhotoUrls urls = photoService.uploadPhotoWithRenditions(job.spooled, job.objectName,
+                            job.contentType, job.owner);
+                    job.update(State.COMPLETED, urls, null, attempt);
+                    notifyUploaded(job, urls, attempt);
+                    return;
+                } catch (Exception e) {
+                    if (attempt == maxAttempts) {
+                        job.update(State.FAILED, null, e.getMessage(), attempt);
+                        return;
+                    }
+                    Thread.sleep(INITIAL_BACKOFF_MS << (attempt - 1));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.update(State.FAILED, null, "Upload interrupted", job.attempts);
+        } finally {
+            try {
+                Files.deleteIfExists(job.spooled);
+            } catch (IOException e) {
+                // Left for the OS temp cleanup
+            }
+        }
+    }
+
+    private void notifyUploaded(UploadJob job, PhotoUrls urls, int attempt) {
+        try {
+            job.onUploaded.accept(urls);
+        } catch (RuntimeException e) {
+            // The photo is in storage, but whatever should reference it was not updated
+            job.update(State.FAILED, urls, "Uploaded, but saving the URL failed: " + e.getMessage(), attempt);
+        }
+    }
+
+    private static final class UploadJob {
+        private final String uploadId;
+        private final String objectName;
+        private final String contentType;
+        private final PhotoOwner owner;
+        private final Path spooled;
+        private final Consumer<PhotoUrls> onUploaded;
+        private final Instant createdAt = Instant.now();
+
+        private volatile State state = State.QUEUED;
+        private volatile PhotoUrls urls;
+        private volatile String error;
+        private volatile int attempts;
+
+        UploadJob(String uploadId, String objectName, String contentType, PhotoOwner owner, Path spooled,
+                Consumer<PhotoUrls> onUploaded) {
+            this.uploadId = uploadId;
+            this.objectName = objectName;
+            this.contentType = contentType;
+            this.owner = owner;
+            this.spooled = spooled;
+            this.onUploaded = onUploaded;
+        }
+
+        synchronized void update(State state, PhotoUrls urls, String error, int attempts) {
+            this.state = state;
+            this.urls = urls;
+            this.error = error;
+            this.attempts = attempts;
+        }
+
+        synchronized PhotoUploadStatus status() {
+            return new PhotoUploadStatus(uploadId, state,
+                    urls != null ? urls.url() : null,
+                    urls != null ? urls.displayUrl() : null,
+                    urls != null ? urls.thumbnailUrl() : null,
+                    error, attempts, createdAt);
+        }
+
+        boolean isFinished() {
+            return state == State.COMPLETED || state == State.FAILED;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.damiProd.service;
+
+import com.example.damiProd.domain.EmployeeRole;
+import com.example.damiProd.domain.Product;
+import com.example.damiProd.domain.ReferenceDataRegions;
+import com.example.damiProd.domain.RouteDefinition;
+import com.example.damiProd.dto.CacheRegionStats;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Explicit eviction and hit/miss statistics for the reference data regions.
+ *
+ * READ_WRITE regions are already kept current by Hibernate for writes through JPA;
+ * controllers still evict after writes so changes made outside this JVM's session
+ * factory (SQL console, another instance) are picked up on the next write here
+ * instead of waiting for the TTL.
+ */
+@Component
+public class ReferenceDataCache {
+
+    private static final String QUERY_RESULTS_REGION = "default-query-results-region";
+
+    private final SessionFactory sessionFactory;
+
+    public ReferenceDataCache(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    public void evictProducts() {
+        sessionFactory.getCache().evictEntityData(Product.class);
+        sessionFactory.getCache().evictDefaultQueryRegion();
+    }
+
+    public void evictRouteDefinitions() {
+        sessionFactory.getCache().evictEntityData(RouteDefinition.class);
+        sessionFactory.getCache().evictDefaultQueryRegion();
+    }
+
+    public void evictEmployeeRoles() {
+        sessionFactory.getCache().evictEntityData(EmployeeRole.class);
+        sessionFactory.getCache().evictRegion(ReferenceDataRegions.EMPLOYEE_ROLES);
+        sessionFactory.getCache().evictDefaultQueryRegion();
+    }
+
+    /**
+     * Counters per region; requires hibernate.generate_statistics=true, otherwise all zero.
+     */
+    public List<CacheRegionStats> getStats() {
+        Statistics statistics = sessionFactory.getStatistics();
+        List<CacheRegionStats> stats = new ArrayList<>();
+        for (String region : List.of(ReferenceDataRegions.PRODUCT, ReferenceDataRegions.ROUTE_DEFINITION,
+                ReferenceDataRegions.EMPLOYEE_ROLE, ReferenceDataRegions.EMPLOYEE_ROLES)) {
+            CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(region);
+            stats.add(new CacheRegionStats(region, regionStatistics.getHitCount(), regionStatistics.getMissCount(),
+                    regionStatistics.getPutCount(), regionStatistics.getElementCountInMemory()));
+        }
+        stats.add(new CacheRegionStats(QUERY_RESULTS_REGION, statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount(), -1));
+        return stats;
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.damiProd.service;
+
+import com.example.damiProd.dto.RouteOptimizationResult;
+import com.example.damiProd.dto.TaskLocation;
+import com.example.damiProd.geo.GeoPoint;
+import com.example.damiProd.geo.RouteSequenceOptimizer;
+import com.example.damiProd.repository.RouteRepository;
+import com.example.damiProd.repository.TaskRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+@Service
+public class RouteOptimizationService {
+
+    private final RouteRepository routeRepository;
+    private final TaskRepository taskRepository;
+
+    // CPU-bound work only; DB reads and writes stay on the calling thread and its transaction
+    private final ForkJoinPool optimizerPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    public RouteOptimizationService(RouteRepository routeRepository, TaskRepository taskRepository) {
+        this.routeRepository = routeRepository;
+        this.taskRepository = taskRepository;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        optimizerPool.shutdown();
+    }
+
+    /**
+     * Recomputes and persists the visiting order of one route's tasks.
+     */
+    @Transactional
+    public RouteOptimizationResult optimizeRoute(Long routeId) {
+        if (!routeRepository.existsById(routeId)) {
+            throw new RuntimeException("Ruta nu a fost găsită");
+        }
+        RouteOptimizationResult result = optimize(routeId, taskRepository.findLocationsByRouteId(routeId));
+        saveVisitOrders(List.of(result));
+        return result;
+    }
+
+    /**
+     * Optimizes every route scheduled on the given date. Counties are
+     * independent, so each county is computed as a separate job on the pool.
+     */
+    @Transactional
+    public List<RouteOptimizationResult> optimizeRoutesOn(LocalDate date) {
+        Map<String, Map<Long, List<TaskLocation>>> byCounty = new LinkedHashMap<>();
+        for (TaskLocation location : taskRepository.findLocationsByRouteDate(date)) {
+            byCounty.computeIfAbsent(Objects.toString(location.county(), ""), c -> new LinkedHashMap<>())
+                    .computeIfAbsent(location.routeId(), r -> new ArrayList<>())
+                    .add(location);
+        }
+
+        List<Callable<List<RouteOptimizationResult>>> jobs = new ArrayList<>();
+        for (Map<Long, List<TaskLocation>> routes : byCounty.values()) {
+            jobs.add(() -> {
+                List<RouteOptimizationResult> countyResults = new ArrayList<>();
+                routes.forEach((routeId, locations) -> countyResults.add(optimize(routeId, locations)));
+                return countyResults;
+            });
+        }
+
+        List<RouteOptimizationResult> results = new ArrayList<>();
+        try {
+            for (Future<List<RouteOptimizationResult>> future : optimizerPool.invokeAll(jobs)) {
+                results.addAll(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Optimizarea rutelor a fost întreruptă", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Optimizarea rutelor a eșuat", e.getCause());
+        }
+
+        saveVisitOrders(results);
+        return results;
+    }
+
+    static RouteOptimizationResult optimize(Long routeId, List<TaskLocation> locations) {
+        List<Long> locatedIds = new ArrayList<>();
+        List<GeoPoint> points = new ArrayList<>();
+        List<Long> unlocatedIds = new ArrayList<>();
+
+        for (TaskLocation location : locations) {
+            // Order coordinates first; the task address holds coordinates when the client had no address
+            Optional<GeoPoint> point = GeoPoint.parse(location.orderCoordinates())
+                    .or(() -> GeoPoint.parse(location.address()));
+            if (point.isPresent()) {
+                locatedIds.add(location.taskId());
+                points.add(point.get());
+            } else {
+                unlocatedIds.add(location.taskId());
+            }
+        }
+
+        int n = points.size();
+        double[] lat = new double[n];
+        double[] lng = new double[n];
+        int[] current = new int[n];
+        for (int i = 0; i < n; i++) {
+            lat[i] = points.get(i).latitude();
+            lng[i] = points.get(i).longitude();
+            current[i] = i;
+        }
+
+        int[] order = RouteSequenceOptimizer.optimize(lat, lng);
+
+        List<Long> orderedTaskIds = new ArrayList<>(locations.size());
+        for (int index : order) {
+            orderedTaskIds.add(locatedIds.get(index));
+        }
+        orderedTaskIds.addAll(unlocatedIds);
+
+        return new RouteOptimizationResult(
+                routeId,
+                orderedTaskIds,
+                RouteSequenceOptimizer.pathLengthKm(lat, lng, current),
+                RouteSequenceOptimizer.pathLengthKm(lat, lng, order),
+                unlocatedIds.size());
+    }
+
+    private void saveVisitOrders(List<RouteOptimizationResult> results) {
+        Map<Long, Integer> visitOrders = new HashMap<>();
+        for (RouteOptimizationResult result : results) {
+            List<Long> taskIds = result.orderedTaskIds();
+            for (int i = 0; i < taskIds.size(); i++) {
+                visitOrders.put(taskIds.get(i), i);
+            }
+        }
+        taskRepository.updateVisitOrders(visitOrders);
+    }
+}
@@ -2,11 +2,13 @@ package com.example.damiProd.service;
 
 import com.example.damiProd.domain.Employee;
 import com.example.damiProd.domain.Route;
+import com.example.damiProd.dto.DriverDaySheet;
 import com.example.damiProd.repository.EmployeeRepository;
 import com.example.damiProd.repository.RouteRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Service
@@ -20,41 +22,44 @@ public class RouteService {
         this.employeeRepository = employeeRepository;
     }
 
+    // Tasks and driver are serialized with each route; loading them lazily was 1 + 2N queries
+    @Transactional(readOnly = true)
     public List<Route> getAllRoutes() {
-        return routeRepository.findAll();
+        return routeRepository.findAllWithTasksBy();
     }
 
     @Transactional(readOnly = true)
     public List<Route> getRoutesByCounty(String county) {
-        List<Route> routes = routeRepository.findByCounty(county);
-        // Force loading of tasks for each route
-        routes.forEach(route -> route.getTasks().size());
-        return routes;
+        return routeRepository.findWithTasksByCounty(county);
     }
 
+    @Transactional
     public Route createRoute(Route route) {
         return routeRepository.save(route);
     }
 
+    @Transactional
     public void deleteRoute(Long id) {
         routeRepository.deleteById(id);
     }
     
     @Transactional(readOnly = true)
     public Route getRouteById(Long id) {
-        Route route = routeRepository.findById(id)
+        return routeRepository.findWithTasksById(id)
                 .orElseThrow(() -> new RuntimeException("Ruta nu a fost găsită"));
-        // Force loading of tasks (triggers lazy loading within transaction)
-        route.getTasks().size();
-        return route;
     }
 
     @Transactional(readOnly = true)
     public List<Route> getRoutesByEmployeeId(Long employeeId) {
-        List<Route> routes = routeRepository.findByEmployee_Id(employeeId);
-        // Force loading of tasks for each route
-        routes.forEach(route -> route.getTasks().size());
-        return routes;
+        return routeRepository.findWithTasksByEmployee_Id(employeeId);
+    }
+
+    /**
+     * Builds the day sheet for a driver from a single projection query.
+     */
+    @Transactional(readOnly = true)
+    public DriverDaySheet getDriverDaySheet(Long employeeId, LocalDate date) {
+        return new DriverDaySheet(employeeId, date, routeRepository.findDaySheet(employeeId, date));
     }
 
     @Transactional
@@ -0,0 +1,207 @@
+package com.example.damiProd.service;
+
+import com.example.damiProd.datasource.ReadYourWrites;
+import com.example.damiProd.domain.Task;
+import com.example.damiProd.domain.TaskStatus;
+import com.example.damiProd.domain.TaskType;
+import com.example.damiProd.dto.SanitizationRunResult;
+import com.example.damiProd.dto.SanitizationSchedule;
+import com.example.damiProd.dto.TaskOccurrence;
+import com.example.damiProd.repository.OrderRepository;
+import com.example.damiProd.repository.TaskRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Materializes recurring SANITIZATION tasks for orders with igienizariPerMonth > 0
+ * over a rolling horizon (today .. today + sanitization.horizon-days).
+ *
+ * Each month gets igienizariPerMonth occurrences spread evenly over its days, limited
+ * to the order's start/end dates. Occurrences are identified by (order, day), so a run
+ * only inserts the ones not generated yet; the unique index on (order_id, occurrence_date)
+ * backs this up. Orders are partitioned by route definition city (Order has no county)
+ * and partitions are processed in parallel, each in its own transaction with one batch insert.
+ *
+ * Generated tasks have no route; they are assigned like any other task.
+ */
+@Service
+public class SanitizationTaskGenerator {
+
+    // Keeps IN lists well below database parameter limits
+    private static final int ORDER_ID_CHUNK = 1000;
+    private static final LocalTime SCHEDULED_AT = LocalTime.of(8, 0);
+
+    private final OrderRepository orderRepository;
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int horizonDays;
+    private final ForkJoinPool partitionPool;
+
+    public SanitizationTaskGenerator(OrderRepository orderRepository, TaskRepository taskRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${sanitization.horizon-days:28}") int horizonDays,
+            @Value("${sanitization.workers:4}") int workers) {
+        this.orderRepository = orderRepository;
+        this.taskRepository = taskRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.horizonDays = horizonDays;
+        // Each worker holds a DB connection while it runs, so keep this below the pool size
+        this.partitionPool = new ForkJoinPool(workers);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        partitionPool.shutdown();
+    }
+
+    @Scheduled(cron = "${sanitization.cron:0 5 * * * *}")
+    public void scheduledRun() {
+        generate(LocalDate.now());
+    }
+
+    /**
+     * Generates the missing occurrences in [today, today + horizon]. Runs are serialized.
+     */
+    public synchronized SanitizationRunResult generate(LocalDate today) {
+        long started = System.currentTimeMillis();
+        LocalDate to = today.plusDays(horizonDays);
+
+        Map<String, List<SanitizationSchedule>> byCity = new LinkedHashMap<>();
+        int activeOrders = 0;
+        // From the primary: an order deleted there but still on a lagging replica would get tasks
+        for (SanitizationSchedule schedule : ReadYourWrites.call(orderRepository::findSanitizationSchedules)) {
+            if (!occurrences(schedule, today, to).isEmpty()) {
+                byCity.computeIfAbsent(Objects.toString(schedule.city(), ""), c -> new ArrayList<>()).add(schedule);
+                activeOrders++;
+            }
+        }
+
+        List<Callable<Integer>> jobs = new ArrayList<>();
+        for (List<SanitizationSchedule> partition : byCity.values()) {
+            jobs.add(() -> transactionTemplate.execute(status -> generatePartition(partition, today, to)));
+        }
+
+        int created = 0;
+        try {
+            for (Future<Integer> future : partitionPool.invokeAll(jobs)) {
+                created += future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Generarea igienizărilor a fost întreruptă", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Generarea igienizărilor a eșuat", e.getCause());
+        }
+
+        return new SanitizationRunResult(today, to, activeOrders, byCity.size(), created,
+                System.currentTimeMillis() - started);
+    }
+
+    private int generatePartition(List<SanitizationSchedule> schedules, LocalDate from, LocalDate to) {
+        List<Task> toInsert = new ArrayList<>();
+        for (int start = 0; start < schedules.size(); start += ORDER_ID_CHUNK) {
+            List<SanitizationSchedule> chunk = schedules.subList(start, Math.min(start + ORDER_ID_CHUNK, schedules.size()));
+            List<Long> orderIds = new ArrayList<>(chunk.size());
+            for (SanitizationSchedule schedule : chunk) {
+                orderIds.add(schedule.orderId());
+            }
+
+            Set<TaskOccurrence> existing = new HashSet<>(taskRepository.findOccurrences(orderIds, from, to));
+            for (SanitizationSchedule schedule : chunk) {
+                for (LocalDate day : occurrences(schedule, from, to)) {
+                    if (!existing.contains(new TaskOccurrence(schedule.orderId(), day))) {
+                        toInsert.add(newSanitizationTask(schedule, day));
+                    }
+                }
+            }
+        }
+        return taskRepository.insertAll(toInsert).size();
+    }
+
+    private Task newSanitizationTask(SanitizationSchedule schedule, LocalDate day) {
+        Task task = new Task();
+        task.setType(TaskType.SANITIZATION);
+        task.setStatus(TaskStatus.NEW);
+        task.setClientName(schedule.clientName() != null ? schedule.clientName() : "Client necunoscut");
+        task.setClientPhone(schedule.clientPhone());
+        task.setAddress(schedule.clientAddress() != null && !schedule.clientAddress().isEmpty()
+                ? schedule.clientAddress()
+                : schedule.locationCoordinates());
+        task.setInternalNotes(schedule.details());
+        task.setScheduledTime(day.atTime(SCHEDULED_AT));
+        task.setOccurrenceDate(day);
+        task.setOrder(orderRepository.getReferenceById(schedule.orderId()));
+        return task;
+    }
+
+    /**
+     * Occurrence days of the schedule within [from, to]. Month M gets
+     * min(igienizariPerMonth, days in M) occurrences on days 1 + k * length / n.
+     * Days are calendar dates, so month lengths and DST changes need no special handling.
+     */
+    static List<LocalDate> occurrences(SanitizationSchedule schedule, LocalDate from, LocalDate to) {
+        if (schedule.igienizariPerMonth() == null || schedule.igienizariPerMonth() <= 0) {
+            return List.of();
+        }
+        LocalDate start = parseDate(schedule.startDate());
+        LocalDate end = null;
+        if (!Boolean.TRUE.equals(schedule.isIndefinite())) {
+            end = parseDate(schedule.endDate());
+            if (end == null && start != null && schedule.durationDays() != null) {
+                end = start.plusDays(schedule.durationDays() - 1L);
+            }
+        }
+
+        LocalDate windowStart = start != null && start.isAfter(from) ? start : from;
+        LocalDate windowEnd = end != null && end.isBefore(to) ? end : to;
+        // End before start, a zero or negative duration, or a run window that does not overlap the order
+        if (windowStart.isAfter(windowEnd)) {
+            return List.of();
+        }
+        List<LocalDate> days = new ArrayList<>();
+        for (YearMonth month = YearMonth.from(windowStart); !month.atDay(1).isAfter(windowEnd);
+                month = month.plusMonths(1)) {
+            int length = month.lengthOfMonth();
+            int perMonth = Math.min(schedule.igienizariPerMonth(), length);
+            for (int k = 0; k < perMonth; k++) {
+                LocalDate day = month.atDay(1 + k * length / perMonth);
+                if (!day.isBefore(windowStart) && !day.isAfter(windowEnd)) {
+                    days.add(day);
+                }
+            }
+        }
+        return days;
+    }
+
+    // Order dates come from the frontend as "yyyy-MM-dd", sometimes with a time part
+    private static LocalDate parseDate(String value) {
+        if (value == null || value.length() < 10) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value.substring(0, 10));
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -1,15 +1,33 @@
 package com.example.damiProd.service;
 
 import com.example.damiProd.domain.*;
+import com.example.damiProd.dto.OrderTaskSource;
+import com.example.damiProd.dto.OrderTaskStatus;
+import com.example.damiProd.dto.TaskCursor;
+import com.example.damiProd.dto.TaskDispatchRequest;
+import com.example.damiProd.dto.TaskDispatchResult;
+import com.example.damiProd.dto.TaskFilter;
+import com.example.damiProd.dto.TaskPage;
+import com.example.damiProd.event.TaskEvent;
+import com.example.damiProd.repository.ClientSummaryRepository;
 import com.example.damiProd.repository.OrderRepository;
 import com.example.damiProd.repository.RouteRepository;
 import com.example.damiProd.repository.TaskRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class TaskService {
@@ -17,38 +35,78 @@ public class TaskService {
     private final TaskRepository taskRepository;
     private final OrderRepository orderRepository;
     private final RouteRepository routeRepository;
+    private final ClientSummaryRepository clientSummaryRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public TaskService(TaskRepository taskRepository, OrderRepository orderRepository, RouteRepository routeRepository) {
+    public TaskService(TaskRepository taskRepository, OrderRepository orderRepository, RouteRepository routeRepository,
+            ClientSummaryRepository clientSummaryRepository, ApplicationEventPublisher eventPublisher) {
         this.taskRepository = taskRepository;
         this.orderRepository = orderRepository;
         this.routeRepository = routeRepository;
+        this.clientSummaryRepository = clientSummaryRepository;
+        this.eventPublisher = eventPublisher;
     }
 
+    @Transactional(readOnly = true)
     public List<Task> getAllTasks() {
         return taskRepository.findAll();
     }
 
+    /**
+     * Returns one keyset page of tasks matching the filter. The cost of a page
+     * does not depend on how deep into the result set the cursor is.
+     */
+    @Transactional(readOnly = true)
+    public TaskPage getTasksPage(TaskFilter filter, String cursor, int limit) {
+        TaskCursor after = cursor != null && !cursor.isEmpty() ? TaskCursor.decode(cursor) : null;
+
+        // Fetch one extra row to know whether a next page exists
+        List<Task> tasks = taskRepository.findPageAfter(filter, after, limit + 1);
+        if (tasks.size() <= limit) {
+            return new TaskPage(tasks, null);
+        }
+
+        List<Task> page = tasks.subList(0, limit);
+        Task last = page.get(limit - 1);
+        String nextCursor = new TaskCursor(last.getScheduledTime(), last.getId()).encode();
+        return new TaskPage(List.copyOf(page), nextCursor);
+    }
+
     public Task getTaskById(Long id) {
         return taskRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Task-ul nu a fost găsit"));
     }
 
+    @Transactional(readOnly = true)
     public List<Task> getTasksByRouteId(Long routeId) {
-        return taskRepository.findByRoute_Id(routeId);
+        return taskRepository.findByRoute_IdOrderByVisitOrderAscIdAsc(routeId);
     }
 
+    @Transactional
     public Task createTask(Task task) {
-        return taskRepository.save(task);
+        Task savedTask = taskRepository.save(task);
+        eventPublisher.publishEvent(TaskEvent.of(TaskEvent.Type.CREATED, savedTask));
+        return savedTask;
     }
 
+    @Transactional
     public Task updateTaskStatus(Long taskId, TaskStatus status) {
         Task task = getTaskById(taskId);
         task.setStatus(status);
-        return taskRepository.save(task);
+        task.setStatusChangedAt(LocalDateTime.now(ZoneOffset.UTC));
+        Task savedTask = taskRepository.save(task);
+        eventPublisher.publishEvent(TaskEvent.of(TaskEvent.Type.STATUS_CHANGED, savedTask));
+        return savedTask;
     }
 
+    @Transactional
     public void deleteTask(Long id) {
-        taskRepository.deleteById(id);
+        // Load first so subscribers can be told which route and driver lost the task
+        taskRepository.findById(id).ifPresent(task -> {
+            TaskEvent event = TaskEvent.of(TaskEvent.Type.DELETED, task);
+            taskRepository.delete(task);
+            eventPublisher.publishEvent(event);
+        });
     }
     
     /**
@@ -57,30 +115,111 @@ public class TaskService {
     @Transactional
     public Task createTaskFromOrder(Long orderId, Long routeId) {
         // Check if task already exists for this order
-        if (taskRepository.existsByOrder_Id(orderId)) {
+        if (taskRepository.existsByOrder_IdAndOccurrenceDateIsNull(orderId)) {
             throw new RuntimeException("Această comandă are deja un task asociat");
         }
         
-        Order order = orderRepository.findById(orderId)
+        OrderTaskSource order = orderRepository.findTaskSourcesByIdIn(List.of(orderId)).stream()
+                .findFirst()
                 .orElseThrow(() -> new RuntimeException("Comanda nu a fost găsită"));
         
         Route route = routeRepository.findById(routeId)
                 .orElseThrow(() -> new RuntimeException("Ruta nu a fost găsită"));
         
+        ClientSummary client = order.clientId() != null
+                ? clientSummaryRepository.findById(order.clientId()).orElse(null)
+                : null;
+        Task savedTask = taskRepository.save(newTaskFromOrder(order, client, route));
+        eventPublisher.publishEvent(TaskEvent.of(TaskEvent.Type.CREATED, savedTask));
+        return savedTask;
+    }
+
+    /**
+     * Creates tasks for many (order, route) pairs in one transaction.
+     * Orders, client summaries, routes and existing tasks are prefetched with one query each,
+     * and the new tasks are inserted in a single JDBC batch.
+     */
+    @Transactional
+    public List<TaskDispatchResult> createTasksFromOrders(List<TaskDispatchRequest> requests) {
+        Set<Long> orderIds = new HashSet<>();
+        Set<Long> routeIds = new HashSet<>();
+        for (TaskDispatchRequest request : requests) {
+            if (request.orderId() != null && request.routeId() != null) {
+                orderIds.add(request.orderId());
+                routeIds.add(request.routeId());
+            }
+        }
+
+        Map<Long, OrderTaskSource> orders = new HashMap<>();
+        Map<Long, ClientSummary> clients = new HashMap<>();
+        Map<Long, Route> routes = new HashMap<>();
+        Set<Long> ordersWithTask = new HashSet<>();
+        if (!orderIds.isEmpty()) {
+            Set<Long> clientIds = new HashSet<>();
+            for (OrderTaskSource order : orderRepository.findTaskSourcesByIdIn(orderIds)) {
+                orders.put(order.orderId(), order);
+                if (order.clientId() != null) {
+                    clientIds.add(order.clientId());
+                }
+            }
+            clientSummaryRepository.findAllById(clientIds).forEach(c -> clients.put(c.getId(), c));
+            routeRepository.findAllById(routeIds).forEach(r -> routes.put(r.getId(), r));
+            ordersWithTask.addAll(taskRepository.findOrderIdsWithTask(orderIds));
+        }
+
+        TaskDispatchResult[] results = new TaskDispatchResult[requests.size()];
+        List<Task> toInsert = new ArrayList<>();
+        List<Integer> insertPositions = new ArrayList<>();
+        Set<Long> seenOrders = new HashSet<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            TaskDispatchRequest request = requests.get(i);
+            if (request.orderId() == null || request.routeId() == null) {
+                results[i] = TaskDispatchResult.rejected(request, TaskDispatchResult.Outcome.INVALID_REQUEST);
+            } else if (!seenOrders.add(request.orderId())) {
+                results[i] = TaskDispatchResult.rejected(request, TaskDispatchResult.Outcome.DUPLICATE_IN_REQUEST);
+            } else if (ordersWithTask.contains(request.orderId())) {
+                results[i] = TaskDispatchResult.rejected(request, TaskDispatchResult.Outcome.ALREADY_HAS_TASK);
+            } else if (!orders.containsKey(request.orderId())) {
+                results[i] = TaskDispatchResult.rejected(request, TaskDispatchResult.Outcome.ORDER_NOT_FOUND);
+            } else if (!routes.containsKey(request.routeId())) {
+                results[i] = TaskDispatchResult.rejected(request, TaskDispatchResult.Outcome.ROUTE_NOT_FOUND);
+            } else {
+                OrderTaskSource order = orders.get(request.orderId());
+                toInsert.add(newTaskFromOrder(order, order.clientId() != null ? clients.get(order.clientId()) : null,
+                        routes.get(request.routeId())));
+                insertPositions.add(i);
+            }
+        }
+
+        List<Task> inserted = taskRepository.insertAll(toInsert);
+        for (int k = 0; k < inserted.size(); k++) {
+            int i = insertPositions.get(k);
+            TaskDispatchRequest request = requests.get(i);
+            results[i] = new TaskDispatchResult(request.orderId(), request.routeId(), inserted.get(k).getId(),
+                    TaskDispatchResult.Outcome.CREATED);
+            eventPublisher.publishEvent(TaskEvent.of(TaskEvent.Type.CREATED, inserted.get(k)));
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Builds a new, unsaved task for an order: type from the order type,
+     * client name/phone/address copied from the client's summary row.
+     * The order is linked by reference only, without loading it.
+     */
+    private Task newTaskFromOrder(OrderTaskSource order, ClientSummary client, Route route) {
         // Determine task type based on order type
-        TaskType taskType = mapOrderTypeToTaskType(order.getOrderType());
+        TaskType taskType = mapOrderTypeToTaskType(order.orderType());
         
         // Get client info
         String clientName = "Client necunoscut";
         String clientPhone = null;
-        String address = order.getLocationCoordinates();
+        String address = order.locationCoordinates();
         
-        if (order.getClient() != null) {
-            Client client = order.getClient();
-            if (client instanceof Company) {
-                clientName = ((Company) client).getName();
-            } else if (client instanceof Individual) {
-                clientName = ((Individual) client).getFullName();
+        if (client != null) {
+            if (client.getDisplayName() != null) {
+                clientName = client.getDisplayName();
             }
             clientPhone = client.getPhone();
             if (client.getAddress() != null && !client.getAddress().isEmpty()) {
@@ -95,29 +234,56 @@ public class TaskService {
         task.setClientName(clientName);
         task.setClientPhone(clientPhone);
         task.setAddress(address);
-        task.setInternalNotes(order.getDetails());
+        task.setInternalNotes(order.details());
         task.setScheduledTime(LocalDateTime.now());
         task.setRoute(route);
-        task.setOrder(order);
-        
-        return taskRepository.save(task);
+        task.setOrder(orderRepository.getReferenceById(order.orderId()));
+        return task;
     }
     
     /**
      * Get task by order ID
      */
     public Optional<Task> getTaskByOrderId(Long orderId) {
-        return taskRepository.findByOrder_Id(orderId);
+        return taskRepository.findByOrder_IdAndOccurrenceDateIsNull(orderId);
     }
     
+    /**
+     * Dispatch state of many orders with one query, one entry per distinct id in request order.
+     * Orders without a dispatched task (or that don't exist) come back with hasTask = false.
+     */
+    @Transactional(readOnly = true)
+    public List<OrderTaskStatus> getTaskStatusByOrderIds(List<Long> orderIds) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (Long orderId : orderIds) {
+            if (orderId != null) {
+                ids.add(orderId);
+            }
+        }
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, OrderTaskStatus> found = new HashMap<>();
+        for (OrderTaskStatus status : taskRepository.findTaskStatusByOrderIds(ids)) {
+            found.put(status.orderId(), status);
+        }
+        List<OrderTaskStatus> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            result.add(found.getOrDefault(id, OrderTaskStatus.none(id)));
+        }
+        return result;
+    }
+
     /**
      * Check if order has an associated task
      */
     public boolean orderHasTask(Long orderId) {
-        return taskRepository.existsByOrder_Id(orderId);
+        return taskRepository.existsByOrder_IdAndOccurrenceDateIsNull(orderId);
     }
     
-    private TaskType mapOrderTypeToTaskType(String orderType) {
+    // Package-private for TaskServiceBenchmark
+    static TaskType mapOrderTypeToTaskType(String orderType) {
         if (orderType == null) return TaskType.PLACEMENT;
         
         switch (orderType.toLowerCase()) {
@@ -0,0 +1,179 @@
+package com.example.damiProd.service;
+
+import com.example.damiProd.domain.Task;
+import com.example.damiProd.domain.TaskStatusSyncKey;
+import com.example.damiProd.dto.TaskStatusSyncResult;
+import com.example.damiProd.dto.TaskStatusTransition;
+import com.example.damiProd.event.TaskEvent;
+import com.example.damiProd.repository.TaskRepository;
+import com.example.damiProd.repository.TaskRepositoryCustom.StatusChange;
+import com.example.damiProd.repository.TaskStatusSyncKeyRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Applies the status changes a driver's app queued while offline.
+ */
+@Service
+public class TaskStatusSyncService {
+
+    private static final int MAX_KEY_LENGTH = 100;
+    private static final int KEY_RETENTION_DAYS = 30;
+    // Device clocks drift; a timestamp further ahead of the server than this is rejected
+    private static final Duration MAX_CLOCK_SKEW = Duration.ofMinutes(5);
+
+    private final TaskRepository taskRepository;
+    private final TaskStatusSyncKeyRepository syncKeyRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    public TaskStatusSyncService(TaskRepository taskRepository, TaskStatusSyncKeyRepository syncKeyRepository,
+            ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.syncKeyRepository = syncKeyRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // A failed key insert spoils its transaction, so the retry gets a new one
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Applies the transitions in order, in one transaction. Keys seen before
+     * (in this batch or an earlier one) are skipped, and a transition only
+     * wins if its device timestamp is newer than the task's last status change.
+     *
+     * Device timestamps are capped at the time the request was received, so a fast
+     * device clock cannot make its change outlive a later online update (which is
+     * stamped with the server clock). Timestamps more than MAX_CLOCK_SKEW ahead are
+     * rejected as INVALID.
+     *
+     * The keys are claimed (inserted) before any status changes. If a concurrent request
+     * with some of the same keys claims them first, the insert here fails on the primary key
+     * once that request commits; the batch is then rolled back and run again, and those keys
+     * come back as DUPLICATE, as for any replay.
+     */
+    public List<TaskStatusSyncResult> sync(List<TaskStatusTransition> transitions) {
+        return sync(transitions, Instant.now());
+    }
+
+    List<TaskStatusSyncResult> sync(List<TaskStatusTransition> transitions, Instant receivedAt) {
+        try {
+            return transactionTemplate.execute(status -> syncOnce(transitions, receivedAt));
+        } catch (DataIntegrityViolationException e) {
+            return transactionTemplate.execute(status -> syncOnce(transitions, receivedAt));
+        }
+    }
+
+    private List<TaskStatusSyncResult> syncOnce(List<TaskStatusTransition> transitions, Instant receivedAt) {
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        Instant latestAccepted = receivedAt.plus(MAX_CLOCK_SKEW);
+
+        Set<String> keys = new HashSet<>();
+        Set<Long> taskIds = new HashSet<>();
+        for (TaskStatusTransition transition : transitions) {
+            if (isValid(transition, latestAccepted)) {
+                keys.add(transition.idempotencyKey());
+                taskIds.add(transition.taskId());
+            }
+        }
+
+        Set<String> seenKeys = new HashSet<>();
+        Set<Long> existingTasks = new HashSet<>();
+        if (!keys.isEmpty()) {
+            seenKeys.addAll(syncKeyRepository.findExistingKeys(keys));
+            existingTasks.addAll(taskRepository.findExistingIds(taskIds));
+        }
+
+        TaskStatusSyncResult.Outcome[] outcomes = new TaskStatusSyncResult.Outcome[transitions.size()];
+        List<StatusChange> changes = new ArrayList<>();
+        List<Integer> changePositions = new ArrayList<>();
+        List<TaskStatusSyncKey> newKeys = new ArrayList<>();
+
+        for (int i = 0; i < transitions.size(); i++) {
+            TaskStatusTransition transition = transitions.get(i);
+            if (!isValid(transition, latestAccepted)) {
+                outcomes[i] = TaskStatusSyncResult.Outcome.INVALID;
+                continue;
+            }
+            if (!seenKeys.add(transition.idempotencyKey())) {
+                outcomes[i] = TaskStatusSyncResult.Outcome.DUPLICATE;
+                continue;
+            }
+            newKeys.add(new TaskStatusSyncKey(transition.idempotencyKey(), transition.taskId(),
+                    transition.status(), now));
+            if (!existingTasks.contains(transition.taskId())) {
+                outcomes[i] = TaskStatusSyncResult.Outcome.TASK_NOT_FOUND;
+                continue;
+            }
+            Instant changedAt = transition.deviceTimestamp() == null || transition.deviceTimestamp().isAfter(receivedAt)
+                    ? receivedAt
+                    : transition.deviceTimestamp();
+            // Truncated to the column's precision, so the stored value compares equal to the change
+            changes.add(new StatusChange(transition.taskId(), transition.status(),
+                    LocalDateTime.ofInstant(changedAt.truncatedTo(ChronoUnit.MICROS), ZoneOffset.UTC)));
+            changePositions.add(i);
+        }
+
+        // Claim the keys first: a request racing on the same keys fails here, before changing anything
+        syncKeyRepository.saveAllAndFlush(newKeys);
+
+        boolean[] applied = taskRepository.applyStatusChanges(changes);
+        Set<Long> changedTasks = new LinkedHashSet<>();
+        for (int k = 0; k < applied.length; k++) {
+            outcomes[changePositions.get(k)] = applied[k]
+                    ? TaskStatusSyncResult.Outcome.APPLIED
+                    : TaskStatusSyncResult.Outcome.STALE;
+            if (applied[k]) {
+                changedTasks.add(changes.get(k).taskId());
+            }
+        }
+
+        // One event per task with its final status, not one per replayed step
+        if (!changedTasks.isEmpty()) {
+            for (Task task : taskRepository.findAllWithRouteByIdIn(changedTasks)) {
+                eventPublisher.publishEvent(TaskEvent.of(TaskEvent.Type.STATUS_CHANGED, task));
+            }
+        }
+
+        List<TaskStatusSyncResult> results = new ArrayList<>(transitions.size());
+        for (int i = 0; i < transitions.size(); i++) {
+            TaskStatusTransition transition = transitions.get(i);
+            results.add(new TaskStatusSyncResult(transition.idempotencyKey(), transition.taskId(), outcomes[i]));
+        }
+        return results;
+    }
+
+    // Devices replay within days; keys older than the retention window are no longer needed
+    @Scheduled(cron = "0 30 3 * * *")
+    @Transactional
+    public void purgeExpiredKeys() {
+        syncKeyRepository.deleteReceivedBefore(LocalDateTime.now(ZoneOffset.UTC).minusDays(KEY_RETENTION_DAYS));
+    }
+
+    private static boolean isValid(TaskStatusTransition transition, Instant latestAccepted) {
+        return transition != null
+                && transition.idempotencyKey() != null
+                && !transition.idempotencyKey().isBlank()
+                && transition.idempotencyKey().length() <= MAX_KEY_LENGTH
+                && transition.taskId() != null
+                && transition.status() != null
+                && (transition.deviceTimestamp() == null || !transition.deviceTimestamp().isAfter(latestAccepted));
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.damiProd.storage;
+
+import com.example.damiProd.dto.StoredObject;
+import com.example.damiProd.dto.StoredObjectPage;
+import com.google.api.gax.paging.Page;
+import com.google.cloud.storage.Blob;
+import com.google.cloud.storage.BlobId;
+import com.google.cloud.storage.BlobInfo;
+import com.google.cloud.storage.Storage;
+import com.google.cloud.storage.StorageOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Google Cloud Storage backend; objects are served from the public bucket URL.
+ */
+@Component
+@ConditionalOnProperty(name = "photos.storage", havingValue = "gcs", matchIfMissing = true)
+public class GcsObjectStorage implements ObjectStorage {
+
+    private final String projectId;
+    private final String bucketName;
+
+    private Storage storage;
+
+    public GcsObjectStorage(@Value("${gcp.project-id}") String projectId,
+            @Value("${gcp.bucket-name}") String bucketName) {
+        this.projectId = projectId;
+        this.bucketName = bucketName;
+    }
+
+    // Created lazily so the app starts without credentials until storage is actually used.
+    // Synchronized because async uploads call this from worker threads.
+    private synchronized Storage getStorage() {
+        if (storage == null) {
+            storage = StorageOptions.newBuilder().setProjectId(projectId).build().getService();
+        }
+        return storage;
+    }
+
+    @Override
+    public void put(String objectName, Path source, String contentType) throws IOException {
+        getStorage().createFrom(blobInfo(objectName, contentType), source);
+    }
+
+    @Override
+    public void put(String objectName, InputStream content, String contentType) throws IOException {
+        getStorage().createFrom(blobInfo(objectName, contentType), content);
+    }
+
+    @Override
+    public void put(String objectName, byte[] content, String contentType) {
+        getStorage().create(blobInfo(objectName, contentType), content);
+    }
+
+    @Override
+    public boolean delete(String objectName) {
+        return getStorage().delete(BlobId.of(bucketName, objectName));
+    }
+
+    @Override
+    public StoredObjectPage list(String pageToken, int pageSize) {
+        List<Storage.BlobListOption> options = new ArrayList<>();
+        options.add(Storage.BlobListOption.pageSize(pageSize));
+        if (pageToken != null) {
+            options.add(Storage.BlobListOption.pageToken(pageToken));
+        }
+        Page<Blob> page = getStorage().list(bucketName, options.toArray(new Storage.BlobListOption[0]));
+
+        List<StoredObject> objects = new ArrayList<>();
+        for (Blob blob : page.getValues()) {
+            objects.add(new StoredObject(blob.getName(), blob.getSize(), blob.getContentType(),
+                    blob.getCreateTimeOffsetDateTime() != null ? blob.getCreateTimeOffsetDateTime().toInstant() : null));
+        }
+        return new StoredObjectPage(objects, page.hasNextPage() ? page.getNextPageToken() : null);
+    }
+
+    // One batch request for all names; missing objects come back as null
+    @Override
+    public Set<String> findExisting(Collection<String> objectNames) {
+        if (objectNames.isEmpty()) {
+            return Set.of();
+        }
+        List<BlobId> ids = new ArrayList<>(objectNames.size());
+        for (String name : objectNames) {
+            ids.add(BlobId.of(bucketName, name));
+        }
+        Set<String> existing = new HashSet<>();
+        for (Blob blob : getStorage().get(ids)) {
+            if (blob != null) {
+                existing.add(blob.getName());
+            }
+        }
+        return existing;
+    }
+
+    @Override
+    public String publicUrl(String objectName) {
+        // Assuming the bucket is public or we want the public link style
+        return String.format("https://storage.googleapis.com/%s/%s", bucketName, objectName);
+    }
+
+    @Override
+    public String objectNameFromUrl(String urlOrName) {
+        String prefix = String.format("https://storage.googleapis.com/%s/", bucketName);
+        if (urlOrName.startsWith(prefix)) {
+            return urlOrName.substring(prefix.length());
+        }
+        return urlOrName;
+    }
+
+    private BlobInfo blobInfo(String objectName, String contentType) {
+        return BlobInfo.newBuilder(BlobId.of(bucketName, objectName))
+                .setContentType(contentType)
+                .build();
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.damiProd.storage;
+
+import com.example.damiProd.dto.StoredObject;
+import com.example.damiProd.dto.StoredObjectPage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Stores objects as files under {@code photos.local.root-dir}, for development, load tests
+ * and deployments without GCP credentials. Files are served by LocalStorageWebConfig
+ * under {@code photos.local.base-url}.
+ *
+ * Writes go to a temp file in the target folder and are then renamed over the target,
+ * so readers never see a half-written object. Content type is not stored; it is
+ * guessed from the extension when listing.
+ */
+@Component
+@ConditionalOnProperty(name = "photos.storage", havingValue = "local")
+public class LocalObjectStorage implements ObjectStorage {
+
+    private static final String TEMP_PREFIX = ".tmp-";
+
+    private final Path root;
+    private final String baseUrl;
+
+    public LocalObjectStorage(@Value("${photos.local.root-dir}") Path root,
+            @Value("${photos.local.base-url}") String baseUrl) throws IOException {
+        this.root = Files.createDirectories(root).toAbsolutePath().normalize();
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    @Override
+    public void put(String objectName, Path source, String contentType) throws IOException {
+        Path target = resolve(objectName);
+        Path temp = createTempFile(target);
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+                FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            long size = in.size();
+            long position = 0;
+            while (position < size) {
+                position += in.transferTo(position, size - position, out);
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        moveIntoPlace(temp, target);
+    }
+
+    @Override
+    public void put(String objectName, InputStream content, String contentType) throws IOException {
+        Path target = resolve(objectName);
+        Path temp = createTempFile(target);
+        ReadableByteChannel in = Channels.newChannel(content);
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            // transferFrom returns 0 once the stream is exhausted
+            long position = 0;
+            long transferred;
+            while ((transferred = out.transferFrom(in, position, Long.MAX_VALUE)) > 0) {
+                position += transferred;
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        moveIntoPlace(temp, target);
+    }
+
+    @Override
+    public void put(String objectName, byte[] content, String contentType) throws IOException {
+        Path target = resolve(objectName);
+        Path temp = createTempFile(target);
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.wrap(content);
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        moveIntoPlace(temp, target);
+    }
+
+    @Override
+    public boolean delete(String objectName) {
+        try {
+            return Files.deleteIfExists(resolve(objectName));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Pages through objects in name order. The page token is the last name of the previous
+     * page; each call walks the whole tree, which is fine for the sizes this backend is meant for.
+     */
+    @Override
+    public StoredObjectPage list(String pageToken, int pageSize) {
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(root)) {
+            files = walk.filter(Files::isRegularFile)
+                    .filter(path -> !path.getFileName().toString().startsWith(TEMP_PREFIX))
+                    .filter(path -> pageToken == null || objectName(path).compareTo(pageToken) > 0)
+                    .sorted((a, b) -> objectName(a).compareTo(objectName(b)))
+                    .limit(pageSize + 1L)
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        boolean hasNext = files.size() > pageSize;
+        List<StoredObject> objects = new ArrayList<>(Math.min(files.size(), pageSize));
+        for (Path file : hasNext ? files.subList(0, pageSize) : files) {
+            objects.add(toStoredObject(file));
+        }
+        String nextPageToken = hasNext ? objects.get(objects.size() - 1).name() : null;
+        return new StoredObjectPage(objects, nextPageToken);
+    }
+
+    @Override
+    public Set<String> findExisting(Collection<String> objectNames) {
+        Set<String> existing = new HashSet<>();
+        for (String name : objectNames) {
+            if (Files.isRegularFile(resolve(name))) {
+                existing.add(name);
+            }
+        }
+        return existing;
+    }
+
+    @Override
+    public String publicUrl(String objectName) {
+        return baseUrl + objectName;
+    }
+
+    @Override
+    public String objectNameFromUrl(String urlOrName) {
+        if (urlOrName.startsWith(baseUrl)) {
+            return urlOrName.substring(baseUrl.length());
+        }
+        return urlOrName;
+    }
+
+    private Path resolve(String objectName) {
+        Path path = root.resolve(objectName).normalize();
+        if (!path.startsWith(root) || path.equals(root)) {
+            throw new IllegalArgumentException("Nume de obiect invalid: " + objectName);
+        }
+        return path;
+    }
+
+    private Path createTempFile(Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        return Files.createTempFile(target.getParent(), TEMP_PREFIX, null);
+    }
+
+    private void moveIntoPlace(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    private String objectName(Path file) {
+        return root.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/");
+    }
+
+    private StoredObject toStoredObject(Path file) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            String name = objectName(file);
+            return new StoredObject(name, attributes.size(), URLConnection.guessContentTypeFromName(name),
+                    attributes.creationTime().toInstant());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
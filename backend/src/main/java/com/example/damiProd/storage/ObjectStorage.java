@@ -0,0 +1,53 @@
+package com.example.damiProd.storage;
+
+import com.example.damiProd.dto.StoredObjectPage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Where photo bytes live. Selected with {@code photos.storage}: "gcs" (default) or "local".
+ * Object names use '/' as folder separator, e.g. "Individual Client Ids/12_Ion.png".
+ */
+public interface ObjectStorage {
+
+    /**
+     * Stores a local file under the given name, replacing any existing object.
+     */
+    void put(String objectName, Path source, String contentType) throws IOException;
+
+    /**
+     * Stores the stream contents under the given name, replacing any existing object.
+     * The stream is read to the end but not closed.
+     */
+    void put(String objectName, InputStream content, String contentType) throws IOException;
+
+    void put(String objectName, byte[] content, String contentType) throws IOException;
+
+    /**
+     * @return true if deleted, false if not found.
+     */
+    boolean delete(String objectName);
+
+    /**
+     * Lists one page of objects, in no guaranteed order across backends.
+     *
+     * @param pageToken Token from the previous page, or null to start from the beginning.
+     */
+    StoredObjectPage list(String pageToken, int pageSize);
+
+    /**
+     * Returns which of the given object names exist.
+     */
+    Set<String> findExisting(Collection<String> objectNames);
+
+    String publicUrl(String objectName);
+
+    /**
+     * Accepts either a public URL produced by {@link #publicUrl} or a bare object name.
+     */
+    String objectNameFromUrl(String urlOrName);
+}
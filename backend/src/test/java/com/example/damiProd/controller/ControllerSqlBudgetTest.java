@@ -0,0 +1,170 @@
+package com.example.damiProd.controller;
+
+import com.example.damiProd.domain.Client;
+import com.example.damiProd.domain.Employee;
+import com.example.damiProd.domain.EmployeeRole;
+import com.example.damiProd.domain.Individual;
+import com.example.damiProd.domain.Order;
+import com.example.damiProd.domain.Product;
+import com.example.damiProd.domain.Route;
+import com.example.damiProd.domain.RouteDefinition;
+import com.example.damiProd.domain.Task;
+import com.example.damiProd.domain.TaskType;
+import com.example.damiProd.metrics.SqlBudgetAssertions;
+import com.example.damiProd.metrics.SqlBudgetEnforcer;
+import com.example.damiProd.metrics.SqlStatementStats;
+import com.example.damiProd.repository.EmployeeRepository;
+import com.example.damiProd.repository.EmployeeRoleRepository;
+import com.example.damiProd.repository.OrderRepository;
+import com.example.damiProd.repository.ProductRepository;
+import com.example.damiProd.repository.RouteDefinitionRepository;
+import com.example.damiProd.repository.RouteRepository;
+import com.example.damiProd.repository.TaskRepository;
+import com.example.damiProd.service.ClientService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * SQL statement budgets of the read endpoints of RouteController, TaskController and OrderController.
+ * The data has several routes, drivers, tasks and orders, so a lazy load per row shows up
+ * both as a budget overrun and as a repeated statement shape.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sql-budget;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "photos.storage=local",
+        "sanitization.cron=-",
+        "sql-budget.enabled=true",
+        "sql-budget.mode=log"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ControllerSqlBudgetTest {
+
+    private static final int DRIVERS = 3;
+    private static final int ROUTES = 6;
+    private static final int ORDERS = 12;
+    private static final int TASKS_PER_ROUTE = 4;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private SqlBudgetEnforcer sqlBudgetEnforcer;
+    @Autowired
+    private ClientService clientService;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private RouteDefinitionRepository routeDefinitionRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private EmployeeRoleRepository employeeRoleRepository;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private RouteRepository routeRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private SqlBudgetAssertions budgets;
+    private Long routeId;
+    private Long driverId;
+    private Long taskId;
+    private Long orderId;
+
+    // Committed once, outside any test transaction, so every request starts with an empty persistence context
+    @BeforeAll
+    void setUp() {
+        budgets = new SqlBudgetAssertions(mockMvc, sqlBudgetEnforcer);
+
+        Product product = productRepository.save(new Product("Toaleta", "Toaleta ecologica", 100));
+        RouteDefinition routeDefinition = routeDefinitionRepository.save(new RouteDefinition("Traseu Cluj", "Cluj-Napoca"));
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            Client client = clientService.saveClient(new Individual("client" + i + "@example.com", "07000000" + i,
+                    "Strada " + i + ", Cluj", "Client " + i, "19001010000" + i));
+            Order order = new Order(i + 1L, new Date());
+            order.setClient(client);
+            order.setProduct(product);
+            order.setRouteDefinition(routeDefinition);
+            order.setOrderType("Amplasari");
+            orders.add(orderRepository.save(order));
+        }
+        orderId = orders.get(0).getId();
+
+        EmployeeRole driverRole = employeeRoleRepository.findByRoleName("DRIVER")
+                .orElseGet(() -> employeeRoleRepository.save(new EmployeeRole("DRIVER")));
+        EmployeeRole dispatcherRole = employeeRoleRepository.findByRoleName("DISPATCHER")
+                .orElseGet(() -> employeeRoleRepository.save(new EmployeeRole("DISPATCHER")));
+        List<Employee> drivers = new ArrayList<>();
+        for (int d = 0; d < DRIVERS; d++) {
+            Employee driver = new Employee("budget_driver" + d, "secret", "Driver " + d, "07110000" + d);
+            driver.setCounty("Cluj");
+            driver.getRoles().add(driverRole);
+            driver.getRoles().add(dispatcherRole);
+            drivers.add(employeeRepository.save(driver));
+        }
+        driverId = drivers.get(0).getId();
+
+        for (int r = 0; r < ROUTES; r++) {
+            Route route = new Route(LocalDate.now(), drivers.get(r % DRIVERS));
+            route.setCounty("Cluj");
+            route = routeRepository.save(route);
+            List<Task> tasks = new ArrayList<>();
+            for (int t = 0; t < TASKS_PER_ROUTE; t++) {
+                Task task = new Task(TaskType.PLACEMENT, LocalDateTime.now().plusMinutes(t), "Strada " + t, "Client " + t);
+                task.setRoute(route);
+                task.setOrder(orders.get((r * TASKS_PER_ROUTE + t) % ORDERS));
+                tasks.add(task);
+            }
+            taskRepository.saveAll(tasks);
+            routeId = route.getId();
+            taskId = tasks.get(0).getId();
+        }
+    }
+
+    @Test
+    void routeEndpointsStayWithinBudget() throws Exception {
+        SqlBudgetAssertions.assertNoRepeatedShapes(budgets.assertWithinBudget(get("/api/routes")), 1);
+        SqlBudgetAssertions.assertNoRepeatedShapes(budgets.assertWithinBudget(get("/api/routes/county/Cluj")), 1);
+        budgets.assertWithinBudget(get("/api/routes/" + routeId));
+        SqlBudgetAssertions.assertNoRepeatedShapes(budgets.assertWithinBudget(get("/api/routes/employee/" + driverId)), 1);
+    }
+
+    @Test
+    void taskEndpointsStayWithinBudget() throws Exception {
+        SqlBudgetAssertions.assertNoRepeatedShapes(budgets.assertWithinBudget(get("/api/tasks")), 1);
+        SqlBudgetAssertions.assertNoRepeatedShapes(
+                budgets.assertWithinBudget(get("/api/tasks/page").param("county", "Cluj").param("limit", "10")), 1);
+        budgets.assertWithinBudget(get("/api/tasks/" + taskId));
+        budgets.assertWithinBudget(get("/api/tasks/route/" + routeId));
+        budgets.assertWithinBudget(post("/api/tasks/by-orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[" + orderId + ", " + (orderId + 100000) + "]"));
+    }
+
+    @Test
+    void orderEndpointsStayWithinBudget() throws Exception {
+        SqlBudgetAssertions.assertNoRepeatedShapes(budgets.assertWithinBudget(get("/api/orders")), 1);
+        // Smaller page than the result, so the count query runs too
+        SqlStatementStats search = budgets.assertWithinBudget(get("/api/orders/search").param("size", "5"));
+        SqlBudgetAssertions.assertNoRepeatedShapes(search, 1);
+        budgets.assertWithinBudget(get("/api/orders/" + orderId));
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.damiProd.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Coordinates of /api/orders/near and /api/orders/nearest: anything that is not a finite
+ * point on the globe (or a finite positive radius) is rejected with 400.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:order-geo;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "photos.storage=local",
+        "sanitization.cron=-"
+})
+@AutoConfigureMockMvc
+class OrderGeoValidationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void validQueriesAreAccepted() throws Exception {
+        near("44.43", "26.10", "5").andExpect(status().isOk());
+        near("-90", "180", "0.5").andExpect(status().isOk());
+        nearest("44.43", "26.10").andExpect(status().isOk());
+    }
+
+    @Test
+    void nonFiniteValuesAreRejected() throws Exception {
+        near("NaN", "26.10", "5").andExpect(status().isBadRequest());
+        near("44.43", "Infinity", "5").andExpect(status().isBadRequest());
+        near("44.43", "26.10", "NaN").andExpect(status().isBadRequest());
+        near("44.43", "26.10", "Infinity").andExpect(status().isBadRequest());
+        nearest("NaN", "26.10").andExpect(status().isBadRequest());
+        nearest("44.43", "-Infinity").andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void outOfRangeValuesAreRejected() throws Exception {
+        near("90.5", "26.10", "5").andExpect(status().isBadRequest());
+        near("44.43", "-180.5", "5").andExpect(status().isBadRequest());
+        near("44.43", "26.10", "0").andExpect(status().isBadRequest());
+        near("44.43", "26.10", "-1").andExpect(status().isBadRequest());
+        nearest("-91", "26.10").andExpect(status().isBadRequest());
+        nearest("44.43", "181").andExpect(status().isBadRequest());
+    }
+
+    private ResultActions near(String lat, String lng, String radiusKm) throws Exception {
+        return mockMvc.perform(get("/api/orders/near")
+                .param("lat", lat).param("lng", lng).param("radiusKm", radiusKm));
+    }
+
+    private ResultActions nearest(String lat, String lng) throws Exception {
+        return mockMvc.perform(get("/api/orders/nearest").param("lat", lat).param("lng", lng));
+    }
+}
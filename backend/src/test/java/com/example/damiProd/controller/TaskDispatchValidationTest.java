@@ -0,0 +1,82 @@
+package com.example.damiProd.controller;
+
+import com.example.damiProd.domain.Task;
+import com.example.damiProd.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Request validation of POST /api/tasks/from-orders: malformed batches are rejected with 400
+ * before anything is read or inserted.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:task-dispatch;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "photos.storage=local",
+        "sanitization.cron=-"
+})
+@AutoConfigureMockMvc
+class TaskDispatchValidationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Test
+    void nullEntryRejectsTheWholeBatch() throws Exception {
+        long tasksBefore = taskRepository.count();
+
+        dispatch("[null]").andExpect(status().isBadRequest());
+        dispatch("[{\"orderId\": 1, \"routeId\": 1}, null]").andExpect(status().isBadRequest());
+
+        assertThat(taskRepository.count()).isEqualTo(tasksBefore);
+    }
+
+    @Test
+    void missingBodyIsRejected() throws Exception {
+        mockMvc.perform(post("/api/tasks/from-orders").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    // Entries that are present but incomplete still get a per-entry outcome
+    @Test
+    void incompleteEntriesAreReportedPerEntry() throws Exception {
+        dispatch("[{\"orderId\": null, \"routeId\": 5}, {\"orderId\": 987654, \"routeId\": 987654}]")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].outcome").value("INVALID_REQUEST"))
+                .andExpect(jsonPath("$[1].outcome").value("ORDER_NOT_FOUND"));
+    }
+
+    @Test
+    void emptyBatchIsAccepted() throws Exception {
+        dispatch("[]").andExpect(status().isOk()).andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    void insertAllRejectsNullElementsBeforeInserting() {
+        long tasksBefore = taskRepository.count();
+
+        assertThatThrownBy(() -> taskRepository.insertAll(new ArrayList<>(Arrays.asList((Task) null))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(taskRepository.count()).isEqualTo(tasksBefore);
+    }
+
+    private ResultActions dispatch(String body) throws Exception {
+        return mockMvc.perform(post("/api/tasks/from-orders").contentType(MediaType.APPLICATION_JSON).content(body));
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.damiProd.datasource;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routing between two separate in-memory H2 databases. There is no replication between them,
+ * so the test copies the heartbeat row by hand to play the replica catching up. Each database
+ * has a db_marker row naming it, which shows where a query actually ran.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "datasource.replica.url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1",
+        "datasource.replica.max-lag-ms=60000",
+        // Checks are driven by the test
+        "datasource.replica.heartbeat-interval-ms=3600000",
+        "photos.storage=local",
+        "sanitization.cron=-"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReplicaRoutingDataSourceTest {
+
+    private static final String MARKER_SQL = "SELECT name FROM db_marker";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+    @Autowired
+    private EntityManager entityManager;
+
+    private final JdbcTemplate primaryDirect = direct("routing-primary");
+    private final JdbcTemplate replicaDirect = direct("routing-replica");
+
+    @BeforeAll
+    void createMarkers() {
+        for (JdbcTemplate db : new JdbcTemplate[] { primaryDirect, replicaDirect }) {
+            db.execute("CREATE TABLE IF NOT EXISTS db_marker (name VARCHAR(20))");
+            db.execute("CREATE TABLE IF NOT EXISTS replica_heartbeat (id INT PRIMARY KEY, beat_millis BIGINT NOT NULL)");
+            db.update("DELETE FROM db_marker");
+        }
+        primaryDirect.update("INSERT INTO db_marker (name) VALUES ('primary')");
+        replicaDirect.update("INSERT INTO db_marker (name) VALUES ('replica')");
+    }
+
+    // Replica caught up: the heartbeat written by the last check is visible there
+    @BeforeEach
+    void replicaInSync() {
+        replicaLagMonitor.check();
+        replicate();
+        replicaLagMonitor.check();
+        assertThat(replicaLagMonitor.isReplicaUsable()).isTrue();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplica() {
+        assertThat(readOnly(MARKER_SQL)).isEqualTo("replica");
+    }
+
+    @Test
+    void writeTransactionsAndNonTransactionalCallsGoToPrimary() {
+        assertThat(readWrite(MARKER_SQL)).isEqualTo("primary");
+        assertThat(jdbcTemplate.queryForObject(MARKER_SQL, String.class)).isEqualTo("primary");
+    }
+
+    @Test
+    void readsFallBackToPrimaryWhenReplicaLags() {
+        replicaDirect.update("UPDATE replica_heartbeat SET beat_millis = 0 WHERE id = 1");
+        replicaLagMonitor.check();
+
+        assertThat(replicaLagMonitor.isReplicaUsable()).isFalse();
+        assertThat(readOnly(MARKER_SQL)).isEqualTo("primary");
+    }
+
+    @Test
+    void readsFallBackToPrimaryWhenReplicaIsDown() {
+        replicaDirect.execute("DROP TABLE replica_heartbeat");
+        try {
+            replicaLagMonitor.check();
+            assertThat(replicaLagMonitor.isReplicaUsable()).isFalse();
+            assertThat(readOnly(MARKER_SQL)).isEqualTo("primary");
+        } finally {
+            replicaDirect.execute("CREATE TABLE replica_heartbeat (id INT PRIMARY KEY, beat_millis BIGINT NOT NULL)");
+        }
+    }
+
+    @Test
+    void readYourWritesOverrideKeepsReadsOnPrimary() {
+        assertThat(ReadYourWrites.call(() -> readOnly(MARKER_SQL))).isEqualTo("primary");
+        assertThat(readOnly(MARKER_SQL)).isEqualTo("replica");
+    }
+
+    @Test
+    void readsAfterAWriteInTheSameRequestStayOnPrimary() {
+        ReadYourWrites.beginRequest(false);
+        try {
+            assertThat(readOnly(MARKER_SQL)).isEqualTo("replica");
+            readWrite(MARKER_SQL);
+            assertThat(readOnly(MARKER_SQL)).isEqualTo("primary");
+        } finally {
+            ReadYourWrites.endRequest();
+        }
+        assertThat(readOnly(MARKER_SQL)).isEqualTo("replica");
+    }
+
+    // A replica behind the primary must not fill the second-level and query caches
+    @Test
+    void onlySessionsOnTheReplicaSkipCachePuts() {
+        assertThat(readOnly(this::cacheMode)).isEqualTo(CacheMode.GET);
+        assertThat(ReadYourWrites.call(() -> readOnly(this::cacheMode))).isEqualTo(CacheMode.NORMAL);
+        assertThat(readWrite(this::cacheMode)).isEqualTo(CacheMode.NORMAL);
+    }
+
+    @Test
+    void targetIsChosenOnceWhenTheTransactionBegins() {
+        String marker = readOnly(() -> {
+            replicaDirect.update("UPDATE replica_heartbeat SET beat_millis = 0 WHERE id = 1");
+            replicaLagMonitor.check();
+            return jdbcTemplate.queryForObject(MARKER_SQL, String.class);
+        });
+
+        assertThat(replicaLagMonitor.isReplicaUsable()).isFalse();
+        assertThat(marker).isEqualTo("replica");
+        assertThat(readOnly(MARKER_SQL)).isEqualTo("primary");
+    }
+
+    private CacheMode cacheMode() {
+        return entityManager.unwrap(Session.class).getCacheMode();
+    }
+
+    private String readOnly(String sql) {
+        return readOnly(() -> jdbcTemplate.queryForObject(sql, String.class));
+    }
+
+    private <T> T readOnly(Supplier<T> action) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template.execute(status -> action.get());
+    }
+
+    private String readWrite(String sql) {
+        return readWrite(() -> jdbcTemplate.queryForObject(sql, String.class));
+    }
+
+    private <T> T readWrite(Supplier<T> action) {
+        return new TransactionTemplate(transactionManager).execute(status -> action.get());
+    }
+
+    private void replicate() {
+        Long beat = primaryDirect.queryForObject("SELECT beat_millis FROM replica_heartbeat WHERE id = 1", Long.class);
+        replicaDirect.update("DELETE FROM replica_heartbeat");
+        replicaDirect.update("INSERT INTO replica_heartbeat (id, beat_millis) VALUES (1, ?)", beat);
+    }
+
+    private static JdbcTemplate direct(String database) {
+        return new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1", "sa", "password"));
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.damiProd.event;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskEventHubTest {
+
+    private final TaskEventHub hub = new TaskEventHub(Duration.ofMillis(20));
+
+    // Nothing to publish, so only the heartbeat can notice that the stream is gone
+    @Test
+    void idleSubscriberIsRemovedWhenTheHeartbeatFails() throws Exception {
+        SseEmitter emitter = hub.subscribe(new TaskEventFilter(null, null, null));
+        assertThat(hub.subscriberCount()).isEqualTo(1);
+
+        emitter.complete();
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (hub.subscriberCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(hub.subscriberCount()).isZero();
+    }
+}
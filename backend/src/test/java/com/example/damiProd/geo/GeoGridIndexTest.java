@@ -0,0 +1,174 @@
+package com.example.damiProd.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GeoGridIndexTest {
+
+    @Test
+    void radiusQueriesCrossCellBoundaries() {
+        GeoGridIndex index = new GeoGridIndex(1.0);
+        addBackground(index);
+        // Query sits at the corner of four cells; each point lies in a different one
+        index.put(1, 45.995, 24.995);
+        index.put(2, 45.995, 25.005);
+        index.put(3, 46.005, 24.995);
+        index.put(4, 46.005, 25.005);
+        index.put(5, 46.05, 25.0);
+
+        assertThat(ids(index.withinRadius(46.0, 25.0, 1.0, 10))).containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+        assertThat(ids(index.nearest(46.0, 25.0, 4))).containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+    }
+
+    // A point due north just inside the radius, right past the row boundary at 45.46
+    @Test
+    void pointsJustInsideTheRadiusAreFound() {
+        GeoGridIndex index = new GeoGridIndex(0.02);
+        addBackground(index);
+        double lat = 45.0107;
+        double north = lat + Math.toDegrees(49.99 / GeoPoint.EARTH_RADIUS_KM);
+        index.put(1, north, 25.0);
+
+        assertThat(ids(index.withinRadius(lat, 25.0, 50.0, 10))).containsExactly(1L);
+        assertThat(ids(index.nearest(lat, 25.0, 1))).containsExactly(1L);
+        assertThat(index.withinRadius(lat, 25.0, 49.9, 10)).isEmpty();
+    }
+
+    @Test
+    void zeroRadiusMatchesOnlyTheExactPoint() {
+        GeoGridIndex index = new GeoGridIndex(0.02);
+        addBackground(index);
+        index.put(1, 44.4268, 26.1025);
+        index.put(2, 44.4268, 26.1025);
+        index.put(3, 44.4269, 26.1025);
+
+        List<GeoHit> hits = index.withinRadius(44.4268, 26.1025, 0, 10);
+
+        assertThat(ids(hits)).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(hits).allSatisfy(hit -> assertThat(hit.distanceKm()).isZero());
+        assertThat(index.withinRadius(44.4270, 26.1025, 0, 10)).isEmpty();
+    }
+
+    @Test
+    void queriesWrapAroundTheAntimeridian() {
+        GeoGridIndex index = new GeoGridIndex(0.02);
+        addBackground(index);
+        index.put(1, -17.0, 179.99);
+        index.put(2, -17.0, -179.99);
+        index.put(3, -17.0, 180.0);
+        index.put(4, -17.0, -179.5);
+
+        assertThat(ids(index.withinRadius(-17.0, 179.995, 5.0, 10))).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(ids(index.withinRadius(-17.0, -180.0, 5.0, 10))).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(ids(index.nearest(-17.0, -179.98, 3))).containsExactly(2L, 3L, 1L);
+    }
+
+    @Test
+    void queriesNearThePolesCoverEveryLongitude() {
+        GeoGridIndex index = new GeoGridIndex(0.5);
+        addBackground(index);
+        index.put(1, 89.99, 0.0);
+        index.put(2, 89.99, 180.0);
+        index.put(3, 90.0, 45.0);
+        index.put(4, 89.99, -90.0);
+        index.put(5, -89.99, 10.0);
+        index.put(6, 88.0, 0.0);
+
+        assertThat(ids(index.withinRadius(90.0, 0.0, 5.0, 10))).containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+        assertThat(ids(index.withinRadius(89.995, 90.0, 3.0, 10))).containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+        assertThat(ids(index.withinRadius(-90.0, 0.0, 5.0, 10))).containsExactly(5L);
+        assertThat(ids(index.nearest(89.999, 120.0, 4))).containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+    }
+
+    @Test
+    void putMovesAnIndexedPointAndRemoveDropsIt() {
+        GeoGridIndex index = new GeoGridIndex(0.02);
+        index.put(1, 44.43, 26.10);
+        index.put(2, 44.44, 26.11);
+
+        index.put(1, 46.77, 23.59);
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(ids(index.withinRadius(44.43, 26.10, 1.0, 10))).isEmpty();
+        assertThat(ids(index.withinRadius(46.77, 23.59, 1.0, 10))).containsExactly(1L);
+        assertThat(ids(index.nearest(44.43, 26.10, 1))).containsExactly(2L);
+
+        assertThat(index.remove(2)).isTrue();
+        assertThat(index.remove(2)).isFalse();
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(ids(index.nearest(44.43, 26.10, 5))).containsExactly(1L);
+
+        index.clear();
+        assertThat(index.size()).isZero();
+        assertThat(index.nearest(44.43, 26.10, 5)).isEmpty();
+    }
+
+    @Test
+    void nearestWithNonPositiveKIsEmpty() {
+        GeoGridIndex index = new GeoGridIndex(0.02);
+        index.put(1, 44.43, 26.10);
+
+        assertThat(index.nearest(44.43, 26.10, 0)).isEmpty();
+    }
+
+    // Both queries must agree with a linear scan, for clustered and worldwide points alike
+    @Test
+    void queriesMatchALinearScan() {
+        Random random = new Random(7);
+        for (double cellDegrees : new double[] { 0.02, 0.7, 5.0 }) {
+            GeoGridIndex index = new GeoGridIndex(cellDegrees);
+            List<double[]> points = new ArrayList<>();
+            for (int id = 0; id < 2000; id++) {
+                double lat = id % 2 == 0 ? 44 + random.nextDouble() * 4 : random.nextDouble() * 180 - 90;
+                double lng = id % 2 == 0 ? 21 + random.nextDouble() * 8 : random.nextDouble() * 360 - 180;
+                index.put(id, lat, lng);
+                points.add(new double[] { id, lat, lng });
+            }
+
+            for (int query = 0; query < 200; query++) {
+                double lat = query % 2 == 0 ? 44 + random.nextDouble() * 4 : random.nextDouble() * 180 - 90;
+                double lng = query % 2 == 0 ? 21 + random.nextDouble() * 8 : random.nextDouble() * 360 - 180;
+                double radiusKm = random.nextDouble() * 300;
+                int k = 1 + random.nextInt(20);
+
+                List<GeoHit> expected = linearScan(points, lat, lng);
+                assertThat(ids(index.withinRadius(lat, lng, radiusKm, Integer.MAX_VALUE))).containsExactlyInAnyOrderElementsOf(
+                        ids(expected.stream().filter(hit -> hit.distanceKm() <= radiusKm).toList()));
+                assertThat(distances(index.nearest(lat, lng, k))).containsExactlyElementsOf(
+                        distances(expected.subList(0, k)));
+            }
+        }
+    }
+
+    // Occupied cells elsewhere, so queries walk the grid instead of falling back to a scan of every cell
+    private static void addBackground(GeoGridIndex index) {
+        Random random = new Random(1);
+        for (int id = 1000; id < 6000; id++) {
+            index.put(id, 10 + random.nextDouble() * 20, 60 + random.nextDouble() * 40);
+        }
+    }
+
+    private static List<GeoHit> linearScan(List<double[]> points, double lat, double lng) {
+        List<GeoHit> hits = new ArrayList<>();
+        for (double[] point : points) {
+            hits.add(new GeoHit((long) point[0], point[1], point[2],
+                    GeoPoint.haversineKm(lat, lng, point[1], point[2])));
+        }
+        hits.sort(Comparator.comparingDouble(GeoHit::distanceKm));
+        return hits;
+    }
+
+    private static List<Long> ids(List<GeoHit> hits) {
+        return hits.stream().map(GeoHit::id).toList();
+    }
+
+    private static List<Double> distances(List<GeoHit> hits) {
+        return hits.stream().map(GeoHit::distanceKm).toList();
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.damiProd.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class RouteSequenceOptimizerTest {
+
+    @Test
+    void emptyRouteHasNoStops() {
+        int[] order = RouteSequenceOptimizer.optimize(new double[0], new double[0]);
+
+        assertThat(order).isEmpty();
+        assertThat(RouteSequenceOptimizer.pathLengthKm(new double[0], new double[0], order)).isZero();
+    }
+
+    @Test
+    void singleStopIsKept() {
+        double[] lat = { 44.43 };
+        double[] lng = { 26.10 };
+
+        int[] order = RouteSequenceOptimizer.optimize(lat, lng);
+
+        assertThat(order).containsExactly(0);
+        assertThat(RouteSequenceOptimizer.pathLengthKm(lat, lng, order)).isZero();
+    }
+
+    @Test
+    void twoStopsKeepTheDispatcherOrder() {
+        assertThat(RouteSequenceOptimizer.optimize(new double[] { 45.0, 44.0 }, new double[] { 25.0, 26.0 }))
+                .containsExactly(0, 1);
+    }
+
+    // Stops along one road entered out of order: 0, 4, 1, 3, 2 km east of the start
+    @Test
+    void zigzagIsStraightened() {
+        double[] lat = new double[5];
+        double[] lng = new double[5];
+        double[] kmEast = { 0, 4, 1, 3, 2 };
+        for (int i = 0; i < kmEast.length; i++) {
+            lat[i] = 45.0;
+            lng[i] = 25.0 + kmEast[i] / 78.7;
+        }
+
+        int[] order = RouteSequenceOptimizer.optimize(lat, lng);
+
+        assertThat(order).containsExactly(0, 2, 4, 3, 1);
+        assertThat(RouteSequenceOptimizer.pathLengthKm(lat, lng, order)).isCloseTo(4.0, within(0.05));
+    }
+
+    @Test
+    void stopsAtTheSameSpotCostNothing() {
+        double[] lat = { 46.77, 46.77, 46.77, 46.77 };
+        double[] lng = { 23.59, 23.59, 23.59, 23.59 };
+
+        int[] order = RouteSequenceOptimizer.optimize(lat, lng);
+
+        assertThat(order).containsExactlyInAnyOrder(0, 1, 2, 3);
+        assertThat(RouteSequenceOptimizer.pathLengthKm(lat, lng, order)).isZero();
+    }
+
+    // Random routes across Romania, including ones the dispatcher already ordered well
+    @Test
+    void optimizedRouteIsAPermutationNoLongerThanTheInputOrder() {
+        Random random = new Random(42);
+        for (int round = 0; round < 300; round++) {
+            int n = 3 + random.nextInt(40);
+            double[] lat = new double[n];
+            double[] lng = new double[n];
+            for (int i = 0; i < n; i++) {
+                lat[i] = 44.0 + random.nextDouble() * 4;
+                lng[i] = 21.0 + random.nextDouble() * 8;
+            }
+            if (round % 2 == 1) {
+                sortAlongLongitude(lat, lng);
+            }
+            int[] input = IntStream.range(0, n).toArray();
+
+            int[] order = RouteSequenceOptimizer.optimize(lat, lng);
+
+            assertThat(order).containsExactlyInAnyOrder(input);
+            assertThat(RouteSequenceOptimizer.pathLengthKm(lat, lng, order))
+                    .isLessThanOrEqualTo(RouteSequenceOptimizer.pathLengthKm(lat, lng, input));
+        }
+    }
+
+    private static void sortAlongLongitude(double[] lat, double[] lng) {
+        Integer[] byLng = new Integer[lat.length];
+        Arrays.setAll(byLng, i -> i);
+        Arrays.sort(byLng, (a, b) -> Double.compare(lng[a], lng[b]));
+        double[] sortedLat = new double[lat.length];
+        double[] sortedLng = new double[lat.length];
+        for (int i = 0; i < byLng.length; i++) {
+            sortedLat[i] = lat[byLng[i]];
+            sortedLng[i] = lng[byLng[i]];
+        }
+        System.arraycopy(sortedLat, 0, lat, 0, lat.length);
+        System.arraycopy(sortedLng, 0, lng, 0, lng.length);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.damiProd.metrics;
+
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.web.method.HandlerMethod;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs requests through MockMvc and asserts on the SQL statements they caused, as counted
+ * by SqlStatementFilter. Needs sql-budget.enabled=true for statement shapes to be tracked.
+ *
+ * Don't run the requests inside a test transaction: entities already in the test's
+ * persistence context would hide lazy loads.
+ */
+public class SqlBudgetAssertions {
+
+    private final MockMvc mockMvc;
+    private final SqlBudgetEnforcer sqlBudgetEnforcer;
+
+    public SqlBudgetAssertions(MockMvc mockMvc, SqlBudgetEnforcer sqlBudgetEnforcer) {
+        this.mockMvc = mockMvc;
+        this.sqlBudgetEnforcer = sqlBudgetEnforcer;
+    }
+
+    /**
+     * Asserts the request succeeds within the budget of its controller method
+     * ({@link SqlBudget} or sql-budget.default).
+     */
+    public SqlStatementStats assertWithinBudget(RequestBuilder request) throws Exception {
+        MvcResult result = perform(request);
+        assertThat(result.getHandler()).isInstanceOf(HandlerMethod.class);
+        return assertAtMost(result, sqlBudgetEnforcer.budgetFor((HandlerMethod) result.getHandler()));
+    }
+
+    /**
+     * Asserts the request succeeds with at most maxStatements SQL statements.
+     */
+    public SqlStatementStats assertAtMost(RequestBuilder request, int maxStatements) throws Exception {
+        return assertAtMost(perform(request), maxStatements);
+    }
+
+    /**
+     * Asserts no statement shape ran more than maxRepeats times, i.e. there is no N+1 over more
+     * rows than that. Independent of the total, so it holds however much test data there is.
+     */
+    public static void assertNoRepeatedShapes(SqlStatementStats stats, int maxRepeats) {
+        assertThat(stats.maxRepeats())
+                .as("Statement repeated more than %d times: %s", maxRepeats, stats.describe())
+                .isLessThanOrEqualTo(maxRepeats);
+    }
+
+    private MvcResult perform(RequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request).andExpect(status().is2xxSuccessful()).andReturn();
+        assertThat(SqlStatementStats.of(result.getRequest()))
+                .as("SQL statement stats (is SqlStatementFilter registered for this path?)")
+                .isNotNull();
+        return result;
+    }
+
+    private static SqlStatementStats assertAtMost(MvcResult result, int maxStatements) {
+        SqlStatementStats stats = SqlStatementStats.of(result.getRequest());
+        assertThat(stats.total())
+                .as("%s %s: %s", result.getRequest().getMethod(), result.getRequest().getRequestURI(),
+                        stats.describe())
+                .isLessThanOrEqualTo(maxStatements);
+        return stats;
+    }
+}
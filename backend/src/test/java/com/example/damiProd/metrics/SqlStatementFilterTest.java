@@ -0,0 +1,97 @@
+package com.example.damiProd.metrics;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * What the budget check does once a request has finished. The check runs after the response
+ * has been written, so fail mode surfaces as an exception to the caller (MockMvc in tests)
+ * while the response itself is left as the handler produced it.
+ */
+class SqlStatementFilterTest {
+
+    private final SqlStatementCounter counter = new SqlStatementCounter();
+
+    @Test
+    void requestsWithinBudgetPass() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/widgets");
+
+        assertThatCode(() -> filter("fail").doFilter(request, new MockHttpServletResponse(), handler(1)))
+                .doesNotThrowAnyException();
+        assertThat(SqlStatementStats.of(request).total()).isEqualTo(1);
+    }
+
+    @Test
+    void failModeThrowsAfterTheResponseWasWritten() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/widgets");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThatThrownBy(() -> filter("fail").doFilter(request, response, handler(3)))
+                .isInstanceOf(SqlBudgetExceededException.class)
+                .hasMessageContaining("exceeded its SQL budget of 1");
+        // The handler's response was already committed; the exception cannot replace it
+        assertThat(response.isCommitted()).isTrue();
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo("[]");
+    }
+
+    @Test
+    void logModeOnlyLogs() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/widgets");
+
+        assertThatCode(() -> filter("log").doFilter(request, new MockHttpServletResponse(), handler(3)))
+                .doesNotThrowAnyException();
+        assertThat(SqlStatementStats.of(request).total()).isEqualTo(3);
+    }
+
+    // The event stream is still open when the filter returns; its statements are not a finished request
+    @Test
+    void asyncRequestsAreNotChecked() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/events/tasks");
+        request.setAsyncSupported(true);
+        FilterChain chain = (req, res) -> {
+            handler(3).doFilter(req, res);
+            req.startAsync();
+        };
+
+        assertThatCode(() -> filter("fail").doFilter(request, new MockHttpServletResponse(), chain))
+                .doesNotThrowAnyException();
+    }
+
+    private static SqlStatementFilter filter(String mode) {
+        return new SqlStatementFilter(new SqlBudgetEnforcer(true, mode, 10));
+    }
+
+    // Stands in for DispatcherServlet: resolves a handler with @SqlBudget(1), runs statements, writes a body
+    private FilterChain handler(int statements) {
+        return (req, res) -> {
+            try {
+                req.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                        new HandlerMethod(new WidgetController(), WidgetController.class.getMethod("list")));
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException(e);
+            }
+            for (int i = 0; i < statements; i++) {
+                counter.inspect("select w.id from widget w where w.id = " + i);
+            }
+            res.getWriter().write("[]");
+            res.flushBuffer();
+        };
+    }
+
+    static class WidgetController {
+
+        @SqlBudget(1)
+        public String list() {
+            return "[]";
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.damiProd.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TextSearchIndexTest {
+
+    private final TextSearchIndex<String> index = new TextSearchIndex<>();
+
+    @Test
+    void prefixMatchesRankAboveInfixMatches() {
+        index.put(1, "infix", "Reconstructii Est");
+        index.put(2, "prefix", "Constanta Port");
+        index.put(3, "other", "Transport Nord");
+
+        assertThat(index.search("const", 10)).containsExactly("prefix", "infix");
+        assertThat(index.search("struct", 10)).containsExactly("infix");
+    }
+
+    @Test
+    void tiesKeepInsertionOrder() {
+        index.put(1, "first", "Popescu Ion");
+        index.put(2, "second", "Popa Maria");
+        index.put(3, "third", "Popovici Ana");
+
+        assertThat(index.search("pop", 10)).containsExactly("first", "second", "third");
+        assertThat(index.search("pop", 2)).containsExactly("first", "second");
+    }
+
+    @Test
+    void queriesAreNormalizedAndAllTokensMustMatch() {
+        index.put(1, "brasov", "Ștefănescu", "Brașov, str. Lungă 5");
+        index.put(2, "bucuresti", "Ștefănescu", "București");
+
+        assertThat(index.search("STEFANESCU bras", 10)).containsExactly("brasov");
+        assertThat(index.search("stefanescu cluj", 10)).isEmpty();
+        assertThat(index.search("  ,. ", 10)).isEmpty();
+        assertThat(index.search(null, 10)).isEmpty();
+    }
+
+    // A prefix match indexed after thousands of infix matches must still be ranked first
+    @Test
+    void lateBetterMatchesAreNotCutOffByEarlierWeakerOnes() {
+        for (int id = 0; id < 5000; id++) {
+            index.put(id, "infix-" + id, "Depozit Atomix " + id);
+        }
+        index.put(9000, "prefix", "Tomescu Farm");
+
+        assertThat(index.search("tom", 3)).containsExactly("prefix", "infix-0", "infix-1");
+        assertThat(index.search("omix", 1)).containsExactly("infix-0");
+    }
+
+    @Test
+    void putReplacesTheDocumentWithTheSameId() {
+        index.put(1, "old", "Ionescu");
+        index.put(1, "new", "Georgescu");
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.search("ionescu", 10)).isEmpty();
+        assertThat(index.search("georgescu", 10)).containsExactly("new");
+    }
+
+    @Test
+    void removedDocumentsAreNotReturned() {
+        index.put(1, "a", "Marinescu");
+        index.put(2, "b", "Marin");
+
+        assertThat(index.remove(1)).isTrue();
+        assertThat(index.remove(1)).isFalse();
+        assertThat(index.remove(42)).isFalse();
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.search("marin", 10)).containsExactly("b");
+    }
+
+    // Enough replacements to trigger compaction several times; results must be unchanged by it
+    @Test
+    void compactionKeepsLiveDocumentsSearchable() {
+        for (int round = 0; round < 5; round++) {
+            for (int id = 0; id < 1500; id++) {
+                index.put(id, "r" + round + "-" + id, "Client " + id + " runda" + round);
+            }
+        }
+        for (int id = 0; id < 1500; id += 2) {
+            index.remove(id);
+        }
+
+        assertThat(index.size()).isEqualTo(750);
+        assertThat(index.search("runda3", 10)).isEmpty();
+        assertThat(index.search("client 1499", 10)).containsExactly("r4-1499");
+        assertThat(index.search("client 1498", 10)).isEmpty();
+        assertThat(index.search("runda4", 2)).containsExactly("r4-1", "r4-3");
+
+        index.put(1498, "back", "Client 1498");
+        assertThat(index.search("client 1498", 10)).containsExactly("back");
+    }
+
+    @Test
+    void clearEmptiesTheIndex() {
+        index.put(1, "a", "Vasilescu");
+        index.clear();
+
+        assertThat(index.size()).isZero();
+        assertThat(index.search("vasilescu", 10)).isEmpty();
+        index.put(1, "a", "Vasilescu");
+        assertThat(index.search("vasi", 10)).containsExactly("a");
+    }
+}
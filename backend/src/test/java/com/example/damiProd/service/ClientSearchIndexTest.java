@@ -0,0 +1,78 @@
+package com.example.damiProd.service;
+
+import com.example.damiProd.domain.Client;
+import com.example.damiProd.domain.Individual;
+import com.example.damiProd.domain.Order;
+import com.example.damiProd.dto.ClientSearchHit;
+import com.example.damiProd.repository.OrderRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The client search index only reflects committed saves and deletes.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:client-search;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "photos.storage=local",
+        "sanitization.cron=-"
+})
+class ClientSearchIndexTest {
+
+    @Autowired
+    private ClientService clientService;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void committedSavesAndDeletesAreSearchable() {
+        Client client = clientService.saveClient(individual("Zamfirescu Aurel", "1800101000011"));
+
+        assertThat(ids(clientService.searchClients("zamfirescu", 10))).containsExactly(client.getId());
+
+        clientService.deleteClient(client.getId());
+        assertThat(clientService.searchClients("zamfirescu", 10)).isEmpty();
+    }
+
+    // The delete fails on the orders FK at commit; the client must stay searchable
+    @Test
+    void failedDeleteKeepsTheClientInTheIndex() {
+        Client client = clientService.saveClient(individual("Voiculescu Dana", "2800101000012"));
+        Order order = new Order(9001L, new Date());
+        order.setClient(client);
+        orderRepository.save(order);
+
+        assertThatThrownBy(() -> clientService.deleteClient(client.getId())).isInstanceOf(RuntimeException.class);
+
+        assertThat(ids(clientService.searchClients("voiculescu", 10))).containsExactly(client.getId());
+    }
+
+    @Test
+    void rolledBackSaveIsNotIndexed() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            clientService.saveClient(individual("Uzunov Petre", "1800101000013"));
+            status.setRollbackOnly();
+        });
+
+        assertThat(clientService.searchClients("uzunov", 10)).isEmpty();
+    }
+
+    private static Individual individual(String name, String cnp) {
+        return new Individual(cnp + "@example.com", "0722000000", "Strada Lunga 3, Brasov", name, cnp);
+    }
+
+    private static List<Long> ids(List<ClientSearchHit> hits) {
+        return hits.stream().map(ClientSearchHit::id).toList();
+    }
+}
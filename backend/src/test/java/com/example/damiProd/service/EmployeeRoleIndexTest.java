@@ -0,0 +1,63 @@
+package com.example.damiProd.service;
+
+import com.example.damiProd.repository.EmployeeRepository;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmployeeRoleIndexTest {
+
+    private final AtomicInteger queries = new AtomicInteger();
+    private final List<Long> drivers = new ArrayList<>(List.of(1L, 2L));
+    private Runnable duringQuery = () -> { };
+
+    private final EmployeeRoleIndex index = new EmployeeRoleIndex(repository(() -> {
+        queries.incrementAndGet();
+        List<Long> result = List.copyOf(drivers);
+        duringQuery.run();
+        return result;
+    }));
+
+    @Test
+    void rolesAreLoadedOnceUntilInvalidated() {
+        assertThat(index.employeeIds("driver")).containsExactly(1L, 2L);
+        assertThat(index.employeeIds("DRIVER")).containsExactly(1L, 2L);
+        assertThat(queries).hasValue(1);
+
+        drivers.add(3L);
+        index.invalidate();
+
+        assertThat(index.employeeIds("driver")).containsExactly(1L, 2L, 3L);
+        assertThat(queries).hasValue(2);
+    }
+
+    // A role change committed while the old rows were being read must not leave them cached
+    @Test
+    void loadThatRacedWithAnInvalidationIsNotCached() {
+        duringQuery = () -> {
+            drivers.add(3L);
+            index.invalidate();
+        };
+        assertThat(index.employeeIds("driver")).containsExactly(1L, 2L);
+
+        duringQuery = () -> { };
+        assertThat(index.employeeIds("driver")).containsExactly(1L, 2L, 3L);
+        assertThat(queries).hasValue(2);
+    }
+
+    private static EmployeeRepository repository(Supplier<List<Long>> findIdsByRoleName) {
+        return (EmployeeRepository) Proxy.newProxyInstance(EmployeeRepository.class.getClassLoader(),
+                new Class<?>[] { EmployeeRepository.class }, (proxy, method, args) -> {
+                    if (method.getName().equals("findIdsByRoleName")) {
+                        return findIdsByRoleName.get();
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.damiProd.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageResizerTest {
+
+    private static final int WIDTH = 40;
+    private static final int HEIGHT = 20;
+
+    private final ImageResizer imageResizer = new ImageResizer();
+
+    // A landscape photo with a red top-left corner, stored with each EXIF orientation
+    @ParameterizedTest
+    @CsvSource({
+            "1, 40, 20, TL", "2, 40, 20, TR", "3, 40, 20, BR", "4, 40, 20, BL",
+            "5, 20, 40, TL", "6, 20, 40, TR", "7, 20, 40, BR", "8, 20, 40, BL"
+    })
+    void appliesExifOrientation(int orientation, int width, int height, String redCorner) throws IOException {
+        for (boolean littleEndian : new boolean[] { true, false }) {
+            byte[] file = withExifOrientation(markedJpeg(), orientation, littleEndian);
+
+            assertThat(ImageResizer.exifOrientation(file)).isEqualTo(orientation);
+            BufferedImage image = imageResizer.read(new ByteArrayInputStream(file)).orElseThrow();
+            assertThat(image.getWidth()).isEqualTo(width);
+            assertThat(image.getHeight()).isEqualTo(height);
+            assertThat(redCorner(image)).isEqualTo(redCorner);
+        }
+    }
+
+    @Test
+    void filesWithoutExifAreLeftAsStored() throws IOException {
+        byte[] jpeg = markedJpeg();
+
+        assertThat(ImageResizer.exifOrientation(jpeg)).isEqualTo(1);
+        assertThat(ImageResizer.exifOrientation(new byte[] { 'G', 'I', 'F', '8' })).isEqualTo(1);
+        BufferedImage image = imageResizer.read(new ByteArrayInputStream(jpeg)).orElseThrow();
+        assertThat(image.getWidth()).isEqualTo(WIDTH);
+        assertThat(redCorner(image)).isEqualTo("TL");
+    }
+
+    @Test
+    void truncatedExifIsIgnored() throws IOException {
+        byte[] file = withExifOrientation(markedJpeg(), 6, true);
+        byte[] truncated = Arrays.copyOf(file, 20);
+
+        assertThat(ImageResizer.exifOrientation(truncated)).isEqualTo(1);
+    }
+
+    @Test
+    void nonImagesAreEmpty() throws IOException {
+        assertThat(imageResizer.read(new ByteArrayInputStream("not an image".getBytes()))).isEmpty();
+    }
+
+    private static byte[] markedJpeg() throws IOException {
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < 4; x++) {
+            for (int y = 0; y < 4; y++) {
+                image.setRGB(x, y, 0xFF0000);
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpeg", out);
+        return out.toByteArray();
+    }
+
+    // Inserts an APP1 segment holding a one-entry IFD0 (Orientation) right after SOI
+    private static byte[] withExifOrientation(byte[] jpeg, int orientation, boolean littleEndian) {
+        byte[] tiff = littleEndian
+                ? new byte[] { 'I', 'I', 42, 0, 8, 0, 0, 0, 1, 0, 0x12, 0x01, 3, 0, 1, 0, 0, 0,
+                        (byte) orientation, 0, 0, 0, 0, 0, 0, 0 }
+                : new byte[] { 'M', 'M', 0, 42, 0, 0, 0, 8, 0, 1, 0x01, 0x12, 0, 3, 0, 0, 0, 1,
+                        0, (byte) orientation, 0, 0, 0, 0, 0, 0 };
+        int length = 2 + 6 + tiff.length;
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(0xFF);
+        out.write(0xD8);
+        out.write(0xFF);
+        out.write(0xE1);
+        out.write(length >> 8);
+        out.write(length & 0xFF);
+        out.writeBytes(new byte[] { 'E', 'x', 'i', 'f', 0, 0 });
+        out.writeBytes(tiff);
+        out.write(jpeg, 2, jpeg.length - 2);
+        return out.toByteArray();
+    }
+
+    private static String redCorner(BufferedImage image) {
+        int w = image.getWidth();
+        int h = image.getHeight();
+        int[][] points = { { 1, 1 }, { w - 2, 1 }, { 1, h - 2 }, { w - 2, h - 2 } };
+        String[] names = { "TL", "TR", "BL", "BR" };
+        for (int i = 0; i < points.length; i++) {
+            int rgb = image.getRGB(points[i][0], points[i][1]);
+            if ((rgb >> 16 & 0xFF) > 200 && (rgb >> 8 & 0xFF) < 80) {
+                return names[i];
+            }
+        }
+        return "none";
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.damiProd.service;
+
+import com.example.damiProd.domain.PhotoCatalogEntry;
+import com.example.damiProd.repository.PhotoCatalogRepository;
+import com.example.damiProd.storage.ObjectStorage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Backfilling the catalog from the bucket: rendition URLs only for renditions that exist.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:photo-reconcile;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "photos.storage=local",
+        "sanitization.cron=-"
+})
+class PhotoCatalogReconcilerTest {
+
+    @TempDir
+    static Path photosRoot;
+
+    @DynamicPropertySource
+    static void storageRoot(DynamicPropertyRegistry registry) {
+        registry.add("photos.local.root-dir", () -> photosRoot.toString());
+    }
+
+    @Autowired
+    private ObjectStorage objectStorage;
+    @Autowired
+    private PhotoCatalogReconciler photoCatalogReconciler;
+    @Autowired
+    private PhotoCatalogRepository photoCatalogRepository;
+
+    @Test
+    void renditionUrlsAreOnlySetForExistingRenditions() throws Exception {
+        byte[] bytes = { 1, 2, 3 };
+        // Uploaded before renditions existed
+        objectStorage.put("legacy/old.jpg", bytes, "image/jpeg");
+        // Uploaded with both renditions
+        objectStorage.put("recent/fresh.jpg", bytes, "image/jpeg");
+        objectStorage.put("recent/fresh_display.jpg", bytes, "image/jpeg");
+        objectStorage.put("recent/fresh_thumb.jpg", bytes, "image/jpeg");
+        // Only the thumbnail survived
+        objectStorage.put("partial/half.png", bytes, "image/png");
+        objectStorage.put("partial/half_thumb.jpg", bytes, "image/jpeg");
+        objectStorage.put("docs/contract.pdf", bytes, "application/pdf");
+
+        photoCatalogReconciler.reconcile();
+
+        PhotoCatalogEntry legacy = entry("legacy/old.jpg");
+        assertThat(legacy.getUrl()).isEqualTo(objectStorage.publicUrl("legacy/old.jpg"));
+        assertThat(legacy.getDisplayUrl()).isNull();
+        assertThat(legacy.getThumbnailUrl()).isNull();
+
+        PhotoCatalogEntry recent = entry("recent/fresh.jpg");
+        assertThat(recent.getDisplayUrl()).isEqualTo(objectStorage.publicUrl("recent/fresh_display.jpg"));
+        assertThat(recent.getThumbnailUrl()).isEqualTo(objectStorage.publicUrl("recent/fresh_thumb.jpg"));
+        assertThat(photoCatalogRepository.findByObjectName("recent/fresh_display.jpg")).isEmpty();
+
+        PhotoCatalogEntry partial = entry("partial/half.png");
+        assertThat(partial.getDisplayUrl()).isNull();
+        assertThat(partial.getThumbnailUrl()).isEqualTo(objectStorage.publicUrl("partial/half_thumb.jpg"));
+
+        PhotoCatalogEntry document = entry("docs/contract.pdf");
+        assertThat(document.getDisplayUrl()).isNull();
+        assertThat(document.getThumbnailUrl()).isNull();
+    }
+
+    private PhotoCatalogEntry entry(String objectName) {
+        return photoCatalogRepository.findByObjectName(objectName).orElseThrow();
+    }
+}
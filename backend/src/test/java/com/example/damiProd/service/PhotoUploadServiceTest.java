@@ -0,0 +1,30 @@
+package com.example.damiProd.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PhotoUploadServiceTest {
+
+    @TempDir
+    Path spoolDir;
+
+    // Uploads spooled before a restart have no job any more and must not pile up
+    @Test
+    void spoolFilesLeftByAPreviousRunAreDeletedAtStartup() throws Exception {
+        Path orphan = Files.writeString(spoolDir.resolve("0b6f1c2e.upload"), "jpeg");
+        Path unrelated = Files.writeString(spoolDir.resolve("notes.txt"), "keep");
+
+        PhotoUploadService service = new PhotoUploadService(null, spoolDir.toString(), 1, 1, 1);
+        try {
+            assertThat(orphan).doesNotExist();
+            assertThat(unrelated).exists();
+        } finally {
+            service.shutdown();
+        }
+    }
+}
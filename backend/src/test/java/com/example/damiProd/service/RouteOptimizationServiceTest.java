@@ -0,0 +1,64 @@
+package com.example.damiProd.service;
+
+import com.example.damiProd.dto.RouteOptimizationResult;
+import com.example.damiProd.dto.TaskLocation;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RouteOptimizationServiceTest {
+
+    @Test
+    void routeWithoutTasksIsEmpty() {
+        RouteOptimizationResult result = RouteOptimizationService.optimize(7L, List.of());
+
+        assertThat(result.routeId()).isEqualTo(7L);
+        assertThat(result.orderedTaskIds()).isEmpty();
+        assertThat(result.distanceBeforeKm()).isZero();
+        assertThat(result.distanceAfterKm()).isZero();
+        assertThat(result.unlocatedTasks()).isZero();
+    }
+
+    @Test
+    void singleStopKeepsItsPlace() {
+        RouteOptimizationResult result = RouteOptimizationService.optimize(7L,
+                List.of(location(1L, "44.43,26.10", null)));
+
+        assertThat(result.orderedTaskIds()).containsExactly(1L);
+        assertThat(result.distanceAfterKm()).isZero();
+    }
+
+    // Unlocated tasks keep their relative order after the located ones; the address is used when it holds coordinates
+    @Test
+    void stopsWithoutCoordinatesGoLast() {
+        RouteOptimizationResult result = RouteOptimizationService.optimize(7L, List.of(
+                location(1L, "45.00,25.00", null),
+                location(2L, null, "Strada Lunga 3"),
+                location(3L, "45.00,25.05", null),
+                location(4L, "nu se stie", "Strada Scurta 1"),
+                location(5L, null, "45.00, 25.01"),
+                location(6L, null, null)));
+
+        assertThat(result.orderedTaskIds()).containsExactly(1L, 5L, 3L, 2L, 4L, 6L);
+        assertThat(result.unlocatedTasks()).isEqualTo(3);
+        assertThat(result.distanceAfterKm()).isLessThanOrEqualTo(result.distanceBeforeKm());
+    }
+
+    @Test
+    void routeWithOnlyUnlocatedStopsKeepsTheInputOrder() {
+        RouteOptimizationResult result = RouteOptimizationService.optimize(7L, List.of(
+                location(3L, null, "Strada Lunga 3"),
+                location(1L, "", null),
+                location(2L, null, "Piata Unirii")));
+
+        assertThat(result.orderedTaskIds()).containsExactly(3L, 1L, 2L);
+        assertThat(result.unlocatedTasks()).isEqualTo(3);
+        assertThat(result.distanceAfterKm()).isZero();
+    }
+
+    private static TaskLocation location(Long taskId, String orderCoordinates, String address) {
+        return new TaskLocation(taskId, 7L, "Brasov", orderCoordinates, address);
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.damiProd.service;
+
+import com.example.damiProd.domain.Employee;
+import com.example.damiProd.domain.EmployeeRole;
+import com.example.damiProd.domain.Route;
+import com.example.damiProd.domain.Task;
+import com.example.damiProd.domain.TaskType;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(RouteService.class)
+class RouteServiceQueryCountTest {
+
+    private static final int ROUTES = 500;
+    private static final int DRIVERS = 25;
+    private static final int TASKS_PER_ROUTE = 3;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private RouteService routeService;
+
+    private Statistics statistics;
+    private final List<Employee> drivers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        EmployeeRole driverRole = entityManager.persist(new EmployeeRole("DRIVER"));
+        EmployeeRole dispatcherRole = entityManager.persist(new EmployeeRole("DISPATCHER"));
+
+        for (int d = 0; d < DRIVERS; d++) {
+            Employee driver = new Employee("driver" + d, "secret", "Driver " + d, "07000000" + d);
+            driver.setCounty("Arad");
+            driver.getRoles().add(driverRole);
+            // Several roles per driver: fetched together with the tasks they would repeat each task
+            driver.getRoles().add(dispatcherRole);
+            drivers.add(entityManager.persist(driver));
+        }
+
+        for (int r = 0; r < ROUTES; r++) {
+            Route route = new Route(LocalDate.now(), drivers.get(r % DRIVERS));
+            route.setCounty("Arad");
+            for (int t = 0; t < TASKS_PER_ROUTE; t++) {
+                Task task = new Task(TaskType.SANITIZATION, LocalDateTime.now(), "Strada " + t, "Client " + t);
+                task.setRoute(route);
+                route.getTasks().add(task);
+            }
+            entityManager.persist(route);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    // Routes, tasks and drivers in one query; the drivers' roles in at most one more (or from the cache)
+    @Test
+    void routesByCountyLoadTasksDriversAndRolesInTwoQueries() {
+        List<Route> routes = routeService.getRoutesByCounty("Arad");
+        touch(routes);
+
+        assertThat(routes).hasSize(ROUTES);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void routesByEmployeeLoadTasksDriverAndRolesInTwoQueries() {
+        List<Route> routes = routeService.getRoutesByEmployeeId(drivers.get(0).getId());
+        touch(routes);
+
+        assertThat(routes).hasSize(ROUTES / DRIVERS);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void multiRoleDriversDoNotRepeatTasks() {
+        List<Route> routes = routeService.getAllRoutes();
+
+        assertThat(routes).hasSize(ROUTES);
+        for (Route route : routes) {
+            assertThat(route.getTasks()).hasSize(TASKS_PER_ROUTE);
+            assertThat(route.getTasks()).doesNotHaveDuplicates();
+        }
+        Route single = routeService.getRouteById(routes.get(0).getId());
+        assertThat(single.getTasks()).hasSize(TASKS_PER_ROUTE);
+    }
+
+    // Walks everything the JSON serializer would, to surface any lazy load
+    private void touch(List<Route> routes) {
+        for (Route route : routes) {
+            assertThat(route.getEmployeeName()).isNotNull();
+            assertThat(route.getEmployee().getRoles()).hasSize(2);
+            assertThat(route.getTasks()).hasSize(TASKS_PER_ROUTE);
+        }
+    }
+}
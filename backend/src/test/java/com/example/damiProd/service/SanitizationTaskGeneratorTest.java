@@ -0,0 +1,131 @@
+package com.example.damiProd.service;
+
+import com.example.damiProd.dto.SanitizationSchedule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SanitizationTaskGeneratorTest {
+
+    @Test
+    void occurrencesAreSpreadOverEachMonth() {
+        SanitizationSchedule schedule = schedule("2025-01-01", null, true, null, 4);
+
+        assertThat(SanitizationTaskGenerator.occurrences(schedule, date("2025-04-01"), date("2025-04-30")))
+                .containsExactly(date("2025-04-01"), date("2025-04-08"), date("2025-04-16"), date("2025-04-23"));
+    }
+
+    // An order starting on the 31st: February has no 29th-31st, so nothing spills into March
+    @Test
+    void ordersStartingOnThe31stFollowShorterMonths() {
+        SanitizationSchedule monthly = schedule("2025-01-31", null, true, null, 1);
+        SanitizationSchedule daily = schedule("2025-01-31", null, true, null, 31);
+
+        assertThat(SanitizationTaskGenerator.occurrences(monthly, date("2025-01-01"), date("2025-03-31")))
+                .containsExactly(date("2025-02-01"), date("2025-03-01"));
+        List<LocalDate> days = SanitizationTaskGenerator.occurrences(daily, date("2025-01-01"), date("2025-03-02"));
+        assertThat(days).hasSize(1 + 28 + 2).doesNotHaveDuplicates().isSorted();
+        assertThat(days).contains(date("2025-01-31"), date("2025-02-28"), date("2025-03-01"));
+    }
+
+    @Test
+    void februaryGetsAtMostOneOccurrencePerDay() {
+        SanitizationSchedule schedule = schedule("2024-01-01", null, true, null, 31);
+
+        assertThat(SanitizationTaskGenerator.occurrences(schedule, date("2024-02-01"), date("2024-02-29"))).hasSize(29);
+        assertThat(SanitizationTaskGenerator.occurrences(schedule, date("2025-02-01"), date("2025-02-28"))).hasSize(28);
+        assertThat(SanitizationTaskGenerator.occurrences(schedule(null, null, true, null, 4),
+                date("2024-02-01"), date("2024-02-29")))
+                .containsExactly(date("2024-02-01"), date("2024-02-08"), date("2024-02-15"), date("2024-02-22"));
+    }
+
+    // EET -> EEST on 2025-03-30 and back on 2025-10-26: one occurrence per calendar day either way
+    @Test
+    void dstChangesDoNotSkipOrRepeatDays() {
+        SanitizationSchedule daily = schedule("2025-01-01", null, true, null, 31);
+
+        for (LocalDate change : List.of(date("2025-03-30"), date("2025-10-26"))) {
+            List<LocalDate> days = SanitizationTaskGenerator.occurrences(daily, change.minusDays(2), change.plusDays(2));
+
+            assertThat(days).containsExactly(change.minusDays(2), change.minusDays(1), change,
+                    change.plusDays(1), change.plusDays(2));
+        }
+        List<LocalDate> year = SanitizationTaskGenerator.occurrences(daily, date("2025-01-01"), date("2025-12-31"));
+        assertThat(year).hasSize(365);
+        for (int i = 1; i < year.size(); i++) {
+            assertThat(ChronoUnit.DAYS.between(year.get(i - 1), year.get(i))).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void occurrencesStayWithinTheOrderAndTheRunWindow() {
+        SanitizationSchedule schedule = schedule("2025-03-10", "2025-05-20T00:00:00", false, null, 2);
+
+        assertThat(SanitizationTaskGenerator.occurrences(schedule, date("2025-01-01"), date("2025-12-31")))
+                .containsExactly(date("2025-03-16"), date("2025-04-01"), date("2025-04-16"), date("2025-05-01"),
+                        date("2025-05-16"));
+        assertThat(SanitizationTaskGenerator.occurrences(schedule, date("2025-04-02"), date("2025-04-20")))
+                .containsExactly(date("2025-04-16"));
+    }
+
+    @Test
+    void durationIsUsedWhenThereIsNoEndDate() {
+        SanitizationSchedule schedule = schedule("2025-06-01", null, false, 16, 2);
+
+        assertThat(SanitizationTaskGenerator.occurrences(schedule, date("2025-01-01"), date("2025-12-31")))
+                .containsExactly(date("2025-06-01"), date("2025-06-16"));
+    }
+
+    @Test
+    void endDateBeforeStartDateHasNoOccurrences() {
+        assertThat(SanitizationTaskGenerator.occurrences(schedule("2025-05-10", "2025-05-01", false, null, 31),
+                date("2025-01-01"), date("2025-12-31"))).isEmpty();
+        assertThat(SanitizationTaskGenerator.occurrences(schedule("2025-05-10", "2025-03-01", false, null, 31),
+                date("2025-01-01"), date("2025-12-31"))).isEmpty();
+        // A run window that is itself reversed
+        assertThat(SanitizationTaskGenerator.occurrences(schedule("2025-01-01", null, true, null, 31),
+                date("2025-06-10"), date("2025-06-01"))).isEmpty();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 0, -1, -30 })
+    void zeroOrNegativeDurationHasNoOccurrences(int durationDays) {
+        SanitizationSchedule schedule = schedule("2025-05-10", null, false, durationDays, 31);
+
+        assertThat(SanitizationTaskGenerator.occurrences(schedule, date("2025-01-01"), date("2025-12-31"))).isEmpty();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 0, -1, -4 })
+    void zeroOrNegativeFrequencyHasNoOccurrences(int perMonth) {
+        SanitizationSchedule schedule = schedule("2025-01-01", null, true, null, perMonth);
+
+        assertThat(SanitizationTaskGenerator.occurrences(schedule, date("2025-01-01"), date("2025-12-31"))).isEmpty();
+        assertThat(SanitizationTaskGenerator.occurrences(schedule("2025-01-01", null, true, null, null),
+                date("2025-01-01"), date("2025-12-31"))).isEmpty();
+    }
+
+    @Test
+    void unparseableDatesAreTreatedAsOpenEnded() {
+        SanitizationSchedule schedule = schedule("nedefinit", "31/12/2025", false, null, 1);
+
+        assertThat(SanitizationTaskGenerator.occurrences(schedule, date("2025-07-01"), date("2025-08-31")))
+                .containsExactly(date("2025-07-01"), date("2025-08-01"));
+    }
+
+    private static SanitizationSchedule schedule(String startDate, String endDate, Boolean isIndefinite,
+                                                 Integer durationDays, Integer igienizariPerMonth) {
+        return new SanitizationSchedule(1L, startDate, endDate, isIndefinite, durationDays, igienizariPerMonth,
+                "Brasov", "45.65,25.60", null, "Client", null, "Strada Lunga 3");
+    }
+
+    private static LocalDate date(String value) {
+        return LocalDate.parse(value);
+    }
+}
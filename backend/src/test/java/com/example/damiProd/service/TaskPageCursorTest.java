@@ -0,0 +1,135 @@
+package com.example.damiProd.service;
+
+import com.example.damiProd.domain.Task;
+import com.example.damiProd.domain.TaskType;
+import com.example.damiProd.dto.TaskFilter;
+import com.example.damiProd.dto.TaskPage;
+import com.example.damiProd.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Walks GET /api/tasks/page cursors across ties in scheduledTime, across the switch from
+ * scheduled to unscheduled tasks, and with filters applied.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:task-page;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "photos.storage=local",
+        "sanitization.cron=-"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TaskPageCursorTest {
+
+    private static final LocalDateTime EIGHT = LocalDateTime.of(2030, 1, 10, 8, 0);
+    private static final TaskFilter NO_FILTER = new TaskFilter(null, null, null, null, null);
+
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private final List<Long> tiedAtEight = new ArrayList<>();
+    private final List<Long> pickupsAtNine = new ArrayList<>();
+    private final List<Long> unscheduledPlacements = new ArrayList<>();
+    private final List<Long> unscheduledPickups = new ArrayList<>();
+
+    @BeforeAll
+    void setUp() {
+        // Saved interleaved, so ids and scheduled times are not in the same order
+        unscheduledPickups.add(save(TaskType.PICKUP, null));
+        for (int i = 0; i < 5; i++) {
+            tiedAtEight.add(save(TaskType.PLACEMENT, EIGHT));
+        }
+        unscheduledPlacements.add(save(TaskType.PLACEMENT, null));
+        pickupsAtNine.add(save(TaskType.PICKUP, EIGHT.plusHours(1)));
+        unscheduledPickups.add(save(TaskType.PICKUP, null));
+        pickupsAtNine.add(save(TaskType.PICKUP, EIGHT.plusHours(1)));
+    }
+
+    @Test
+    void tiedTimestampsAreSplitAcrossPagesWithoutGapsOrRepeats() {
+        List<List<Long>> pages = walk(NO_FILTER, 2);
+
+        assertThat(pages.get(0)).containsExactly(tiedAtEight.get(0), tiedAtEight.get(1));
+        assertThat(pages.get(1)).containsExactly(tiedAtEight.get(2), tiedAtEight.get(3));
+        assertThat(pages.get(2)).containsExactly(tiedAtEight.get(4), pickupsAtNine.get(0));
+        assertThat(flatten(pages)).containsExactlyElementsOf(expectedOrder());
+    }
+
+    // The page straddling the last scheduled task is completed with unscheduled ones, by id
+    @Test
+    void pagesMoveFromScheduledToUnscheduledTasks() {
+        List<List<Long>> pages = walk(NO_FILTER, 4);
+
+        assertThat(pages).hasSize(3);
+        assertThat(pages.get(1)).containsExactly(tiedAtEight.get(4), pickupsAtNine.get(0), pickupsAtNine.get(1),
+                unscheduledPickups.get(0));
+        assertThat(pages.get(2)).containsExactly(unscheduledPlacements.get(0), unscheduledPickups.get(1));
+        assertThat(flatten(pages)).containsExactlyElementsOf(expectedOrder());
+    }
+
+    @Test
+    void pagesInsideTheUnscheduledTasksKeepGoing() {
+        List<List<Long>> pages = walk(NO_FILTER, 7);
+
+        assertThat(pages.get(0)).endsWith(pickupsAtNine.get(1));
+        assertThat(pages.get(1)).containsExactly(unscheduledPickups.get(0), unscheduledPlacements.get(0),
+                unscheduledPickups.get(1));
+    }
+
+    @Test
+    void filteredPagesKeepTheFilterOnBothSeeks() {
+        TaskFilter pickups = new TaskFilter(null, TaskType.PICKUP, null, null, null);
+
+        assertThat(walk(pickups, 1)).containsExactly(List.of(pickupsAtNine.get(0)), List.of(pickupsAtNine.get(1)),
+                List.of(unscheduledPickups.get(0)), List.of(unscheduledPickups.get(1)));
+    }
+
+    @Test
+    void dateRangeExcludesUnscheduledTasks() {
+        TaskFilter onTheTenth = new TaskFilter(null, null, null, LocalDate.of(2030, 1, 10), LocalDate.of(2030, 1, 10));
+
+        List<Long> ids = flatten(walk(onTheTenth, 3));
+
+        assertThat(ids).containsExactlyElementsOf(expectedOrder().subList(0, 7));
+    }
+
+    private List<Long> expectedOrder() {
+        List<Long> expected = new ArrayList<>(tiedAtEight);
+        expected.addAll(pickupsAtNine);
+        expected.add(unscheduledPickups.get(0));
+        expected.add(unscheduledPlacements.get(0));
+        expected.add(unscheduledPickups.get(1));
+        return expected;
+    }
+
+    private List<List<Long>> walk(TaskFilter filter, int limit) {
+        List<List<Long>> pages = new ArrayList<>();
+        String cursor = null;
+        do {
+            TaskPage page = taskService.getTasksPage(filter, cursor, limit);
+            pages.add(page.items().stream().map(Task::getId).toList());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return pages;
+    }
+
+    private static List<Long> flatten(List<List<Long>> pages) {
+        return pages.stream().flatMap(List::stream).toList();
+    }
+
+    private Long save(TaskType type, LocalDateTime scheduledTime) {
+        return taskRepository.save(new Task(type, scheduledTime, "Strada Lunga 3", "Client")).getId();
+    }
+}
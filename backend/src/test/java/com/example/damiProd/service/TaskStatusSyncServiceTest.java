@@ -0,0 +1,134 @@
+package com.example.damiProd.service;
+
+import com.example.damiProd.domain.Task;
+import com.example.damiProd.domain.TaskStatus;
+import com.example.damiProd.domain.TaskType;
+import com.example.damiProd.dto.TaskStatusSyncResult;
+import com.example.damiProd.dto.TaskStatusSyncResult.Outcome;
+import com.example.damiProd.dto.TaskStatusTransition;
+import com.example.damiProd.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:status-sync;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "photos.storage=local",
+        "sanitization.cron=-"
+})
+class TaskStatusSyncServiceTest {
+
+    @Autowired
+    private TaskStatusSyncService taskStatusSyncService;
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Test
+    void replayedKeyIsReportedAsDuplicateAndNotReapplied() {
+        Long taskId = newTask();
+        Instant now = Instant.now();
+        TaskStatusTransition started = transition(taskId, TaskStatus.IN_PROGRESS, now.minusSeconds(60));
+        TaskStatusTransition completed = transition(taskId, TaskStatus.COMPLETED, now);
+
+        assertThat(outcomes(taskStatusSyncService.sync(List.of(started)))).containsExactly(Outcome.APPLIED);
+        assertThat(outcomes(taskStatusSyncService.sync(List.of(completed)))).containsExactly(Outcome.APPLIED);
+        // The device resends its whole queue
+        assertThat(outcomes(taskStatusSyncService.sync(List.of(started, completed))))
+                .containsExactly(Outcome.DUPLICATE, Outcome.DUPLICATE);
+
+        assertThat(taskRepository.findById(taskId).orElseThrow().getStatus()).isEqualTo(TaskStatus.COMPLETED);
+    }
+
+    @Test
+    void sameKeyTwiceInOneBatchIsAppliedOnce() {
+        Long taskId = newTask();
+        TaskStatusTransition started = transition(taskId, TaskStatus.IN_PROGRESS, Instant.now());
+
+        assertThat(outcomes(taskStatusSyncService.sync(List.of(started, started))))
+                .containsExactly(Outcome.APPLIED, Outcome.DUPLICATE);
+    }
+
+    // Requests racing on one key: one applies it, the others get DUPLICATE instead of a key violation
+    @Test
+    void concurrentRequestsWithTheSameKeyApplyItOnce() throws Exception {
+        int requests = 4;
+        Long taskId = newTask();
+        TaskStatusTransition started = transition(taskId, TaskStatus.IN_PROGRESS, Instant.now());
+
+        CyclicBarrier barrier = new CyclicBarrier(requests);
+        ExecutorService pool = Executors.newFixedThreadPool(requests);
+        List<Outcome> outcomes = new ArrayList<>();
+        try {
+            List<Future<List<TaskStatusSyncResult>>> futures = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                futures.add(pool.submit(() -> {
+                    barrier.await();
+                    return taskStatusSyncService.sync(List.of(started));
+                }));
+            }
+            for (Future<List<TaskStatusSyncResult>> future : futures) {
+                outcomes.addAll(outcomes(future.get(30, TimeUnit.SECONDS)));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(outcomes).filteredOn(outcome -> outcome == Outcome.APPLIED).hasSize(1);
+        assertThat(outcomes).filteredOn(outcome -> outcome == Outcome.DUPLICATE).hasSize(requests - 1);
+        assertThat(taskRepository.findById(taskId).orElseThrow().getStatus()).isEqualTo(TaskStatus.IN_PROGRESS);
+    }
+
+    @Test
+    void deviceTimestampsAreCappedAtTheTimeTheRequestWasReceived() {
+        Long taskId = newTask();
+        Instant receivedAt = Instant.parse("2026-03-02T08:00:00Z");
+        TaskStatusTransition ahead = transition(taskId, TaskStatus.IN_PROGRESS, receivedAt.plusSeconds(120));
+
+        assertThat(outcomes(taskStatusSyncService.sync(List.of(ahead), receivedAt))).containsExactly(Outcome.APPLIED);
+        assertThat(taskRepository.findById(taskId).orElseThrow().getStatusChangedAt())
+                .isEqualTo(LocalDateTime.ofInstant(receivedAt, ZoneOffset.UTC));
+
+        // A later request is not blocked by the earlier device's fast clock
+        TaskStatusTransition completed = transition(taskId, TaskStatus.COMPLETED, receivedAt.plusSeconds(30));
+        assertThat(outcomes(taskStatusSyncService.sync(List.of(completed), receivedAt.plusSeconds(60))))
+                .containsExactly(Outcome.APPLIED);
+    }
+
+    @Test
+    void timestampsFarInTheFutureAreRejected() {
+        Long taskId = newTask();
+        TaskStatusTransition future = transition(taskId, TaskStatus.COMPLETED, Instant.now().plus(Duration.ofDays(1)));
+
+        assertThat(outcomes(taskStatusSyncService.sync(List.of(future)))).containsExactly(Outcome.INVALID);
+        assertThat(taskRepository.findById(taskId).orElseThrow().getStatus()).isNotEqualTo(TaskStatus.COMPLETED);
+    }
+
+    private Long newTask() {
+        return taskRepository.save(new Task(TaskType.SANITIZATION, LocalDateTime.now(), "Strada Mare 1", "Client"))
+                .getId();
+    }
+
+    private static TaskStatusTransition transition(Long taskId, TaskStatus status, Instant deviceTimestamp) {
+        return new TaskStatusTransition(UUID.randomUUID().toString(), taskId, status, deviceTimestamp);
+    }
+
+    private static List<Outcome> outcomes(List<TaskStatusSyncResult> results) {
+        return results.stream().map(TaskStatusSyncResult::outcome).toList();
+    }
+}